@@ -16,25 +16,44 @@
 
 import io.fluxcapacitor.axonclient.common.serialization.AxonMessageSerializer;
 import io.fluxcapacitor.common.Registration;
+import io.fluxcapacitor.common.TimerWheel;
 import io.fluxcapacitor.common.api.SerializedMessage;
 import io.fluxcapacitor.javaclient.tracking.client.TrackingClient;
 import io.fluxcapacitor.javaclient.tracking.client.TrackingUtils;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
+import static java.lang.String.format;
+
+/*
+    Outstanding requests time out if no result comes in before the request timeout, after which they are completed
+    exceptionally and removed. Timeouts are tracked by a timer wheel that is closed together with the processor. While
+    the maximum number of outstanding requests has been reached new requests fail immediately.
+ */
 @Slf4j
-public class ResultProcessor implements ResultService {
+public class ResultProcessor implements ResultService, AutoCloseable {
+
+    public static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofMinutes(1);
+    public static final int DEFAULT_MAX_OUTSTANDING_REQUESTS = 100_000;
 
     private final AxonMessageSerializer serializer;
     private final TrackingClient trackingClient;
     private final String name;
     private final int threads;
+    private final Duration requestTimeout;
+    private final int maxOutstandingRequests;
+    private final TimerWheel timer;
     private final Map<String, CompletableFuture<Object>> outstandingRequests = new ConcurrentHashMap<>();
+    private final AtomicLong timedOutRequests = new AtomicLong();
+    private final AtomicLong rejectedRequests = new AtomicLong();
     private volatile Registration registration;
 
     public ResultProcessor(AxonMessageSerializer serializer, TrackingClient trackingClient,
@@ -44,19 +63,58 @@ public ResultProcessor(AxonMessageSerializer serializer, TrackingClient tracking
 
     public ResultProcessor(AxonMessageSerializer serializer,
                            TrackingClient trackingClient, String name, int threads) {
+        this(serializer, trackingClient, name, threads, DEFAULT_REQUEST_TIMEOUT, DEFAULT_MAX_OUTSTANDING_REQUESTS,
+             new TimerWheel(Duration.ofMillis(10), 512));
+    }
+
+    public ResultProcessor(AxonMessageSerializer serializer, TrackingClient trackingClient, String name, int threads,
+                           Duration requestTimeout, int maxOutstandingRequests, TimerWheel timer) {
         this.serializer = serializer;
         this.trackingClient = trackingClient;
         this.name = name;
         this.threads = threads;
+        this.requestTimeout = requestTimeout;
+        this.maxOutstandingRequests = maxOutstandingRequests;
+        this.timer = timer;
     }
 
     @Override
     public CompletableFuture<Object> awaitResult(String messageId) {
         CompletableFuture<Object> result = new CompletableFuture<>();
+        if (outstandingRequests.size() >= maxOutstandingRequests) {
+            rejectedRequests.incrementAndGet();
+            result.completeExceptionally(new IllegalStateException(format(
+                    "Cannot await result of %s. There are already %d outstanding requests.",
+                    messageId, maxOutstandingRequests)));
+            return result;
+        }
         outstandingRequests.put(messageId, result);
+        Registration expiry = timer.schedule(requestTimeout, () -> {
+            if (outstandingRequests.remove(messageId, result)) {
+                timedOutRequests.incrementAndGet();
+                result.completeExceptionally(new TimeoutException(format(
+                        "Request %s has timed out after %dms", messageId, requestTimeout.toMillis())));
+            }
+        });
+        result.whenComplete((r, e) -> {
+            expiry.cancel();
+            outstandingRequests.remove(messageId, result);
+        });
         return result;
     }
 
+    public int getOutstandingRequestCount() {
+        return outstandingRequests.size();
+    }
+
+    public long getTimedOutRequestCount() {
+        return timedOutRequests.get();
+    }
+
+    public long getRejectedRequestCount() {
+        return rejectedRequests.get();
+    }
+
     protected void handle(List<SerializedMessage> batch) {
         for (SerializedMessage message : batch) {
             org.axonframework.messaging.Message<?> axonMessage = serializer.deserializeMessage(message);
@@ -87,4 +145,16 @@ public void shutDown() {
         Optional.ofNullable(registration).ifPresent(Registration::cancel);
         registration = null;
     }
+
+    /*
+        Shuts down the processor and closes the timer wheel. Outstanding requests are completed exceptionally.
+     */
+    @Override
+    public void close() {
+        shutDown();
+        timer.close();
+        outstandingRequests.keySet().forEach(messageId -> Optional.ofNullable(outstandingRequests.remove(messageId))
+                .ifPresent(r -> r.completeExceptionally(new IllegalStateException(format(
+                        "Request %s was still outstanding when the result processor closed", messageId)))));
+    }
 }
@@ -193,7 +193,7 @@ public void start() {
         @Override
         public void shutdown() {
             config.getComponent(CommandProcessor.class).shutDown();
-            config.getComponent(ResultProcessor.class).shutDown();
+            config.getComponent(ResultProcessor.class).close();
         }
     }
 }
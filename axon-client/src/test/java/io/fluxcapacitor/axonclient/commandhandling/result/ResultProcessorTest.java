@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2016-2017 Flux Capacitor.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fluxcapacitor.axonclient.commandhandling.result;
+
+import io.fluxcapacitor.axonclient.common.serialization.AxonMessageSerializer;
+import io.fluxcapacitor.common.TimerWheel;
+import io.fluxcapacitor.common.api.Data;
+import io.fluxcapacitor.common.api.Metadata;
+import io.fluxcapacitor.common.api.SerializedMessage;
+import io.fluxcapacitor.javaclient.tracking.client.TrackingClient;
+import org.axonframework.messaging.GenericMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+class ResultProcessorTest {
+
+    private final AxonMessageSerializer serializer = mock(AxonMessageSerializer.class);
+    private final ResultProcessor subject = new ResultProcessor(
+            serializer, mock(TrackingClient.class), "test", 1, Duration.ofSeconds(10), 2,
+            new TimerWheel(Duration.ofMillis(1), 64));
+
+    @AfterEach
+    void tearDown() {
+        subject.close();
+    }
+
+    @Test
+    void testRequestIsCompletedByResult() throws Exception {
+        CompletableFuture<Object> result = subject.awaitResult("foo");
+        doReturn(new GenericMessage<>("bar", Collections.singletonMap("correlationId", "foo")))
+                .when(serializer).deserializeMessage(any());
+        subject.handle(Collections.singletonList(
+                new SerializedMessage(new Data<>(new byte[0], "bar", 0), Metadata.empty(), "result")));
+        assertEquals("bar", result.get(1, TimeUnit.SECONDS));
+        assertEquals(0, subject.getOutstandingRequestCount());
+    }
+
+    @Test
+    void testRequestTimesOut() {
+        try (ResultProcessor processor = new ResultProcessor(serializer, mock(TrackingClient.class), "test", 1,
+                                                             Duration.ofMillis(20), 2,
+                                                             new TimerWheel(Duration.ofMillis(1), 64))) {
+            CompletableFuture<Object> result = processor.awaitResult("foo");
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof TimeoutException);
+            assertEquals(0, processor.getOutstandingRequestCount());
+            assertEquals(1, processor.getTimedOutRequestCount());
+        }
+    }
+
+    @Test
+    void testOutstandingRequestsAreBounded() {
+        subject.awaitResult("foo");
+        subject.awaitResult("bar");
+        CompletableFuture<Object> rejected = subject.awaitResult("baz");
+        ExecutionException e = assertThrows(ExecutionException.class, rejected::get);
+        assertTrue(e.getCause() instanceof IllegalStateException);
+        assertEquals(2, subject.getOutstandingRequestCount());
+        assertEquals(1, subject.getRejectedRequestCount());
+    }
+
+    @Test
+    void testCloseFailsOutstandingRequests() {
+        CompletableFuture<Object> result = subject.awaitResult("foo");
+        subject.close();
+        assertThrows(ExecutionException.class, result::get);
+        assertEquals(0, subject.getOutstandingRequestCount());
+        assertEquals(0, subject.getTimedOutRequestCount());
+    }
+}
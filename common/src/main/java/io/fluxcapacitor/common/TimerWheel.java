@@ -0,0 +1,190 @@
+package io.fluxcapacitor.common;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+    Runs tasks after a delay on a single thread, like a hashed wheel timer. The wheel is an array of buckets, one for
+    each tick. A timeout is put in the bucket of the tick at which it expires, together with the number of rotations
+    of the wheel that should pass first. Scheduling and cancelling are O(1) irrespective of the number of pending
+    timeouts, which makes the wheel suitable for large numbers of timeouts that are usually cancelled, like request
+    timeouts.
+
+    Timeouts expire at most one tick late. Tasks run on the timer thread so they should be short. The timer thread is
+    a daemon thread that is started when the first task is scheduled and stopped when the wheel is closed. Closing
+    drops all pending timeouts. A closed wheel starts again with a new timer thread when a new task is scheduled.
+ */
+@Slf4j
+public class TimerWheel implements AutoCloseable {
+
+    private final long tickMillis;
+    private final int bucketCount;
+    private Worker worker;
+
+    /*
+        The number of buckets is rounded up to a power of two
+     */
+    public TimerWheel(Duration tickDuration, int bucketCount) {
+        if (tickDuration.toMillis() < 1) {
+            throw new IllegalArgumentException("Tick duration should be at least 1ms");
+        }
+        this.tickMillis = tickDuration.toMillis();
+        this.bucketCount = Integer.highestOneBit(Math.max(1, bucketCount - 1)) << 1;
+    }
+
+    /*
+        Runs the given task once the delay has passed, unless the returned registration is cancelled first. The timeout
+        is handed to the timer thread under the same lock that close() uses to stop it, so a timeout scheduled during or
+        after a close always ends up with a running timer thread.
+     */
+    public Registration schedule(Duration delay, Runnable task) {
+        long deadline = System.currentTimeMillis() + Math.max(0L, delay.toMillis());
+        Timeout timeout;
+        synchronized (this) {
+            if (worker == null) {
+                worker = new Worker();
+                worker.thread.start();
+            }
+            timeout = new Timeout(worker, deadline, task);
+            worker.added.add(timeout);
+        }
+        return timeout::cancel;
+    }
+
+    /*
+        Stops the timer thread and drops all pending timeouts. Waits for the timer thread to finish unless called from
+        a timer task.
+     */
+    @Override
+    public void close() {
+        Worker stopped;
+        synchronized (this) {
+            stopped = worker;
+            worker = null;
+        }
+        if (stopped == null) {
+            return;
+        }
+        stopped.thread.interrupt();
+        if (stopped.thread != Thread.currentThread()) {
+            try {
+                stopped.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /*
+        The state of a single timer thread. Only the timer thread touches the buckets.
+     */
+    private class Worker implements Runnable {
+        private final int mask = bucketCount - 1;
+        private final List<Set<Timeout>> buckets = new ArrayList<>(bucketCount);
+        private final Queue<Timeout> added = new ConcurrentLinkedQueue<>();
+        private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+        private final Thread thread = new Thread(this, "TimerWheel");
+        private long startTime;
+        private long tick;
+
+        Worker() {
+            for (int i = 0; i < bucketCount; i++) {
+                buckets.add(new HashSet<>());
+            }
+            thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            startTime = System.currentTimeMillis();
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    long tickDeadline = startTime + (tick + 1) * tickMillis;
+                    long sleepTime = tickDeadline - System.currentTimeMillis();
+                    if (sleepTime > 0) {
+                        Thread.sleep(sleepTime);
+                    }
+                    removeCancelled();
+                    transferAdded();
+                    expire(buckets.get((int) (tick & mask)));
+                    tick++;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void transferAdded() {
+            Timeout timeout;
+            while ((timeout = added.poll()) != null) {
+                if (timeout.state.get() != Timeout.PENDING) {
+                    continue;
+                }
+                long expiryTick = Math.max(tick, (timeout.deadline - startTime) / tickMillis);
+                timeout.remainingRounds = (expiryTick - tick) / buckets.size();
+                timeout.bucket = (int) (expiryTick & mask);
+                buckets.get(timeout.bucket).add(timeout);
+            }
+        }
+
+        private void removeCancelled() {
+            Timeout timeout;
+            while ((timeout = cancelled.poll()) != null) {
+                if (timeout.bucket >= 0) {
+                    buckets.get(timeout.bucket).remove(timeout);
+                }
+            }
+        }
+
+        private void expire(Set<Timeout> bucket) {
+            Iterator<Timeout> iterator = bucket.iterator();
+            while (iterator.hasNext()) {
+                Timeout timeout = iterator.next();
+                if (timeout.remainingRounds > 0) {
+                    timeout.remainingRounds--;
+                    continue;
+                }
+                iterator.remove();
+                if (timeout.state.compareAndSet(Timeout.PENDING, Timeout.EXPIRED)) {
+                    try {
+                        timeout.task.run();
+                    } catch (Throwable e) {
+                        log.error("Timer task {} failed", timeout.task, e);
+                    }
+                }
+            }
+        }
+    }
+
+    private static class Timeout {
+        private static final int PENDING = 0, CANCELLED = 1, EXPIRED = 2;
+
+        private final long deadline;
+        private final Runnable task;
+        private final Worker worker;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private long remainingRounds;
+        private int bucket = -1;
+
+        Timeout(Worker worker, long deadline, Runnable task) {
+            this.worker = worker;
+            this.deadline = deadline;
+            this.task = task;
+        }
+
+        void cancel() {
+            if (state.compareAndSet(PENDING, CANCELLED)) {
+                worker.cancelled.add(this);
+            }
+        }
+    }
+}
@@ -23,9 +23,14 @@
 import io.fluxcapacitor.common.api.eventsourcing.GetEventsResult;
 import io.fluxcapacitor.common.api.keyvalue.DeleteValue;
 import io.fluxcapacitor.common.api.keyvalue.DeleteValueEvent;
+import io.fluxcapacitor.common.api.keyvalue.DeleteValues;
+import io.fluxcapacitor.common.api.keyvalue.DeleteValuesEvent;
 import io.fluxcapacitor.common.api.keyvalue.GetValue;
 import io.fluxcapacitor.common.api.keyvalue.GetValueEvent;
 import io.fluxcapacitor.common.api.keyvalue.GetValueResult;
+import io.fluxcapacitor.common.api.keyvalue.GetValues;
+import io.fluxcapacitor.common.api.keyvalue.GetValuesEvent;
+import io.fluxcapacitor.common.api.keyvalue.GetValuesResult;
 import io.fluxcapacitor.common.api.keyvalue.StoreValues;
 import io.fluxcapacitor.common.api.keyvalue.StoreValuesAndWait;
 import io.fluxcapacitor.common.api.keyvalue.StoreValuesEvent;
@@ -33,6 +38,8 @@
 import io.fluxcapacitor.common.api.publishing.AppendEvent;
 import io.fluxcapacitor.common.api.scheduling.CancelSchedule;
 import io.fluxcapacitor.common.api.scheduling.CancelScheduleEvent;
+import io.fluxcapacitor.common.api.scheduling.CancelSchedules;
+import io.fluxcapacitor.common.api.scheduling.CancelSchedulesEvent;
 import io.fluxcapacitor.common.api.scheduling.Schedule;
 import io.fluxcapacitor.common.api.scheduling.ScheduleEvent;
 import io.fluxcapacitor.common.api.tracking.DisconnectTracker;
@@ -85,6 +92,8 @@
         @JsonSubTypes.Type(value = ScheduleEvent.class, name = "scheduleEvent"),
         @JsonSubTypes.Type(value = CancelSchedule.class, name = "cancelSchedule"),
         @JsonSubTypes.Type(value = CancelScheduleEvent.class, name = "cancelScheduleEvent"),
+        @JsonSubTypes.Type(value = CancelSchedules.class, name = "cancelSchedules"),
+        @JsonSubTypes.Type(value = CancelSchedulesEvent.class, name = "cancelSchedulesEvent"),
 
         //key-value
         @JsonSubTypes.Type(value = StoreValues.class, name = "storeValues"),
@@ -95,6 +104,11 @@
         @JsonSubTypes.Type(value = GetValueResult.class, name = "getValueResult"),
         @JsonSubTypes.Type(value = DeleteValue.class, name = "deleteValue"),
         @JsonSubTypes.Type(value = DeleteValueEvent.class, name = "deleteValueEvent"),
+        @JsonSubTypes.Type(value = GetValues.class, name = "getValues"),
+        @JsonSubTypes.Type(value = GetValuesEvent.class, name = "getValuesEvent"),
+        @JsonSubTypes.Type(value = GetValuesResult.class, name = "getValuesResult"),
+        @JsonSubTypes.Type(value = DeleteValues.class, name = "deleteValues"),
+        @JsonSubTypes.Type(value = DeleteValuesEvent.class, name = "deleteValuesEvent"),
 })
 public interface JsonType {
 }
@@ -29,6 +29,7 @@ public class SerializedMessage implements SerializedObject<byte[], SerializedMes
     @Wither
     @NonNull
     private Data<byte[]> data;
+    @Wither
     private Metadata metadata;
     @Wither
     private Integer segment;
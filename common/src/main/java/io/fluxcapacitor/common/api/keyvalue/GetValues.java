@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2016-2017 Flux Capacitor.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fluxcapacitor.common.api.keyvalue;
+
+import io.fluxcapacitor.common.api.Request;
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@EqualsAndHashCode(callSuper = true)
+public class GetValues extends Request {
+    List<String> keys;
+
+    @Override
+    public String toString() {
+        return "GetValues of size " + keys.size();
+    }
+}
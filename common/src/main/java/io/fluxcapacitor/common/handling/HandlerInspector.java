@@ -19,6 +19,9 @@
 import lombok.SneakyThrows;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Executable;
 import java.lang.reflect.InvocationTargetException;
@@ -28,7 +31,6 @@
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -75,18 +77,22 @@ public static <M> HandlerInvoker<M> inspect(Class<?> type, Class<? extends Annot
 
         private final int methodDepth;
         private final Executable executable;
+        private final boolean staticOrConstructor;
         private final boolean hasReturnValue;
         private final List<Function<? super M, Object>> parameterSuppliers;
         private final Predicate<? super M> matcher;
+        private final MethodInvoker<M> methodInvoker;
 
         protected MethodHandlerInvoker(Executable executable, Class enclosingType,
                                        List<ParameterResolver<? super M>> parameterResolvers) {
             this.methodDepth = executable instanceof Method ? methodDepth(executable, enclosingType) : 0;
             this.executable = ensureAccessible(executable);
+            this.staticOrConstructor = Modifier.isStatic(executable.getModifiers()) || executable instanceof Constructor;
             this.hasReturnValue =
                     !(executable instanceof Method) || !(((Method) executable).getReturnType()).equals(void.class);
             this.parameterSuppliers = getParameterSuppliers(executable, parameterResolvers);
             this.matcher = getMatcher(executable, parameterResolvers);
+            this.methodInvoker = createMethodInvoker(executable, parameterSuppliers);
         }
 
         @Override
@@ -95,9 +101,9 @@ public boolean canHandle(Object target, M message) {
                 return false;
             }
             if (target == null) {
-                return Modifier.isStatic(executable.getModifiers()) || executable instanceof Constructor;
+                return staticOrConstructor;
             }
-            return !Modifier.isStatic(executable.getModifiers()) && executable instanceof Method;
+            return !staticOrConstructor;
         }
 
         @Override
@@ -113,23 +119,92 @@ public boolean expectResult(Object target, M message) {
         @Override
         @SneakyThrows
         public Object invoke(Object target, M message) {
+            if (target == null && !staticOrConstructor) {
+                throw new HandlerNotFoundException(
+                        format("Found instance method on target class %s that can handle the message "
+                                       + "but the target instance is null. Should the method be static?",
+                               executable.getDeclaringClass().getSimpleName()));
+            }
+            return methodInvoker.invoke(target, message);
+        }
+
+        /*
+            Binds the handler method to a method handle once so invocations don't require reflective access checks.
+            Parameter resolution is unrolled for the common number of parameters to prevent an argument array from
+            being created for each invocation.
+         */
+        protected MethodInvoker<M> createMethodInvoker(Executable executable,
+                                                       List<Function<? super M, Object>> parameterSuppliers) {
+            MethodHandle methodHandle;
             try {
-                if (executable instanceof Method) {
-                    if (target == null && !Modifier.isStatic(executable.getModifiers())) {
-                        throw new HandlerNotFoundException(
-                                format("Found instance method on target class %s that can handle the message "
-                                               + "but the target instance is null. Should the method be static?",
-                                       executable.getDeclaringClass().getSimpleName()));
+                methodHandle = unreflect(executable);
+            } catch (Exception e) {
+                return reflectiveInvoker(executable, parameterSuppliers);
+            }
+            int parameterCount = parameterSuppliers.size();
+            MethodHandle h = methodHandle.asType(MethodType.genericMethodType(parameterCount + 1));
+            switch (parameterCount) {
+                case 1: {
+                    Function<? super M, Object> p0 = parameterSuppliers.get(0);
+                    return (t, m) -> (Object) h.invokeExact(t, p0.apply(m));
+                }
+                case 2: {
+                    Function<? super M, Object> p0 = parameterSuppliers.get(0), p1 = parameterSuppliers.get(1);
+                    return (t, m) -> (Object) h.invokeExact(t, p0.apply(m), p1.apply(m));
+                }
+                case 3: {
+                    Function<? super M, Object> p0 = parameterSuppliers.get(0), p1 = parameterSuppliers.get(1),
+                            p2 = parameterSuppliers.get(2);
+                    return (t, m) -> (Object) h.invokeExact(t, p0.apply(m), p1.apply(m), p2.apply(m));
+                }
+                case 4: {
+                    Function<? super M, Object> p0 = parameterSuppliers.get(0), p1 = parameterSuppliers.get(1),
+                            p2 = parameterSuppliers.get(2), p3 = parameterSuppliers.get(3);
+                    return (t, m) -> (Object) h.invokeExact(t, p0.apply(m), p1.apply(m), p2.apply(m), p3.apply(m));
+                }
+                default: {
+                    MethodHandle spreader = h.asSpreader(Object[].class, parameterCount);
+                    return (t, m) -> (Object) spreader.invokeExact(t, resolveArguments(parameterSuppliers, m));
+                }
+            }
+        }
+
+        /*
+            Returns a method handle of which the first parameter is always the target object, i.e. also for static
+            methods and constructors.
+         */
+        private static MethodHandle unreflect(Executable executable) throws IllegalAccessException {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            if (executable instanceof Method) {
+                MethodHandle methodHandle = lookup.unreflect((Method) executable);
+                return Modifier.isStatic(executable.getModifiers())
+                        ? MethodHandles.dropArguments(methodHandle, 0, Object.class) : methodHandle;
+            }
+            return MethodHandles.dropArguments(lookup.unreflectConstructor((Constructor<?>) executable), 0,
+                                               Object.class);
+        }
+
+        private static <M> MethodInvoker<M> reflectiveInvoker(Executable executable,
+                                                              List<Function<? super M, Object>> parameterSuppliers) {
+            return (target, message) -> {
+                try {
+                    if (executable instanceof Method) {
+                        return ((Method) executable).invoke(target, resolveArguments(parameterSuppliers, message));
                     }
-                    return ((Method) executable)
-                            .invoke(target, parameterSuppliers.stream().map(s -> s.apply(message)).toArray());
-                } else {
-                    return ((Constructor) executable)
-                            .newInstance(parameterSuppliers.stream().map(s -> s.apply(message)).toArray());
+                    return ((Constructor<?>) executable).newInstance(resolveArguments(parameterSuppliers, message));
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
                 }
-            } catch (InvocationTargetException e) {
-                throw e.getCause();
+            };
+        }
+
+        private static <M> Object[] resolveArguments(List<Function<? super M, Object>> parameterSuppliers,
+                                                     M message) {
+            Object[] result = new Object[parameterSuppliers.size()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = parameterSuppliers.get(i).apply(message);
             }
+            return result;
         }
 
         protected List<Function<? super M, Object>> getParameterSuppliers(Executable method,
@@ -149,8 +224,8 @@ protected Class<?> getPayloadType() {
 
         protected Predicate<M> getMatcher(Executable executable,
                                           List<ParameterResolver<? super M>> parameterResolvers) {
+            Parameter parameter = executable.getParameters()[0];
             return m -> {
-                Parameter parameter = executable.getParameters()[0];
                 for (ParameterResolver<? super M> resolver : parameterResolvers) {
                     if (resolver.matches(parameter, m)) {
                         return true;
@@ -182,6 +257,11 @@ private static int methodDepth(Executable instanceMethod, Class instanceType) {
         }
     }
 
+    @FunctionalInterface
+    protected interface MethodInvoker<M> {
+        Object invoke(Object target, M message) throws Throwable;
+    }
+
     @AllArgsConstructor
     protected static class ObjectHandlerInvoker<M> implements HandlerInvoker<M> {
         private final Class<?> type;
@@ -189,28 +269,41 @@ private static int methodDepth(Executable instanceMethod, Class instanceType) {
 
         @Override
         public boolean canHandle(Object target, M message) {
-            return methodHandlers.stream().anyMatch(h -> h.canHandle(target, message));
+            return findDelegate(target, message) != null;
         }
 
         @Override
         public Executable getMethod(Object target, M message) {
-            return methodHandlers.stream().map(h -> h.getMethod(target, message)).filter(Objects::nonNull).findAny()
-                    .orElse(null);
+            HandlerInvoker<M> delegate = findDelegate(target, message);
+            return delegate == null ? null : delegate.getMethod(target, message);
         }
 
         @Override
         public boolean expectResult(Object target, M message) {
-            return methodHandlers.stream().anyMatch(h -> h.expectResult(target, message));
+            for (HandlerInvoker<M> methodHandler : methodHandlers) {
+                if (methodHandler.expectResult(target, message)) {
+                    return true;
+                }
+            }
+            return false;
         }
 
         @Override
         public Object invoke(Object target, M message) {
-            Optional<HandlerInvoker<M>> delegate =
-                    methodHandlers.stream().filter(d -> d.canHandle(target, message)).findFirst();
-            if (!delegate.isPresent()) {
+            HandlerInvoker<M> delegate = findDelegate(target, message);
+            if (delegate == null) {
                 throw new HandlerNotFoundException(format("No method found on %s that could handle %s", type, message));
             }
-            return delegate.get().invoke(target, message);
+            return delegate.invoke(target, message);
+        }
+
+        private HandlerInvoker<M> findDelegate(Object target, M message) {
+            for (HandlerInvoker<M> methodHandler : methodHandlers) {
+                if (methodHandler.canHandle(target, message)) {
+                    return methodHandler;
+                }
+            }
+            return null;
         }
     }
 
@@ -58,7 +58,11 @@ public static List<Field> getAnnotatedFields(Object target, Class<? extends Anno
         if (target == null) {
             return emptyList();
         }
-        return new ArrayList<>(FieldUtils.getFieldsListWithAnnotation(target.getClass(), annotation));
+        return getAnnotatedFields(target.getClass(), annotation);
+    }
+
+    public static List<Field> getAnnotatedFields(Class<?> type, Class<? extends Annotation> annotation) {
+        return new ArrayList<>(FieldUtils.getFieldsListWithAnnotation(type, annotation));
     }
 
     @SneakyThrows
@@ -0,0 +1,78 @@
+package io.fluxcapacitor.common;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimerWheelTest {
+
+    private final TimerWheel subject = new TimerWheel(Duration.ofMillis(1), 8);
+
+    @AfterEach
+    void tearDown() {
+        subject.close();
+    }
+
+    @Test
+    void testTaskRunsAfterDelay() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.currentTimeMillis();
+        subject.schedule(Duration.ofMillis(30), latch::countDown);
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertTrue(System.currentTimeMillis() - start >= 30);
+    }
+
+    @Test
+    void testTaskRunsAfterMultipleRotations() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.currentTimeMillis();
+        subject.schedule(Duration.ofMillis(50), latch::countDown);
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertTrue(System.currentTimeMillis() - start >= 50);
+    }
+
+    @Test
+    void testCancelledTaskDoesNotRun() throws Exception {
+        AtomicInteger count = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+        subject.schedule(Duration.ofMillis(10), count::incrementAndGet).cancel();
+        subject.schedule(Duration.ofMillis(30), latch::countDown);
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertEquals(0, count.get());
+    }
+
+    @Test
+    void testCloseDropsPendingTasks() throws Exception {
+        AtomicInteger count = new AtomicInteger();
+        subject.schedule(Duration.ofMillis(10), count::incrementAndGet);
+        subject.close();
+        Thread.sleep(30);
+        assertEquals(0, count.get());
+    }
+
+    @Test
+    void testClosedWheelStartsAgainWhenTaskIsScheduled() throws Exception {
+        subject.schedule(Duration.ofMillis(10), () -> {});
+        subject.close();
+        CountDownLatch latch = new CountDownLatch(1);
+        subject.schedule(Duration.ofMillis(10), latch::countDown);
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testTaskScheduledWhileClosingIsNotDropped() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        subject.schedule(Duration.ofMillis(1), () -> {
+            subject.close();
+            subject.schedule(Duration.ofMillis(10), latch::countDown);
+        });
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+    }
+}
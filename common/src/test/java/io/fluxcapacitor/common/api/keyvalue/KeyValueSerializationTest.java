@@ -0,0 +1,61 @@
+package io.fluxcapacitor.common.api.keyvalue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.fluxcapacitor.common.api.Data;
+import io.fluxcapacitor.common.api.JsonType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeyValueSerializationTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testGetValues() throws Exception {
+        GetValues request = new GetValues(Arrays.asList("a", "b"));
+        assertTrue(objectMapper.writeValueAsString(request).contains("\"@type\":\"getValues\""));
+        assertEquals(request, roundTrip(request));
+    }
+
+    @Test
+    void testGetValuesEvent() throws Exception {
+        GetValuesEvent event = new GetValuesEvent("client", "clientId", Arrays.asList("a", "b"));
+        assertEquals(event, roundTrip(event));
+    }
+
+    @Test
+    void testGetValuesResult() throws Exception {
+        GetValuesResult result = new GetValuesResult(10L, Arrays.asList(
+                new KeyValuePair("a", new Data<>("foo".getBytes(), "string", 1)), new KeyValuePair("b", null)));
+        assertEquals(result, roundTrip(result));
+    }
+
+    @Test
+    void testDeleteValues() throws Exception {
+        DeleteValues request = new DeleteValues(Arrays.asList("a", "b"));
+        assertTrue(objectMapper.writeValueAsString(request).contains("\"@type\":\"deleteValues\""));
+        assertEquals(request, roundTrip(request));
+    }
+
+    @Test
+    void testDeleteValuesEvent() throws Exception {
+        DeleteValuesEvent event = new DeleteValuesEvent("client", "clientId", Collections.singletonList("a"));
+        assertEquals(event, roundTrip(event));
+    }
+
+    @Test
+    void testEmptyKeys() throws Exception {
+        assertEquals(new DeleteValues(Collections.emptyList()), roundTrip(new DeleteValues(Collections.emptyList())));
+        GetValuesResult result = new GetValuesResult(10L, Collections.emptyList());
+        assertEquals(result, roundTrip(result));
+    }
+
+    private JsonType roundTrip(JsonType value) throws Exception {
+        return objectMapper.readValue(objectMapper.writeValueAsString(value), JsonType.class);
+    }
+}
@@ -58,6 +58,11 @@ void testInvoke() {
         assertEquals(15, subject.invoke(15));
     }
 
+    @Test
+    void testInvokeWithManyParameters() {
+        assertEquals((short) 5, subject.invoke((short) 5));
+    }
+
     @Test
     void testInvokeExceptionally() {
         assertThrows(UnsupportedOperationException.class, () -> subject.invoke(3f));
@@ -89,6 +94,11 @@ private Object handle(Boolean o) {
             return 42;
         }
 
+        @Handle
+        public Object handle(Short o, Object p1, Object p2, Object p3, Object p4, Object p5) {
+            return o.equals(p5) ? o : null;
+        }
+
         @Handle
         public void handleAndThrowException(Float f) {
             throw new UnsupportedOperationException("yup");
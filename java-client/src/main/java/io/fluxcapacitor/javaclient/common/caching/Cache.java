@@ -37,9 +37,30 @@ public interface Cache {
      */
     void invalidate(String id);
 
+    /**
+     * Invalidates the cache entries of which the id belongs to a segment in the given range. The segment of an id is
+     * computed using {@link io.fluxcapacitor.common.ConsistentHashing#computeSegment(String)}. By default all entries
+     * are invalidated.
+     *
+     * @param segmentStart The first segment of the range (inclusive)
+     * @param segmentEnd   The end of the range (exclusive)
+     */
+    default void invalidateSegments(int segmentStart, int segmentEnd) {
+        invalidateAll();
+    }
+
     /**
      * Invalidates all cache entries.
      */
     void invalidateAll();
 
+    /**
+     * Returns statistics about the use of the cache, e.g. hit and miss counts. By default no statistics are kept.
+     *
+     * @return a snapshot of the cache statistics
+     */
+    default CacheStats getStats() {
+        return CacheStats.EMPTY;
+    }
+
 }
@@ -0,0 +1,45 @@
+package io.fluxcapacitor.javaclient.common.caching;
+
+import io.fluxcapacitor.javaclient.common.serialization.Serializer;
+import lombok.Builder;
+import lombok.Builder.Default;
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.function.ToIntFunction;
+
+@Value
+@Builder(builderClassName = "Builder", toBuilder = true)
+public class CacheConfiguration {
+
+    public static final CacheConfiguration DEFAULT = CacheConfiguration.builder().build();
+
+    /*
+        Maximum number of entries in the cache. Ignored if a maximum weight is configured.
+     */
+    @Default
+    long maximumSize = 1_000L;
+
+    /*
+        Maximum total weight of the entries in the cache. Entries are weighed using the weigher.
+     */
+    @Default
+    long maximumWeight = -1L;
+
+    @Default
+    ToIntFunction<Object> weigher = value -> 1;
+
+    @Default
+    Duration expireAfterAccess = null;
+
+    @Default
+    Duration expireAfterWrite = null;
+
+    /*
+        Weighs values by the length of their serialized form. Note that values are serialized each time they are put in
+        the cache.
+     */
+    public static ToIntFunction<Object> serializedSizeWeigher(Serializer serializer) {
+        return value -> serializer.serialize(value).getValue().length;
+    }
+}
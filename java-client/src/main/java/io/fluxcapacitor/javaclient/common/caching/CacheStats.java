@@ -0,0 +1,30 @@
+package io.fluxcapacitor.javaclient.common.caching;
+
+import lombok.Value;
+
+import java.time.Duration;
+
+@Value
+public class CacheStats {
+
+    public static final CacheStats EMPTY = new CacheStats(0L, 0L, 0L, 0L, Duration.ZERO);
+
+    long hitCount;
+    long missCount;
+    long loadCount;
+    long evictionCount;
+    Duration totalLoadTime;
+
+    public long getRequestCount() {
+        return hitCount + missCount;
+    }
+
+    public double getHitRate() {
+        long requestCount = getRequestCount();
+        return requestCount == 0L ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    public Duration getAverageLoadTime() {
+        return loadCount == 0L ? Duration.ZERO : totalLoadTime.dividedBy(loadCount);
+    }
+}
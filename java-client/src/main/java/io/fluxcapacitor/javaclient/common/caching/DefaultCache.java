@@ -16,45 +16,121 @@
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import lombok.AllArgsConstructor;
+import com.google.common.cache.RemovalCause;
 import lombok.SneakyThrows;
 
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.ToIntFunction;
 
-@AllArgsConstructor
 public class DefaultCache implements io.fluxcapacitor.javaclient.common.caching.Cache {
 
     private final Cache<String, Object> cache;
+    private final SegmentIndex segmentIndex = new SegmentIndex();
+    private final io.fluxcapacitor.javaclient.common.caching.Cache secondLevelCache;
 
     public DefaultCache() {
-        this(CacheBuilder.newBuilder().maximumSize(1_000).build());
+        this(CacheConfiguration.DEFAULT);
+    }
+
+    public DefaultCache(long maximumSize) {
+        this(CacheConfiguration.builder().maximumSize(maximumSize).build());
+    }
+
+    public DefaultCache(CacheConfiguration configuration) {
+        this(configuration, NoCache.INSTANCE);
+    }
+
+    /*
+        Entries that are evicted from this cache because of its size move to the second level cache. Expired entries
+        are dropped. Entries found in the second level cache move back to this cache.
+     */
+    public DefaultCache(CacheConfiguration configuration,
+                        io.fluxcapacitor.javaclient.common.caching.Cache secondLevelCache) {
+        this.secondLevelCache = secondLevelCache;
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().recordStats();
+        if (configuration.getMaximumWeight() >= 0L) {
+            ToIntFunction<Object> weigher = configuration.getWeigher();
+            builder.maximumWeight(configuration.getMaximumWeight()).weigher((k, v) -> weigher.applyAsInt(v));
+        } else if (configuration.getMaximumSize() >= 0L) {
+            builder.maximumSize(configuration.getMaximumSize());
+        }
+        if (configuration.getExpireAfterAccess() != null) {
+            builder.expireAfterAccess(configuration.getExpireAfterAccess().toNanos(), TimeUnit.NANOSECONDS);
+        }
+        if (configuration.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(configuration.getExpireAfterWrite().toNanos(), TimeUnit.NANOSECONDS);
+        }
+        this.cache = builder.<String, Object>removalListener(n -> {
+            if (n.getCause() != RemovalCause.REPLACED) {
+                segmentIndex.remove(n.getKey());
+            }
+            if (n.getCause() == RemovalCause.SIZE) {
+                secondLevelCache.put(n.getKey(), n.getValue());
+            }
+        }).build();
     }
 
     @Override
     public void put(String id, Object value) {
         cache.put(id, value);
+        segmentIndex.add(id);
+        secondLevelCache.invalidate(id);
     }
 
     @SuppressWarnings("unchecked")
     @Override
     @SneakyThrows
     public <T> T get(String id, Function<? super String, T> mappingFunction) {
-        return (T) cache.get(id, () -> mappingFunction.apply(id));
+        return (T) cache.get(id, () -> {
+            T result = secondLevelCache.getIfPresent(id);
+            if (result == null) {
+                result = mappingFunction.apply(id);
+            } else {
+                secondLevelCache.invalidate(id);
+            }
+            segmentIndex.add(id);
+            return result;
+        });
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <T> T getIfPresent(String id) {
-        return (T) cache.getIfPresent(id);
+        Object result = cache.getIfPresent(id);
+        if (result == null && (result = secondLevelCache.getIfPresent(id)) != null) {
+            put(id, result);
+        }
+        return (T) result;
     }
 
     @Override
     public void invalidate(String id) {
         cache.invalidate(id);
+        secondLevelCache.invalidate(id);
+    }
+
+    @Override
+    public void invalidateSegments(int segmentStart, int segmentEnd) {
+        cache.invalidateAll(segmentIndex.getIds(segmentStart, segmentEnd));
+        secondLevelCache.invalidateSegments(segmentStart, segmentEnd);
     }
 
     @Override
     public void invalidateAll() {
         cache.invalidateAll();
+        secondLevelCache.invalidateAll();
+    }
+
+    @Override
+    public CacheStats getStats() {
+        com.google.common.cache.CacheStats stats = cache.stats();
+        return new CacheStats(stats.hitCount(), stats.missCount(), stats.loadCount(), stats.evictionCount(),
+                              Duration.ofNanos(stats.totalLoadTime()));
+    }
+
+    public CacheStats getSecondLevelStats() {
+        return secondLevelCache.getStats();
     }
 }
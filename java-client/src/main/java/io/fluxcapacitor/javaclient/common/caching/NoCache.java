@@ -25,8 +25,18 @@ public void invalidate(String id) {
         //no op
     }
 
+    @Override
+    public void invalidateSegments(int segmentStart, int segmentEnd) {
+        //no op
+    }
+
     @Override
     public void invalidateAll() {
         //no op
     }
+
+    @Override
+    public CacheStats getStats() {
+        return CacheStats.EMPTY;
+    }
 }
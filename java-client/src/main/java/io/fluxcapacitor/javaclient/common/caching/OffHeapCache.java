@@ -0,0 +1,378 @@
+package io.fluxcapacitor.javaclient.common.caching;
+
+import io.fluxcapacitor.common.ConsistentHashing;
+import io.fluxcapacitor.common.api.Data;
+import io.fluxcapacitor.javaclient.common.serialization.Serializer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Cache that keeps values in serialized form in direct (off-heap) memory. Values are serialized when they are put in
+ * the cache and deserialized each time they are read.
+ * <p>
+ * The cache is divided in stripes, each with its own lock. A stripe appends its entries to a single direct buffer that
+ * is used as a ring: once the buffer is full the oldest entries are evicted. Entries that are read while they are in
+ * the older half of the ring are moved to the front, so frequently used entries are not evicted. Entries are found
+ * using an open addressing table of primitive arrays, so the heap does not hold any objects per entry. The configured
+ * maximum includes the ids and types of the entries.
+ * <p>
+ * This cache is typically used as second level cache of a {@link DefaultCache}, see
+ * {@link DefaultCache#DefaultCache(CacheConfiguration, Cache)}.
+ */
+@Slf4j
+public class OffHeapCache implements Cache {
+
+    private static final int MAX_STRIPES = 16, MIN_STRIPE_BYTES = 1 << 20, MAX_STRIPE_BYTES = 1 << 30;
+
+    private final Serializer serializer;
+    private final Stripe[] stripes;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong loadCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+    private final AtomicLong totalLoadTime = new AtomicLong();
+
+    public OffHeapCache(Serializer serializer, long maximumBytes) {
+        this.serializer = serializer;
+        int stripeCount = 1;
+        while (stripeCount < MAX_STRIPES && maximumBytes / (stripeCount * 2L) >= MIN_STRIPE_BYTES) {
+            stripeCount *= 2;
+        }
+        while (maximumBytes / stripeCount > MAX_STRIPE_BYTES) {
+            stripeCount *= 2;
+        }
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe((int) (maximumBytes / stripeCount));
+        }
+    }
+
+    @Override
+    public void put(String id, Object value) {
+        Data<byte[]> data;
+        try {
+            data = serializer.serialize(value);
+        } catch (Exception e) {
+            log.warn("Failed to serialize value for id {}. Value will not be cached.", id, e);
+            invalidate(id);
+            return;
+        }
+        byte[] key = id.getBytes(UTF_8);
+        int hash = hash(id);
+        stripe(hash).put(key, hash, ConsistentHashing.computeSegment(id), data);
+    }
+
+    @Override
+    public <T> T get(String id, Function<? super String, T> mappingFunction) {
+        T result = getIfPresent(id);
+        if (result == null) {
+            long start = System.nanoTime();
+            result = mappingFunction.apply(id);
+            totalLoadTime.addAndGet(System.nanoTime() - start);
+            loadCount.incrementAndGet();
+            if (result != null) {
+                put(id, result);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public <T> T getIfPresent(String id) {
+        int hash = hash(id);
+        Data<byte[]> data = stripe(hash).get(id.getBytes(UTF_8), hash);
+        if (data == null) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        hitCount.incrementAndGet();
+        try {
+            return serializer.deserialize(data);
+        } catch (Exception e) {
+            log.warn("Failed to deserialize cached value for id {}. Removing value from cache.", id, e);
+            invalidate(id);
+            return null;
+        }
+    }
+
+    @Override
+    public void invalidate(String id) {
+        int hash = hash(id);
+        stripe(hash).remove(id.getBytes(UTF_8), hash);
+    }
+
+    @Override
+    public void invalidateSegments(int segmentStart, int segmentEnd) {
+        for (Stripe stripe : stripes) {
+            stripe.removeSegments(segmentStart, segmentEnd);
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        for (Stripe stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return new CacheStats(hitCount.get(), missCount.get(), loadCount.get(), evictionCount.get(),
+                              Duration.ofNanos(totalLoadTime.get()));
+    }
+
+    public long getUsedBytes() {
+        long result = 0L;
+        for (Stripe stripe : stripes) {
+            result += stripe.getUsedBytes();
+        }
+        return result;
+    }
+
+    private Stripe stripe(int hash) {
+        return stripes[(hash >>> 24) & (stripes.length - 1)];
+    }
+
+    private static int hash(String id) {
+        int h = id.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /*
+        Each entry is stored as a record of a fixed size header followed by the id, type and value. Records are
+        aligned to 8 bytes. When a record does not fit before the end of the buffer, the remainder of the buffer is
+        filled with a padding record and the record is written at the start of the buffer.
+
+        Positions of records only ever increase. The offset of a record in the buffer is its position modulo the
+        capacity. The table stores the position of each live record plus one, so 0 marks an empty slot.
+     */
+    private class Stripe {
+        private static final int LENGTH = 0, FLAGS = 4, HASH = 8, SEGMENT = 12, REVISION = 16, KEY_LENGTH = 20,
+                TYPE_LENGTH = 24, VALUE_LENGTH = 28, HEADER_SIZE = 32;
+        private static final int LIVE = 1, PADDING = 2;
+        private static final int INITIAL_TABLE_SIZE = 1024;
+
+        private final int capacity;
+        private ByteBuffer buffer;
+        private long head, tail, usedBytes;
+        private long[] positions = new long[INITIAL_TABLE_SIZE];
+        private int[] hashes = new int[INITIAL_TABLE_SIZE];
+        private int size;
+
+        Stripe(int capacity) {
+            this.capacity = capacity & ~7;
+        }
+
+        synchronized void put(byte[] key, int hash, int segment, Data<byte[]> data) {
+            int slot = find(key, hash);
+            if (slot >= 0) {
+                removeSlot(slot);
+            }
+            byte[] type = data.getType().getBytes(UTF_8);
+            byte[] value = data.getValue();
+            int length = align(HEADER_SIZE + key.length + type.length + value.length);
+            if (length > capacity) {
+                return;
+            }
+            long position = allocate(length);
+            int offset = offset(position);
+            buffer.putInt(offset + LENGTH, length).putInt(offset + FLAGS, LIVE).putInt(offset + HASH, hash)
+                    .putInt(offset + SEGMENT, segment).putInt(offset + REVISION, data.getRevision())
+                    .putInt(offset + KEY_LENGTH, key.length).putInt(offset + TYPE_LENGTH, type.length)
+                    .putInt(offset + VALUE_LENGTH, value.length);
+            ByteBuffer view = buffer.duplicate();
+            view.position(offset + HEADER_SIZE);
+            view.put(key).put(type).put(value);
+            insert(hash, position);
+            usedBytes += length;
+        }
+
+        synchronized Data<byte[]> get(byte[] key, int hash) {
+            int slot = find(key, hash);
+            if (slot < 0) {
+                return null;
+            }
+            long position = positions[slot] - 1L;
+            int offset = offset(position);
+            byte[] type = new byte[buffer.getInt(offset + TYPE_LENGTH)];
+            byte[] value = new byte[buffer.getInt(offset + VALUE_LENGTH)];
+            ByteBuffer view = buffer.duplicate();
+            view.position(offset + HEADER_SIZE + key.length);
+            view.get(type).get(value);
+            Data<byte[]> result = new Data<>(value, new String(type, UTF_8), buffer.getInt(offset + REVISION));
+            if (head - position > capacity / 2) {
+                moveToFront(slot, hash);
+            }
+            return result;
+        }
+
+        synchronized void remove(byte[] key, int hash) {
+            int slot = find(key, hash);
+            if (slot >= 0) {
+                removeSlot(slot);
+            }
+        }
+
+        synchronized void removeSegments(int segmentStart, int segmentEnd) {
+            for (long position = tail; position < head; ) {
+                int offset = offset(position);
+                if ((buffer.getInt(offset + FLAGS) & LIVE) != 0) {
+                    int segment = buffer.getInt(offset + SEGMENT);
+                    if (segment >= segmentStart && segment < segmentEnd) {
+                        removeSlot(slotOf(buffer.getInt(offset + HASH), position));
+                    }
+                }
+                position += buffer.getInt(offset + LENGTH);
+            }
+        }
+
+        synchronized void clear() {
+            Arrays.fill(positions, 0L);
+            size = 0;
+            head = tail = usedBytes = 0L;
+        }
+
+        synchronized long getUsedBytes() {
+            return usedBytes;
+        }
+
+        private void moveToFront(int slot, int hash) {
+            int offset = offset(positions[slot] - 1L);
+            byte[] record = new byte[buffer.getInt(offset + LENGTH)];
+            ByteBuffer view = buffer.duplicate();
+            view.position(offset);
+            view.get(record);
+            removeSlot(slot);
+            long position = allocate(record.length);
+            view.position(offset(position));
+            view.put(record);
+            insert(hash, position);
+            usedBytes += record.length;
+        }
+
+        private long allocate(int length) {
+            if (buffer == null) {
+                buffer = ByteBuffer.allocateDirect(capacity);
+            }
+            while (true) {
+                if (head == tail) {
+                    head = tail = 0L;
+                }
+                int offset = offset(head);
+                int padding = capacity - offset < length ? capacity - offset : 0;
+                if (capacity - (head - tail) >= length + padding) {
+                    if (padding > 0) {
+                        buffer.putInt(offset + LENGTH, padding).putInt(offset + FLAGS, PADDING);
+                        head += padding;
+                    }
+                    long position = head;
+                    head += length;
+                    return position;
+                }
+                evictOldest();
+            }
+        }
+
+        private void evictOldest() {
+            int offset = offset(tail);
+            if ((buffer.getInt(offset + FLAGS) & LIVE) != 0) {
+                removeSlot(slotOf(buffer.getInt(offset + HASH), tail));
+                evictionCount.incrementAndGet();
+            }
+            tail += buffer.getInt(offset + LENGTH);
+        }
+
+        private int find(byte[] key, int hash) {
+            int mask = positions.length - 1;
+            for (int i = hash & mask; positions[i] != 0L; i = (i + 1) & mask) {
+                if (hashes[i] == hash && keyEquals(offset(positions[i] - 1L), key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private boolean keyEquals(int offset, byte[] key) {
+            if (buffer.getInt(offset + KEY_LENGTH) != key.length) {
+                return false;
+            }
+            for (int i = 0; i < key.length; i++) {
+                if (buffer.get(offset + HEADER_SIZE + i) != key[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int slotOf(int hash, long position) {
+            int mask = positions.length - 1;
+            int i = hash & mask;
+            while (positions[i] != position + 1L) {
+                i = (i + 1) & mask;
+            }
+            return i;
+        }
+
+        private void insert(int hash, long position) {
+            if ((size + 1) * 2 > positions.length) {
+                long[] oldPositions = positions;
+                int[] oldHashes = hashes;
+                positions = new long[oldPositions.length * 2];
+                hashes = new int[oldHashes.length * 2];
+                size = 0;
+                for (int i = 0; i < oldPositions.length; i++) {
+                    if (oldPositions[i] != 0L) {
+                        insert(oldHashes[i], oldPositions[i] - 1L);
+                    }
+                }
+            }
+            int mask = positions.length - 1;
+            int i = hash & mask;
+            while (positions[i] != 0L) {
+                i = (i + 1) & mask;
+            }
+            positions[i] = position + 1L;
+            hashes[i] = hash;
+            size++;
+        }
+
+        /*
+            Marks the record as removed and removes its slot from the table. Later slots of the same probe sequence
+            are shifted back, so lookups never need to skip removed slots.
+         */
+        private void removeSlot(int slot) {
+            int offset = offset(positions[slot] - 1L);
+            buffer.putInt(offset + FLAGS, 0);
+            usedBytes -= buffer.getInt(offset + LENGTH);
+            int mask = positions.length - 1;
+            int hole = slot;
+            for (int i = (slot + 1) & mask; positions[i] != 0L; i = (i + 1) & mask) {
+                int home = hashes[i] & mask;
+                boolean stays = hole <= i ? hole < home && home <= i : hole < home || home <= i;
+                if (!stays) {
+                    positions[hole] = positions[i];
+                    hashes[hole] = hashes[i];
+                    hole = i;
+                }
+            }
+            positions[hole] = 0L;
+            size--;
+        }
+
+        private int offset(long position) {
+            return (int) (position % capacity);
+        }
+
+        private int align(int length) {
+            return (length + 7) & ~7;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package io.fluxcapacitor.javaclient.common.caching;
+
+import io.fluxcapacitor.common.ConsistentHashing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+    Keeps track of cached ids by segment so cache entries can be invalidated by segment range
+ */
+class SegmentIndex {
+    private static final int SEGMENTS = 1024;
+
+    private final Set<String>[] index;
+
+    @SuppressWarnings("unchecked")
+    SegmentIndex() {
+        index = new Set[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            index[i] = ConcurrentHashMap.newKeySet();
+        }
+    }
+
+    void add(String id) {
+        index[segment(id)].add(id);
+    }
+
+    void remove(String id) {
+        index[segment(id)].remove(id);
+    }
+
+    List<String> getIds(int segmentStart, int segmentEnd) {
+        List<String> result = new ArrayList<>();
+        for (int segment = Math.max(0, segmentStart); segment < Math.min(SEGMENTS, segmentEnd); segment++) {
+            result.addAll(index[segment]);
+        }
+        return result;
+    }
+
+    void clear() {
+        for (Set<String> ids : index) {
+            ids.clear();
+        }
+    }
+
+    private static int segment(String id) {
+        return ConsistentHashing.computeSegment(id, SEGMENTS);
+    }
+}
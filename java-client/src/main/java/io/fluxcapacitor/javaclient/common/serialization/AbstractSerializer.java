@@ -20,8 +20,13 @@
 import io.fluxcapacitor.javaclient.common.serialization.upcasting.Upcaster;
 import lombok.extern.slf4j.Slf4j;
 
+import java.lang.reflect.Field;
+import java.util.List;
 import java.util.stream.Stream;
 
+import static io.fluxcapacitor.common.reflection.ReflectionUtils.getAnnotatedFields;
+import static io.fluxcapacitor.common.reflection.ReflectionUtils.getProperty;
+import static io.fluxcapacitor.common.reflection.ReflectionUtils.setField;
 import static java.lang.String.format;
 
 @Slf4j
@@ -36,7 +41,13 @@ protected AbstractSerializer(Upcaster<SerializedObject<byte[], ?>> upcasterChain
     public Data<byte[]> serialize(Object object) {
         byte[] bytes;
         try {
-            bytes = doSerialize(object);
+            FieldExclusion fieldExclusion = FieldExclusion.getCurrent();
+            if (fieldExclusion != null && fieldExclusion.appliesTo(object)) {
+                bytes = doSerialize(object, fieldExclusion);
+                fieldExclusion.markApplied();
+            } else {
+                bytes = doSerialize(object);
+            }
         } catch (Exception e) {
             throw new SerializationException("Could not serialize " + object, e);
         }
@@ -54,6 +65,26 @@ protected Revision getRevision(Object object) {
 
     protected abstract byte[] doSerialize(Object object) throws Exception;
 
+    /*
+        Serializes a copy of the object in which the excluded fields have been cleared. Serializers that are able to
+        leave out fields in a single pass should override this.
+     */
+    protected byte[] doSerialize(Object object, FieldExclusion fieldExclusion) throws Exception {
+        List<Field> fields = getAnnotatedFields(object, fieldExclusion.getAnnotation());
+        if (fields.isEmpty()) {
+            return doSerialize(object);
+        }
+        Object copy = doDeserialize(doSerialize(object), object.getClass());
+        for (Field field : fields) {
+            Object value = getProperty(field, object);
+            if (value != null) {
+                fieldExclusion.getExcludedValueConsumer().accept(field.getName(), value);
+            }
+            setField(field, copy, null);
+        }
+        return doSerialize(copy);
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public <S extends SerializedObject<byte[], S>> Stream<DeserializingObject<byte[], S>> deserialize(
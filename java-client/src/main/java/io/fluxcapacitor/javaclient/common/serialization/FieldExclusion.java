@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2016-2018 Flux Capacitor.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fluxcapacitor.javaclient.common.serialization;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.lang.annotation.Annotation;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Instruction for an {@link AbstractSerializer} to leave out the fields of a target object that are annotated with a
+ * given annotation. While the instruction is applied on the current thread (see {@link #apply(Supplier)}), serializing
+ * the target object omits these fields. Values of omitted fields that are not null are passed to the given consumer
+ * (by field name) during the same write.
+ * <p>
+ * Use {@link #isApplied()} to check whether the target object was serialized while applying the instruction.
+ */
+@Getter
+@RequiredArgsConstructor
+public class FieldExclusion {
+    private static final ThreadLocal<FieldExclusion> current = new ThreadLocal<>();
+
+    private final Object target;
+    private final Class<? extends Annotation> annotation;
+    private final BiConsumer<String, Object> excludedValueConsumer;
+    private boolean applied;
+
+    public static FieldExclusion getCurrent() {
+        return current.get();
+    }
+
+    public <T> T apply(Supplier<T> action) {
+        FieldExclusion previous = current.get();
+        current.set(this);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                current.remove();
+            } else {
+                current.set(previous);
+            }
+        }
+    }
+
+    public boolean appliesTo(Object object) {
+        return object != null && object == target;
+    }
+
+    protected void markApplied() {
+        applied = true;
+    }
+}
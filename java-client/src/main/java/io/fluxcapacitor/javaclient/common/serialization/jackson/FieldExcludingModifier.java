@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2016-2018 Flux Capacitor.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fluxcapacitor.javaclient.common.serialization.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import io.fluxcapacitor.javaclient.common.serialization.FieldExclusion;
+import org.apache.commons.lang3.reflect.FieldUtils;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Modifies bean serializers such that properties backed by an annotated field can be left out while writing a value.
+ * Properties are only left out if the writer carries a {@link FieldExclusion} attribute that applies to the bean being
+ * written. The values of the properties that are left out are passed to the consumer of the {@link FieldExclusion}.
+ */
+public class FieldExcludingModifier extends BeanSerializerModifier {
+
+    public static ObjectWriter createWriter(ObjectMapper objectMapper) {
+        ObjectMapper copy = objectMapper.copy();
+        copy.setSerializerFactory(copy.getSerializerFactory().withSerializerModifier(new FieldExcludingModifier()));
+        return copy.writer();
+    }
+
+    @Override
+    public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc,
+                                                     List<BeanPropertyWriter> beanProperties) {
+        List<BeanPropertyWriter> result = new ArrayList<>(beanProperties.size());
+        for (BeanPropertyWriter writer : beanProperties) {
+            Field field = findField(beanDesc, writer);
+            result.add(field == null || field.getAnnotations().length == 0
+                               ? writer : new FieldExcludingPropertyWriter(writer, field));
+        }
+        return result;
+    }
+
+    private static Field findField(BeanDescription beanDesc, BeanPropertyWriter writer) {
+        for (BeanPropertyDefinition property : beanDesc.findProperties()) {
+            if (property.getName().equals(writer.getName())) {
+                return FieldUtils.getField(beanDesc.getBeanClass(), property.getInternalName(), true);
+            }
+        }
+        return null;
+    }
+
+    protected static class FieldExcludingPropertyWriter extends BeanPropertyWriter {
+        private final Field field;
+
+        protected FieldExcludingPropertyWriter(BeanPropertyWriter base, Field field) {
+            super(base);
+            this.field = field;
+        }
+
+        @Override
+        public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+            Object attribute = prov.getAttribute(FieldExclusion.class);
+            if (attribute instanceof FieldExclusion) {
+                FieldExclusion fieldExclusion = (FieldExclusion) attribute;
+                if (fieldExclusion.appliesTo(bean) && field.isAnnotationPresent(fieldExclusion.getAnnotation())) {
+                    Object value = get(bean);
+                    if (value != null) {
+                        fieldExclusion.getExcludedValueConsumer().accept(field.getName(), value);
+                    }
+                    return;
+                }
+            }
+            super.serializeAsField(bean, gen, prov);
+        }
+    }
+}
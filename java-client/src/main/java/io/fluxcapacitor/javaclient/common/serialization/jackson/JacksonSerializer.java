@@ -15,28 +15,36 @@
 package io.fluxcapacitor.javaclient.common.serialization.jackson;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.fluxcapacitor.common.ObjectUtils.MemoizingSupplier;
 import io.fluxcapacitor.common.api.SerializedObject;
 import io.fluxcapacitor.javaclient.common.serialization.AbstractSerializer;
 import io.fluxcapacitor.javaclient.common.serialization.DeserializingObject;
+import io.fluxcapacitor.javaclient.common.serialization.FieldExclusion;
 import io.fluxcapacitor.javaclient.common.serialization.SerializationException;
 import io.fluxcapacitor.javaclient.common.serialization.upcasting.Upcaster;
 import io.fluxcapacitor.javaclient.common.serialization.upcasting.UpcasterChain;
+import lombok.extern.slf4j.Slf4j;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 import static com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES;
 import static com.fasterxml.jackson.databind.SerializationFeature.FAIL_ON_EMPTY_BEANS;
 import static com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS;
+import static io.fluxcapacitor.common.ObjectUtils.memoize;
 import static java.lang.String.format;
 
+@Slf4j
 public class JacksonSerializer extends AbstractSerializer {
     public static final ObjectMapper defaultObjectMapper = new ObjectMapper()
             .findAndRegisterModules().disable(FAIL_ON_EMPTY_BEANS)
             .disable(WRITE_DATES_AS_TIMESTAMPS).disable(FAIL_ON_UNKNOWN_PROPERTIES);
 
     private final ObjectMapper objectMapper;
+    private final MemoizingSupplier<Optional<ObjectWriter>> fieldExcludingWriter;
 
     public JacksonSerializer() {
         this(Collections.emptyList());
@@ -57,6 +65,14 @@ public JacksonSerializer(ObjectMapper objectMapper, Collection<?> upcasters) {
     public JacksonSerializer(ObjectMapper objectMapper, Upcaster<SerializedObject<byte[], ?>> upcasterChain) {
         super(upcasterChain);
         this.objectMapper = objectMapper;
+        this.fieldExcludingWriter = memoize(() -> {
+            try {
+                return Optional.of(FieldExcludingModifier.createWriter(objectMapper));
+            } catch (IllegalStateException e) {
+                log.warn("Could not copy object mapper. Fields will be excluded using a copy of the serialized value.", e);
+                return Optional.empty();
+            }
+        });
     }
 
     @Override
@@ -64,6 +80,15 @@ protected byte[] doSerialize(Object object) throws Exception {
         return objectMapper.writeValueAsBytes(object);
     }
 
+    @Override
+    protected byte[] doSerialize(Object object, FieldExclusion fieldExclusion) throws Exception {
+        Optional<ObjectWriter> writer = fieldExcludingWriter.get();
+        if (!writer.isPresent()) {
+            return super.doSerialize(object, fieldExclusion);
+        }
+        return writer.get().withAttribute(FieldExclusion.class, fieldExclusion).writeValueAsBytes(object);
+    }
+
     @Override
     protected Object doDeserialize(byte[] bytes, Class<?> type) throws Exception {
         return objectMapper.readValue(bytes, type);
@@ -18,18 +18,37 @@
 
 import java.lang.reflect.Method;
 import java.util.function.Function;
+import java.util.function.UnaryOperator;
 import java.util.stream.Stream;
 
 public class AnnotatedUpcaster<T> {
     private final Method method;
     private final Upcast annotation;
     private final Function<SerializedObject<T, ?>, Stream<SerializedObject<T, ?>>> upcastFunction;
+    private final UnaryOperator<SerializedObject<T, ?>> singleResultFunction;
 
     public AnnotatedUpcaster(Method method,
                              Function<SerializedObject<T, ?>, Stream<SerializedObject<T, ?>>> upcastFunction) {
         this.method = method;
         this.annotation = method.getAnnotation(Upcast.class);
         this.upcastFunction = upcastFunction;
+        this.singleResultFunction = null;
+    }
+
+    private AnnotatedUpcaster(Method method, UnaryOperator<SerializedObject<T, ?>> singleResultFunction) {
+        this.method = method;
+        this.annotation = method.getAnnotation(Upcast.class);
+        this.upcastFunction = s -> Stream.of(singleResultFunction.apply(s));
+        this.singleResultFunction = singleResultFunction;
+    }
+
+    /*
+        Creates an upcaster that always maps its input to exactly one result. Such upcasters can be applied in a tight
+        loop by the upcaster chain, i.e. without creating a stream per upcast.
+     */
+    public static <T> AnnotatedUpcaster<T> singleResult(Method method,
+                                                        UnaryOperator<SerializedObject<T, ?>> upcastFunction) {
+        return new AnnotatedUpcaster<>(method, upcastFunction);
     }
 
     @SuppressWarnings("unchecked")
@@ -38,6 +57,19 @@ public <S extends SerializedObject<T, S>> Stream<S> upcast(S input) {
                 ? (Stream<S>) upcastFunction.apply(input) : Stream.of(input);
     }
 
+    public boolean hasSingleResult() {
+        return singleResultFunction != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <S extends SerializedObject<T, S>> S upcastSingle(S input) {
+        if (singleResultFunction == null) {
+            throw new UnsupportedOperationException("Upcaster does not have a single result: " + method);
+        }
+        return annotation.type().equals(input.data().getType()) && annotation.revision() == input.data().getRevision()
+                ? (S) singleResultFunction.apply(input) : input;
+    }
+
     public Upcast getAnnotation() {
         return annotation;
     }
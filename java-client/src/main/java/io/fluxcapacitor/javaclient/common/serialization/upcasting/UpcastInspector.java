@@ -18,8 +18,11 @@
 import io.fluxcapacitor.common.api.SerializedObject;
 import io.fluxcapacitor.javaclient.common.serialization.SerializationException;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
@@ -61,6 +64,13 @@ private static <T> AnnotatedUpcaster<T> createUpcaster(Method method, Object tar
         }
         method = ensureAccessible(method);
         Function<SerializedObject<T, ?>, Object> invokeFunction = invokeFunction(method, target, dataType);
+        Optional<BiFunction<SerializedObject<T, ?>, Supplier<Object>, SerializedObject<T, ?>>> singleResultMapper =
+                mapSingleResult(method, dataType);
+        if (singleResultMapper.isPresent()) {
+            BiFunction<SerializedObject<T, ?>, Supplier<Object>, SerializedObject<T, ?>> mapper =
+                    singleResultMapper.get();
+            return AnnotatedUpcaster.singleResult(method, d -> mapper.apply(d, () -> invokeFunction.apply(d)));
+        }
         BiFunction<SerializedObject<T, ?>, Supplier<Object>, Stream<SerializedObject<T, ?>>> resultMapper =
                 mapResult(method, dataType);
         return new AnnotatedUpcaster<>(method, d -> resultMapper.apply(d, () -> invokeFunction.apply(d)));
@@ -74,44 +84,65 @@ private static <T> AnnotatedUpcaster<T> createUpcaster(Method method, Object tar
                     String.format("Upcaster method '%s' has unexpected number of parameters. Expected 1 or 0.",
                                   method));
         }
+        Function<Object, Object> invoker = bindMethod(method, target);
         if (parameters[0] instanceof ParameterizedType) {
             ParameterizedType parameterizedType = (ParameterizedType) parameters[0];
             if (parameterizedType.getRawType().equals(Data.class) && dataType
                     .isAssignableFrom((Class<?>) parameterizedType.getActualTypeArguments()[0])) {
-                return data -> invokeMethod(method, data, target);
+                return s -> invoker.apply(s.data());
             }
             if (dataType.isAssignableFrom((Class<?>) parameterizedType.getRawType())) {
-                return s -> invokeMethod(method, s.data().getValue(), target);
+                return s -> invoker.apply(s.data().getValue());
             }
         } else if (dataType.isAssignableFrom((Class<?>) parameters[0])) {
-            return s -> invokeMethod(method, s.data().getValue(), target);
+            return s -> invoker.apply(s.data().getValue());
         }
         throw new SerializationException(String.format(
                 "First parameter in upcaster method '%s' is of unexpected type. Expected Data<%s> or %s.",
                 method, dataType.getName(), dataType.getName()));
     }
 
-    private static Object invokeMethod(Method method, Object argument, Object target) {
+    /*
+        Binds the upcaster method to its target once so invocations don't pay for reflective access checks and argument
+        array creation.
+     */
+    private static Function<Object, Object> bindMethod(Method method, Object target) {
+        MethodHandle methodHandle;
         try {
-            return method.invoke(target, argument);
+            methodHandle = MethodHandles.lookup().unreflect(method);
         } catch (IllegalAccessException e) {
             throw new SerializationException("Not allowed to invoke method: " + method, e);
-        } catch (InvocationTargetException e) {
-            throw new SerializationException("Exception while upcasting using method: " + method, e);
         }
+        if (!Modifier.isStatic(method.getModifiers())) {
+            methodHandle = methodHandle.bindTo(target);
+        }
+        MethodHandle invoker = methodHandle.asType(MethodType.methodType(Object.class, Object.class));
+        return argument -> {
+            try {
+                return (Object) invoker.invokeExact(argument);
+            } catch (Throwable e) {
+                throw new SerializationException("Exception while upcasting using method: " + method, e);
+            }
+        };
     }
 
     @SuppressWarnings("unchecked")
-    private static <T> BiFunction<SerializedObject<T, ?>, Supplier<Object>, Stream<SerializedObject<T, ?>>> mapResult(
+    private static <T> Optional<BiFunction<SerializedObject<T, ?>, Supplier<Object>, SerializedObject<T, ?>>> mapSingleResult(
             Method method, Class<T> dataType) {
         if (dataType.isAssignableFrom(method.getReturnType())) {
             Upcast annotation = method.getAnnotation(Upcast.class);
-            return (s, o) -> Stream
-                    .of(s.withData(new Data<>((Supplier<T>) o, annotation.type(), annotation.revision() + 1)));
+            return Optional.of((s, o) -> s.withData(
+                    new Data<>((Supplier<T>) o, annotation.type(), annotation.revision() + 1)));
         }
         if (method.getReturnType().equals(Data.class)) {
-            return (s, o) -> Stream.of(s.withData((Data<T>) o.get()));
+            return Optional.of((s, o) -> s.withData((Data<T>) o.get()));
         }
+        return Optional.empty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> BiFunction<SerializedObject<T, ?>, Supplier<Object>, Stream<SerializedObject<T, ?>>> mapResult(
+            Method method, Class<T> dataType) {
         if (method.getReturnType().equals(Optional.class)) {
             ParameterizedType parameterizedType = (ParameterizedType) method.getGenericReturnType();
             if (parameterizedType.getActualTypeArguments()[0] instanceof Class<?>) {
@@ -17,19 +17,15 @@
 import io.fluxcapacitor.common.api.Data;
 import io.fluxcapacitor.common.api.SerializedObject;
 import io.fluxcapacitor.javaclient.common.serialization.SerializationException;
-import lombok.AllArgsConstructor;
-import lombok.Value;
-import lombok.experimental.Wither;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.stream.Stream;
 
+import static io.fluxcapacitor.common.ObjectUtils.memoize;
 import static java.lang.String.format;
-import static java.util.function.Function.identity;
-import static java.util.stream.Collectors.toMap;
 
 public class UpcasterChain<T> {
 
@@ -37,12 +33,9 @@
         if (upcasters.isEmpty()) {
             return s -> s;
         }
-        Upcaster<ConvertingSerializedObject<T>> upcasterChain = create(upcasters, converter.getDataType());
-        return stream -> {
-            Stream<ConvertingSerializedObject<T>> converted = stream.map(s -> new ConvertingSerializedObject<>(s, converter));
-            Stream<ConvertingSerializedObject<T>> upcasted = upcasterChain.upcast(converted);
-            return upcasted.map(ConvertingSerializedObject::getResult);
-        };
+        UpcasterChain<T> upcasterChain =
+                new UpcasterChain<>(UpcastInspector.inspect(upcasters, converter.getDataType()));
+        return stream -> stream.flatMap(s -> upcasterChain.upcastAndConvert(s, converter));
     }
 
     protected static <T, S extends SerializedObject<T, S>> Upcaster<S> create(Collection<?> upcasters, Class<T> dataType) {
@@ -54,50 +47,78 @@ protected static <T, S extends SerializedObject<T, S>> Upcaster<S> create(Collec
         return upcasterChain::upcast;
     }
 
-    private final Map<DataRevision, AnnotatedUpcaster<T>> upcasters;
+    /*
+        Upcasters indexed by type and then by revision. Looking up an upcaster does not require creating a key object.
+     */
+    private final Map<String, Map<Integer, AnnotatedUpcaster<T>>> upcasters = new HashMap<>();
 
     protected UpcasterChain(Collection<AnnotatedUpcaster<T>> upcasters) {
-        this.upcasters =
-                upcasters.stream().collect(toMap(u -> new DataRevision(u.getAnnotation()), identity(), (a, b) -> {
-                    throw new SerializationException(
-                            format("Failed to create upcaster chain. Methods '%s' and '%s' both apply to the same data revision.",
-                                   a, b));
-                }));
+        for (AnnotatedUpcaster<T> upcaster : upcasters) {
+            Upcast annotation = upcaster.getAnnotation();
+            AnnotatedUpcaster<T> existing = this.upcasters.computeIfAbsent(annotation.type(), t -> new HashMap<>())
+                    .putIfAbsent(annotation.revision(), upcaster);
+            if (existing != null) {
+                throw new SerializationException(
+                        format("Failed to create upcaster chain. Methods '%s' and '%s' both apply to the same data revision.",
+                               existing, upcaster));
+            }
+        }
     }
 
     protected <S extends SerializedObject<T, S>> Stream<S> upcast(Stream<S> input) {
-        return input.flatMap(i -> Optional.ofNullable(upcasters.get(new DataRevision(i.data())))
-                .map(upcaster -> upcast(upcaster.upcast(i)))
-                .orElse(Stream.of(i)));
+        return input.flatMap(this::upcastObject);
     }
 
-    @Value
-    @AllArgsConstructor
-    protected static class DataRevision {
-        String type;
-        int revision;
-
-        protected DataRevision(Data<?> data) {
-            this(data.getType(), data.getRevision());
+    /*
+        Serialized objects without applicable upcaster are passed on as is, i.e. without ever being converted. Otherwise
+        the object is converted once, upcasted in as many steps as necessary and converted back once.
+     */
+    protected Stream<SerializedObject<byte[], ?>> upcastAndConvert(SerializedObject<byte[], ?> input,
+                                                                   Converter<T> converter) {
+        if (getUpcaster(input.data()) == null) {
+            return Stream.of(input);
         }
+        return upcastObject(new ConvertingSerializedObject<>(input, converter))
+                .map(ConvertingSerializedObject::getResult);
+    }
 
-        protected DataRevision(Upcast annotation) {
-            this(annotation.type(), annotation.revision());
+    /*
+        Upcasters that are known to produce exactly one result are applied in a loop. Only when an upcaster may drop or
+        split the object do we fall back to flat mapping.
+     */
+    protected <S extends SerializedObject<T, S>> Stream<S> upcastObject(S input) {
+        S result = input;
+        AnnotatedUpcaster<T> upcaster;
+        while ((upcaster = getUpcaster(result.data())) != null) {
+            if (!upcaster.hasSingleResult()) {
+                return upcaster.upcast(result).flatMap(this::upcastObject);
+            }
+            result = upcaster.upcastSingle(result);
         }
+        return Stream.of(result);
+    }
+
+    protected AnnotatedUpcaster<T> getUpcaster(Data<?> data) {
+        Map<Integer, AnnotatedUpcaster<T>> revisions = upcasters.get(data.getType());
+        return revisions == null ? null : revisions.get(data.getRevision());
     }
 
-    @AllArgsConstructor
     protected static class ConvertingSerializedObject<T> implements SerializedObject<T, ConvertingSerializedObject<T>> {
 
         private final SerializedObject<byte[], ?> source;
         private final Converter<T> converter;
-        @Wither
-        private Data<T> data;
+        private final Data<T> data;
 
         public ConvertingSerializedObject(SerializedObject<byte[], ?> source, Converter<T> converter) {
+            this(source, converter, new Data<>(memoize(() -> converter.convert(source.data().getValue())),
+                                               source.data().getType(), source.data().getRevision()));
+        }
+
+        protected ConvertingSerializedObject(SerializedObject<byte[], ?> source, Converter<T> converter,
+                                             Data<T> data) {
             this.source = source;
             this.converter = converter;
-            this.data = converter.convert(source.data());
+            this.data = data;
         }
 
         @Override
@@ -105,8 +126,14 @@ public Data<T> data() {
             return data;
         }
 
+        @Override
+        public ConvertingSerializedObject<T> withData(Data<T> data) {
+            return new ConvertingSerializedObject<>(source, converter, data);
+        }
+
         public SerializedObject<byte[], ?> getResult() {
-            return source.withData(converter.convertBack(data));
+            return source.withData(new Data<>(memoize(() -> converter.convertBack(data.getValue())),
+                                              data.getType(), data.getRevision()));
         }
     }
 }
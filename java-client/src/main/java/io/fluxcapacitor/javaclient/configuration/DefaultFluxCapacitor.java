@@ -15,23 +15,35 @@
 package io.fluxcapacitor.javaclient.configuration;
 
 import io.fluxcapacitor.common.MessageType;
+import io.fluxcapacitor.common.api.SerializedMessage;
 import io.fluxcapacitor.common.handling.ParameterResolver;
 import io.fluxcapacitor.javaclient.FluxCapacitor;
+import io.fluxcapacitor.javaclient.common.caching.Cache;
+import io.fluxcapacitor.javaclient.common.caching.CacheConfiguration;
 import io.fluxcapacitor.javaclient.common.caching.DefaultCache;
+import io.fluxcapacitor.javaclient.common.caching.NoCache;
+import io.fluxcapacitor.javaclient.common.caching.OffHeapCache;
 import io.fluxcapacitor.javaclient.common.metrics.ApplicationMonitor;
 import io.fluxcapacitor.javaclient.common.serialization.DeserializingMessage;
 import io.fluxcapacitor.javaclient.common.serialization.MessageSerializer;
 import io.fluxcapacitor.javaclient.common.serialization.Serializer;
 import io.fluxcapacitor.javaclient.common.serialization.jackson.JacksonSerializer;
 import io.fluxcapacitor.javaclient.configuration.client.Client;
+import io.fluxcapacitor.javaclient.eventsourcing.AsyncSnapshotRepository;
 import io.fluxcapacitor.javaclient.eventsourcing.DefaultEventSourcing;
 import io.fluxcapacitor.javaclient.eventsourcing.DefaultEventStore;
 import io.fluxcapacitor.javaclient.eventsourcing.DefaultSnapshotRepository;
 import io.fluxcapacitor.javaclient.eventsourcing.EventSourcing;
 import io.fluxcapacitor.javaclient.eventsourcing.EventStore;
 import io.fluxcapacitor.javaclient.eventsourcing.EventStoreSerializer;
+import io.fluxcapacitor.javaclient.eventsourcing.ModelPrefetchingInterceptor;
+import io.fluxcapacitor.javaclient.eventsourcing.SnapshotRepository;
 import io.fluxcapacitor.javaclient.keyvalue.DefaultKeyValueStore;
 import io.fluxcapacitor.javaclient.keyvalue.KeyValueStore;
+import io.fluxcapacitor.javaclient.keyvalue.client.CachingKeyValueClient;
+import io.fluxcapacitor.javaclient.keyvalue.client.KeyValueCacheInvalidator;
+import io.fluxcapacitor.javaclient.keyvalue.client.KeyValueClient;
+import io.fluxcapacitor.javaclient.publishing.CoalescingRequestGateway;
 import io.fluxcapacitor.javaclient.publishing.CommandGateway;
 import io.fluxcapacitor.javaclient.publishing.DefaultCommandGateway;
 import io.fluxcapacitor.javaclient.publishing.DefaultErrorGateway;
@@ -49,17 +61,21 @@
 import io.fluxcapacitor.javaclient.publishing.RequestGateway;
 import io.fluxcapacitor.javaclient.publishing.RequestHandler;
 import io.fluxcapacitor.javaclient.publishing.ResultGateway;
+import io.fluxcapacitor.javaclient.publishing.claimcheck.ClaimCheckConfiguration;
+import io.fluxcapacitor.javaclient.publishing.claimcheck.ClaimCheckInterceptor;
 import io.fluxcapacitor.javaclient.publishing.correlation.CorrelatingInterceptor;
 import io.fluxcapacitor.javaclient.publishing.correlation.CorrelationDataProvider;
 import io.fluxcapacitor.javaclient.publishing.correlation.MessageOriginProvider;
 import io.fluxcapacitor.javaclient.publishing.dataprotection.DataProtectionInterceptor;
 import io.fluxcapacitor.javaclient.publishing.routing.MessageRoutingInterceptor;
+import io.fluxcapacitor.javaclient.publishing.routing.RoutingKeyMetadataInterceptor;
 import io.fluxcapacitor.javaclient.scheduling.DefaultScheduler;
 import io.fluxcapacitor.javaclient.scheduling.Scheduler;
 import io.fluxcapacitor.javaclient.tracking.BatchInterceptor;
 import io.fluxcapacitor.javaclient.tracking.ConsumerConfiguration;
 import io.fluxcapacitor.javaclient.tracking.DefaultTracking;
 import io.fluxcapacitor.javaclient.tracking.Tracking;
+import io.fluxcapacitor.javaclient.tracking.TrackingConfiguration;
 import io.fluxcapacitor.javaclient.tracking.TrackingException;
 import io.fluxcapacitor.javaclient.tracking.handling.DefaultHandlerFactory;
 import io.fluxcapacitor.javaclient.tracking.handling.DeserializingMessageParameterResolver;
@@ -210,6 +226,13 @@ public static class Builder implements FluxCapacitorBuilder {
         private boolean disableMessageCorrelation;
         private boolean disablePayloadValidation;
         private boolean disableDataProtection;
+        private final Map<MessageType, ClaimCheckConfiguration> claimCheckConfigurations = new HashMap<>();
+        private CacheConfiguration defaultCacheConfiguration = CacheConfiguration.DEFAULT;
+        private final Map<Class<?>, CacheConfiguration> cacheConfigurations = new HashMap<>();
+        private long offHeapCacheSize;
+        private int maxPendingSnapshots;
+        private final Set<Class<?>> prefetchedModelTypes = new LinkedHashSet<>();
+        private CacheConfiguration keyValueCacheConfiguration;
         private boolean disableShutdownHook;
         private boolean collectTrackingMetrics;
         private boolean collectApplicationMetrics;
@@ -256,6 +279,45 @@ public Builder addConsumerConfiguration(MessageType messageType, ConsumerConfigu
             return this;
         }
 
+        @Override
+        public Builder configureDefaultModelCache(CacheConfiguration cacheConfiguration) {
+            this.defaultCacheConfiguration = cacheConfiguration;
+            return this;
+        }
+
+        @Override
+        public Builder configureModelCache(Class<?> modelType, CacheConfiguration cacheConfiguration) {
+            cacheConfigurations.put(modelType, cacheConfiguration);
+            return this;
+        }
+
+        @Override
+        public Builder enableOffHeapModelCache(long maximumBytes) {
+            this.offHeapCacheSize = maximumBytes;
+            return this;
+        }
+
+        @Override
+        public Builder enableAsyncSnapshotting(int maxPendingSnapshots) {
+            if (maxPendingSnapshots < 1) {
+                throw new IllegalArgumentException("Maximum number of pending snapshots should be at least 1");
+            }
+            this.maxPendingSnapshots = maxPendingSnapshots;
+            return this;
+        }
+
+        @Override
+        public Builder enableModelPrefetching(Class<?>... modelTypes) {
+            prefetchedModelTypes.addAll(Arrays.asList(modelTypes));
+            return this;
+        }
+
+        @Override
+        public Builder enableKeyValueCache(CacheConfiguration cacheConfiguration) {
+            this.keyValueCacheConfiguration = cacheConfiguration;
+            return this;
+        }
+
         @Override
         public Builder addHandlerParameterResolver(ParameterResolver<DeserializingMessage> parameterResolver) {
             handlerParameterResolvers.add(parameterResolver);
@@ -318,6 +380,12 @@ public FluxCapacitorBuilder disableDataProtection() {
             return this;
         }
 
+        @Override
+        public FluxCapacitorBuilder enableClaimCheck(MessageType messageType, ClaimCheckConfiguration configuration) {
+            claimCheckConfigurations.put(messageType, configuration);
+            return this;
+        }
+
         @Override
         public FluxCapacitorBuilder collectTrackingMetrics() {
             collectTrackingMetrics = true;
@@ -344,18 +412,57 @@ public FluxCapacitor build(Client client) {
                     new HashMap<>(this.consumerConfigurations);
 
 
-            KeyValueStore keyValueStore = new DefaultKeyValueStore(client.getKeyValueClient(), serializer);
+            //cache key value store entries, evicting entries modified by other clients when notified
+            KeyValueClient keyValueClient = client.getKeyValueClient();
+            KeyValueCacheInvalidator keyValueCacheInvalidator = null;
+            if (keyValueCacheConfiguration != null) {
+                CachingKeyValueClient cachingClient =
+                        new CachingKeyValueClient(keyValueClient, keyValueCacheConfiguration);
+                keyValueClient = cachingClient;
+                keyValueCacheInvalidator = new KeyValueCacheInvalidator(cachingClient, client.id());
+                consumerConfigurations.compute(METRICS, (t, list) -> {
+                    List<ConsumerConfiguration> result = new ArrayList<>(list);
+                    result.add(0, ConsumerConfiguration.builder()
+                            .name(String.format("%s_keyValueCache_%s", client.name(), client.id()))
+                            .prependApplicationName(false)
+                            .handlerFilter(h -> h instanceof KeyValueCacheInvalidator).build());
+                    return result;
+                });
+            }
+            KeyValueStore keyValueStore = new DefaultKeyValueStore(keyValueClient, serializer);
 
             //enable message routing
             Arrays.stream(MessageType.values())
                     .forEach(type -> dispatchInterceptors.compute(type, (t, i) -> i.merge(messageRoutingInterceptor)));
 
+            //add the routing key to the metadata of commands so their models can be prefetched
+            if (!prefetchedModelTypes.isEmpty()) {
+                dispatchInterceptors.compute(COMMAND, (t, i) -> i.merge(new RoutingKeyMetadataInterceptor()));
+            }
+
+            //enable claim checks for large payloads
+            Map<MessageType, ClaimCheckInterceptor> claimCheckInterceptors = new HashMap<>();
+            claimCheckConfigurations.forEach((type, configuration) -> {
+                ClaimCheckInterceptor interceptor =
+                        new ClaimCheckInterceptor(client.getKeyValueClient(), configuration);
+                claimCheckInterceptors.put(type, interceptor);
+                dispatchInterceptors.compute(type, (t, i) -> i.merge(interceptor));
+                consumerConfigurations.compute(type, (t, list) -> list.stream().map(c -> c.toBuilder()
+                        .trackingConfiguration(c.getTrackingConfiguration().toBuilder()
+                                                       .batchInterceptor(interceptor).build())
+                        .build()).collect(toList()));
+            });
+
             //enable data protection
             if (!disableDataProtection) {
                 DataProtectionInterceptor interceptor = new DataProtectionInterceptor(keyValueStore, serializer);
                 Stream.of(COMMAND, EVENT, QUERY, RESULT, SCHEDULE).forEach(type -> {
                     dispatchInterceptors.compute(type, (t, i) -> i.merge(interceptor));
                     handlerInterceptors.compute(type, (t, i) -> i.merge(interceptor));
+                    consumerConfigurations.compute(type, (t, list) -> list.stream().map(c -> c.toBuilder()
+                            .trackingConfiguration(c.getTrackingConfiguration().toBuilder()
+                                                           .batchInterceptor(interceptor).build())
+                            .build()).collect(toList()));
                 });
             }
 
@@ -390,18 +497,37 @@ public FluxCapacitor build(Client client) {
             //event sourcing
             EventStore eventStore = new DefaultEventStore(client.getEventStoreClient(),
                                                           new EventStoreSerializer(serializer,
-                                                                                   dispatchInterceptors.get(EVENT)),
+                                                                                   dispatchInterceptors.get(EVENT),
+                                                                                   claimCheckResolver(
+                                                                                           claimCheckInterceptors
+                                                                                                   .get(EVENT))),
                                                           new DefaultHandlerFactory(EVENT,
                                                                                     handlerInterceptors.get(EVENT),
                                                                                     handlerParameterResolvers));
-            DefaultSnapshotRepository snapshotRepository =
+            SnapshotRepository snapshotRepository =
                     new DefaultSnapshotRepository(client.getKeyValueClient(), snapshotSerializer);
-            DefaultEventSourcing eventSourcing =
-                    new DefaultEventSourcing(eventStore, snapshotRepository, new DefaultCache());
+            AsyncSnapshotRepository asyncSnapshotRepository = null;
+            if (maxPendingSnapshots > 0) {
+                snapshotRepository = asyncSnapshotRepository =
+                        new AsyncSnapshotRepository(snapshotRepository, maxPendingSnapshots);
+            }
+            Cache modelCache = new DefaultCache(defaultCacheConfiguration, offHeapCacheSize > 0
+                    ? new OffHeapCache(snapshotSerializer, offHeapCacheSize) : NoCache.INSTANCE);
+            DefaultEventSourcing eventSourcing = new DefaultEventSourcing(eventStore, snapshotRepository, modelCache,
+                                                                          new HashMap<>(cacheConfigurations));
 
             //register event sourcing as handler interceptor
             handlerInterceptors.compute(COMMAND, (t, i) -> i.merge(eventSourcing));
 
+            //prefetch models targeted by commands
+            prefetchedModelTypes.forEach(modelType -> {
+                BatchInterceptor interceptor = ModelPrefetchingInterceptor.usingRoutingKey(modelType);
+                consumerConfigurations.compute(COMMAND, (t, list) -> list.stream().map(c -> c.toBuilder()
+                        .trackingConfiguration(c.getTrackingConfiguration().toBuilder()
+                                                       .batchInterceptor(interceptor).build())
+                        .build()).collect(toList()));
+            });
+
             //enable error reporter as the outermost handler interceptor
             ErrorGateway errorGateway =
                     new DefaultErrorGateway(client.getGatewayClient(ERROR),
@@ -416,8 +542,12 @@ public FluxCapacitor build(Client client) {
             ResultGateway resultGateway =
                     new DefaultResultGateway(client.getGatewayClient(RESULT),
                                              new MessageSerializer(serializer, dispatchInterceptors.get(RESULT)));
-            RequestHandler requestHandler =
-                    new DefaultRequestHandler(client.getTrackingClient(RESULT), serializer, client.name(), client.id());
+            TrackingConfiguration resultTrackingConfiguration = claimCheckInterceptors.containsKey(RESULT)
+                    ? TrackingConfiguration.builder().batchInterceptor(claimCheckInterceptors.get(RESULT)).build()
+                    : TrackingConfiguration.DEFAULT;
+            DefaultRequestHandler requestHandler =
+                    new DefaultRequestHandler(client.getTrackingClient(RESULT), serializer, client.name(), client.id(),
+                                              resultTrackingConfiguration);
             CommandGateway commandGateway =
                     new DefaultCommandGateway(createRequestGateway(client, COMMAND, requestHandler,
                                                                    dispatchInterceptors.get(COMMAND),
@@ -425,13 +555,10 @@ public FluxCapacitor build(Client client) {
                                                                                              handlerInterceptors
                                                                                                      .get(COMMAND),
                                                                                              handlerParameterResolvers)));
-            QueryGateway queryGateway =
-                    new DefaultQueryGateway(createRequestGateway(client, QUERY, requestHandler,
-                                                                 dispatchInterceptors.get(QUERY),
-                                                                 new DefaultHandlerFactory(QUERY,
-                                                                                           handlerInterceptors
-                                                                                                   .get(QUERY),
-                                                                                           handlerParameterResolvers)));
+            QueryGateway queryGateway = new DefaultQueryGateway(new CoalescingRequestGateway(
+                    createRequestGateway(client, QUERY, requestHandler, dispatchInterceptors.get(QUERY),
+                                         new DefaultHandlerFactory(QUERY, handlerInterceptors.get(QUERY),
+                                                                   handlerParameterResolvers))));
             EventGateway eventGateway =
                     new DefaultEventGateway(client.getGatewayClient(EVENT),
                                             new MessageSerializer(serializer, dispatchInterceptors.get(EVENT)),
@@ -460,6 +587,11 @@ public FluxCapacitor build(Client client) {
                                                   resultGateway, errorGateway, metricsGateway, eventSourcing,
                                                   keyValueStore, scheduler, client, properties);
 
+            //start tracking key value modifications by other clients
+            if (keyValueCacheInvalidator != null) {
+                fluxCapacitor.startTracking(keyValueCacheInvalidator);
+            }
+
             //collect application metrics
             if (collectApplicationMetrics) {
                 ApplicationMonitor.start(fluxCapacitor, Duration.ofSeconds(1));
@@ -467,9 +599,12 @@ public FluxCapacitor build(Client client) {
             
             //perform a controlled shutdown when the vm exits
             if (!disableShutdownHook) {
+                Optional<AsyncSnapshotRepository> pendingSnapshots = Optional.ofNullable(asyncSnapshotRepository);
                 getRuntime().addShutdownHook(new Thread(() -> {
                     log.info("Initiating controlled shutdown");
                     trackingMap.values().forEach(Tracking::close);
+                    requestHandler.close();
+                    pendingSnapshots.ifPresent(AsyncSnapshotRepository::close);
                     client.shutDown();
                     log.info("Completed shutdown");
                 }));
@@ -521,6 +656,16 @@ protected RequestGateway createRequestGateway(Client client, MessageType message
                                              new MessageSerializer(serializer, dispatchInterceptor),
                                              handlerFactory);
         }
+
+        protected UnaryOperator<SerializedMessage> claimCheckResolver(ClaimCheckInterceptor claimCheckInterceptor) {
+            if (claimCheckInterceptor == null) {
+                return UnaryOperator.identity();
+            }
+            return m -> {
+                claimCheckInterceptor.resolve(m);
+                return m;
+            };
+        }
     }
 
 }
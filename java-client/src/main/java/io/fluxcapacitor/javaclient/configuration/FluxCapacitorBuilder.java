@@ -3,10 +3,13 @@
 import io.fluxcapacitor.common.MessageType;
 import io.fluxcapacitor.common.handling.ParameterResolver;
 import io.fluxcapacitor.javaclient.FluxCapacitor;
+import io.fluxcapacitor.javaclient.common.caching.CacheConfiguration;
 import io.fluxcapacitor.javaclient.common.serialization.DeserializingMessage;
 import io.fluxcapacitor.javaclient.common.serialization.Serializer;
 import io.fluxcapacitor.javaclient.configuration.client.Client;
+import io.fluxcapacitor.javaclient.eventsourcing.EventSourced;
 import io.fluxcapacitor.javaclient.publishing.DispatchInterceptor;
+import io.fluxcapacitor.javaclient.publishing.claimcheck.ClaimCheckConfiguration;
 import io.fluxcapacitor.javaclient.publishing.correlation.CorrelationDataProvider;
 import io.fluxcapacitor.javaclient.tracking.ConsumerConfiguration;
 import io.fluxcapacitor.javaclient.tracking.handling.HandlerInterceptor;
@@ -38,6 +41,52 @@ public interface FluxCapacitorBuilder {
 
     FluxCapacitorBuilder addConsumerConfiguration(MessageType messageType, ConsumerConfiguration consumerConfiguration);
 
+    FluxCapacitorBuilder configureDefaultModelCache(CacheConfiguration cacheConfiguration);
+
+    FluxCapacitorBuilder configureModelCache(Class<?> modelType, CacheConfiguration cacheConfiguration);
+
+    /**
+     * Adds a second level cache for models that are evicted from the default model cache. The second level cache
+     * keeps models in serialized form (using the snapshot serializer) in off-heap memory.
+     *
+     * @param maximumBytes the maximum number of bytes used by the serialized models
+     * @return the modified builder
+     */
+    FluxCapacitorBuilder enableOffHeapModelCache(long maximumBytes);
+
+    /**
+     * Stores aggregate snapshots on a background thread instead of the thread that handles the command. If a newer
+     * snapshot of an aggregate is created before the previous one was stored only the newest snapshot gets stored.
+     * <p>
+     * Note that the model is serialized on the background thread, so this should only be used with immutable models.
+     *
+     * @param maxPendingSnapshots the maximum number of aggregates with a pending snapshot. New snapshots are dropped
+     *                            when this limit is reached.
+     * @return the modified builder
+     */
+    FluxCapacitorBuilder enableAsyncSnapshotting(int maxPendingSnapshots);
+
+    /**
+     * Loads the models of the given type that are targeted by a batch of commands before the batch is handled, using
+     * bulk requests for the snapshots and events of models that are not cached. The routing key of a command is used
+     * as model id. Models that are not cached (see {@link EventSourced#cached()}) are never prefetched.
+     *
+     * @param modelTypes the types of the models to prefetch
+     * @return the modified builder
+     */
+    FluxCapacitorBuilder enableModelPrefetching(Class<?>... modelTypes);
+
+    /**
+     * Keeps values of the key value store in a local cache. Values stored by this client are written through to the
+     * cache. Values modified by other clients are evicted once the key value service reports the modification as a
+     * metrics event. Configure {@link CacheConfiguration#getExpireAfterWrite()} to bound how long values can be stale
+     * if such a notification is missed.
+     *
+     * @param cacheConfiguration the configuration of the cache
+     * @return the modified builder
+     */
+    FluxCapacitorBuilder enableKeyValueCache(CacheConfiguration cacheConfiguration);
+
     FluxCapacitorBuilder addHandlerParameterResolver(ParameterResolver<DeserializingMessage> parameterResolver);
 
     FluxCapacitorBuilder addDispatchInterceptor(DispatchInterceptor interceptor, MessageType... forTypes);
@@ -58,6 +107,8 @@ public interface FluxCapacitorBuilder {
 
     FluxCapacitorBuilder disableDataProtection();
 
+    FluxCapacitorBuilder enableClaimCheck(MessageType messageType, ClaimCheckConfiguration configuration);
+
     FluxCapacitorBuilder collectTrackingMetrics();
 
     FluxCapacitorBuilder collectApplicationMetrics();
@@ -2,15 +2,21 @@
 
 import io.fluxcapacitor.common.MessageType;
 import io.fluxcapacitor.javaclient.eventsourcing.client.EventStoreClient;
+import io.fluxcapacitor.javaclient.eventsourcing.client.FileEventStoreClient;
 import io.fluxcapacitor.javaclient.eventsourcing.client.InMemoryEventStoreClient;
+import io.fluxcapacitor.javaclient.keyvalue.client.FileKeyValueClient;
 import io.fluxcapacitor.javaclient.keyvalue.client.InMemoryKeyValueClient;
 import io.fluxcapacitor.javaclient.keyvalue.client.KeyValueClient;
 import io.fluxcapacitor.javaclient.publishing.client.GatewayClient;
+import io.fluxcapacitor.javaclient.scheduling.client.FileSchedulingClient;
 import io.fluxcapacitor.javaclient.scheduling.client.InMemorySchedulingClient;
 import io.fluxcapacitor.javaclient.scheduling.client.SchedulingClient;
+import io.fluxcapacitor.javaclient.tracking.client.FileMessageStore;
 import io.fluxcapacitor.javaclient.tracking.client.InMemoryMessageStore;
+import io.fluxcapacitor.javaclient.tracking.client.RetentionConfiguration;
 import io.fluxcapacitor.javaclient.tracking.client.TrackingClient;
 
+import java.io.File;
 import java.lang.management.ManagementFactory;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -19,8 +25,44 @@
 public class InMemoryClient extends AbstractClient {
 
     public static InMemoryClient newInstance() {
-        InMemorySchedulingClient schedulingClient = new InMemorySchedulingClient();
-        InMemoryEventStoreClient eventStoreClient = new InMemoryEventStoreClient();
+        return newInstance(new InMemoryKeyValueClient());
+    }
+
+    /*
+        Creates a client that uses the given key value client, e.g. a FileKeyValueClient to keep values across restarts
+     */
+    public static InMemoryClient newInstance(KeyValueClient keyValueClient) {
+        return newInstance(keyValueClient, RetentionConfiguration.UNLIMITED);
+    }
+
+    /*
+        Creates a client of which the message logs remove old messages according to the given retention configuration
+     */
+    public static InMemoryClient newInstance(KeyValueClient keyValueClient, RetentionConfiguration retention) {
+        return newInstance(keyValueClient, retention, type -> new InMemoryMessageStore(retention));
+    }
+
+    /*
+        Creates a client that keeps all messages, events, schedules and key values (including snapshots) and the
+        positions of consumers in the given directory, so they survive restarts
+     */
+    public static InMemoryClient newInstance(File directory) {
+        return newInstance(new FileKeyValueClient(new File(directory, "keyvalue")),
+                           new FileEventStoreClient(new File(directory, "event")),
+                           new FileSchedulingClient(new File(directory, "schedule")),
+                           type -> new FileMessageStore(new File(directory, type.name().toLowerCase())));
+    }
+
+    private static InMemoryClient newInstance(KeyValueClient keyValueClient, RetentionConfiguration retention,
+                                              Function<MessageType, InMemoryMessageStore> storeFactory) {
+        return newInstance(keyValueClient, new InMemoryEventStoreClient(retention), new InMemorySchedulingClient(),
+                           storeFactory);
+    }
+
+    private static InMemoryClient newInstance(KeyValueClient keyValueClient,
+                                              InMemoryEventStoreClient eventStoreClient,
+                                              InMemorySchedulingClient schedulingClient,
+                                              Function<MessageType, InMemoryMessageStore> storeFactory) {
         Map<MessageType, InMemoryMessageStore> messageStores = new ConcurrentHashMap<>();
         Function<MessageType, InMemoryMessageStore> messageStoreFactory = type -> messageStores.computeIfAbsent(
                 type, t -> {
@@ -31,12 +73,11 @@ public static InMemoryClient newInstance() {
                         case SCHEDULE:
                             return schedulingClient;
                         default:
-                            return new InMemoryMessageStore();
+                            return storeFactory.apply(t);
                     }
                 });
         return new InMemoryClient("inMemory", ManagementFactory.getRuntimeMXBean().getName(), messageStoreFactory,
-                                  messageStoreFactory, eventStoreClient, schedulingClient,
-                                  new InMemoryKeyValueClient());
+                                  messageStoreFactory, eventStoreClient, schedulingClient, keyValueClient);
     }
 
     private InMemoryClient(String name, String id,
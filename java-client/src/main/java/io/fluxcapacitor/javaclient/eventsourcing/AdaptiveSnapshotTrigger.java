@@ -0,0 +1,102 @@
+package io.fluxcapacitor.javaclient.eventsourcing;
+
+import io.fluxcapacitor.javaclient.common.Message;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.List;
+
+/*
+    Creates snapshots such that replaying the events after the latest snapshot is expected to stay within a replay
+    budget. The cost of replaying an event and of loading a snapshot is measured whenever a model of this type is
+    loaded. The snapshot period is derived from these measurements, so models with cheap events are snapshotted less
+    often than models with expensive events.
+
+    The sizes of fetched events and snapshots are measured as well. The period is never shorter than the number of
+    events it takes to fetch as many bytes as a snapshot. Snapshots of large models that replace only a few small
+    events would take longer to write and fetch than the events they replace.
+ */
+public class AdaptiveSnapshotTrigger implements SnapshotTrigger {
+    private static final double smoothingFactor = 0.2;
+
+    private final long replayBudgetNanos;
+    private final int minPeriod;
+    private final int maxPeriod;
+
+    private double nanosPerEvent = -1d;
+    private double bytesPerEvent = -1d;
+    private double snapshotBytes = -1d;
+    private double snapshotLoadNanos = -1d;
+    @Getter
+    private volatile int period;
+
+    public AdaptiveSnapshotTrigger(Duration replayBudget, int initialPeriod) {
+        this(replayBudget, initialPeriod, 10, 100_000);
+    }
+
+    public AdaptiveSnapshotTrigger(Duration replayBudget, int initialPeriod, int minPeriod, int maxPeriod) {
+        if (replayBudget.isNegative() || replayBudget.isZero()) {
+            throw new IllegalArgumentException("Replay budget should be positive");
+        }
+        if (minPeriod < 1 || maxPeriod < minPeriod) {
+            throw new IllegalArgumentException("Invalid period bounds");
+        }
+        this.replayBudgetNanos = replayBudget.toNanos();
+        this.minPeriod = minPeriod;
+        this.maxPeriod = maxPeriod;
+        this.period = Math.max(minPeriod, Math.min(maxPeriod, initialPeriod));
+    }
+
+    @Override
+    public boolean shouldCreateSnapshot(Aggregate<?> aggregate, List<Message> newEvents) {
+        int period = this.period;
+        return periodIndex(aggregate.getSequenceNumber(), period)
+                > periodIndex(aggregate.getSequenceNumber() - newEvents.size(), period);
+    }
+
+    @Override
+    public synchronized void onReplay(ReplayMetrics metrics) {
+        snapshotLoadNanos = smooth(snapshotLoadNanos, metrics.getSnapshotLoadTime().toNanos());
+        if (metrics.getSnapshotSize() > 0) {
+            snapshotBytes = smooth(snapshotBytes, metrics.getSnapshotSize());
+        }
+        if (metrics.getEventCount() > 0) {
+            nanosPerEvent = smooth(nanosPerEvent, (double) metrics.getReplayTime().toNanos() / metrics.getEventCount());
+            if (metrics.getByteCount() > 0) {
+                bytesPerEvent = smooth(bytesPerEvent, (double) metrics.getByteCount() / metrics.getEventCount());
+            }
+        }
+        if (nanosPerEvent > 0d) {
+            double availableNanos = Math.max(replayBudgetNanos - Math.max(snapshotLoadNanos, 0d), 0d);
+            double period = availableNanos / nanosPerEvent;
+            if (snapshotBytes > 0d && bytesPerEvent > 0d) {
+                period = Math.max(period, snapshotBytes / bytesPerEvent);
+            }
+            this.period = (int) Math.max(minPeriod, Math.min(maxPeriod, period));
+        }
+    }
+
+    public synchronized Duration getAverageEventReplayTime() {
+        return Duration.ofNanos((long) Math.max(nanosPerEvent, 0d));
+    }
+
+    public synchronized double getAverageEventSize() {
+        return Math.max(bytesPerEvent, 0d);
+    }
+
+    public synchronized double getAverageSnapshotSize() {
+        return Math.max(snapshotBytes, 0d);
+    }
+
+    public synchronized Duration getAverageSnapshotLoadTime() {
+        return Duration.ofNanos((long) Math.max(snapshotLoadNanos, 0d));
+    }
+
+    protected long periodIndex(long sequenceNumber, int period) {
+        return (sequenceNumber + 1) / period;
+    }
+
+    private static double smooth(double average, double value) {
+        return average < 0d ? value : average + smoothingFactor * (value - average);
+    }
+}
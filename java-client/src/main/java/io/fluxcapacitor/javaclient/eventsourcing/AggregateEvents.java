@@ -0,0 +1,14 @@
+package io.fluxcapacitor.javaclient.eventsourcing;
+
+import io.fluxcapacitor.javaclient.common.Message;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class AggregateEvents {
+    String aggregateId;
+    String domain;
+    long lastSequenceNumber;
+    List<Message> events;
+}
@@ -5,28 +5,83 @@
 import io.fluxcapacitor.common.handling.HandlerNotFoundException;
 import io.fluxcapacitor.common.handling.ParameterResolver;
 import io.fluxcapacitor.javaclient.common.Message;
+import io.fluxcapacitor.javaclient.common.serialization.DeserializingMessage;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.lang.String.format;
 
 public class AnnotatedEventSourcingHandler<T> implements EventSourcingHandler<T> {
 
     private final Class<T> handlerType;
     private final HandlerInvoker<Message> invoker;
+    private final boolean matchesOnPayloadType;
+    private final Map<Class<?>, Boolean> instanceDispatchTable = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Boolean> staticDispatchTable = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> serializedInstanceDispatchTable = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> serializedStaticDispatchTable = new ConcurrentHashMap<>();
 
     public AnnotatedEventSourcingHandler(Class<T> handlerType) {
         this(handlerType, Arrays.asList(new PayloadParameterResolver(), new MetadataParameterResolver(),
-                                        new MessageParameterResolver()));
+                                        new MessageParameterResolver()), true);
     }
 
     public AnnotatedEventSourcingHandler(Class<T> handlerType,
                                          List<ParameterResolver<? super Message>> parameterResolvers) {
+        this(handlerType, parameterResolvers, false);
+    }
+
+    /*
+        If handler methods are matched on payload type only (as is the case with the default parameter resolvers)
+        whether or not a handler exists is looked up once per payload type. Events without handler are then skipped
+        without searching the handler methods. Events replayed from the event store are looked up by serialized type, so
+        events without handler are skipped without being deserialized.
+     */
+    protected AnnotatedEventSourcingHandler(Class<T> handlerType,
+                                            List<ParameterResolver<? super Message>> parameterResolvers,
+                                            boolean matchesOnPayloadType) {
         this.handlerType = handlerType;
         this.invoker = HandlerInspector.inspect(handlerType, ApplyEvent.class, parameterResolvers);
+        this.matchesOnPayloadType = matchesOnPayloadType;
+    }
+
+    @Override
+    public T apply(DeserializingMessage event, T model) {
+        if (!matchesOnPayloadType) {
+            return apply(event.toMessage(), model);
+        }
+        Map<String, Boolean> dispatchTable = model == null ? serializedStaticDispatchTable
+                : serializedInstanceDispatchTable;
+        Boolean canHandle = dispatchTable.get(event.getType());
+        if (canHandle == null) {
+            Message message = event.toMessage();
+            if (message.getPayload() != null) {
+                dispatchTable.put(event.getType(), canHandle(message, model));
+            }
+            return apply(message, model);
+        }
+        if (!canHandle) {
+            if (model == null) {
+                throw new HandlerNotFoundException(
+                        format("No method found on %s that could handle %s", handlerType, event));
+            }
+            return model;
+        }
+        return apply(event.toMessage(), model);
     }
 
     @Override
     public T apply(Message message, T model) {
+        if (!canHandle(message, model)) {
+            if (model == null) {
+                throw new HandlerNotFoundException(
+                        format("No method found on %s that could handle %s", handlerType, message));
+            }
+            return model;
+        }
         Object result;
         try {
             result = invoker.invoke(model, message);
@@ -48,5 +103,17 @@ public T apply(Message message, T model) {
         return model; //apparently the model is mutable
     }
 
-
+    protected boolean canHandle(Message message, T model) {
+        if (!matchesOnPayloadType || message.getPayload() == null) {
+            return true;
+        }
+        Map<Class<?>, Boolean> dispatchTable = model == null ? staticDispatchTable : instanceDispatchTable;
+        Class<?> payloadType = message.getPayload().getClass();
+        Boolean result = dispatchTable.get(payloadType);
+        if (result == null) {
+            result = invoker.canHandle(model, message);
+            dispatchTable.put(payloadType, result);
+        }
+        return result;
+    }
 }
@@ -0,0 +1,212 @@
+package io.fluxcapacitor.javaclient.eventsourcing;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+
+/*
+    Stores snapshots on a background thread so serializing and sending a snapshot never delays the handler that
+    triggered it. Snapshots that are still pending are replaced by newer snapshots of the same aggregate, so only the
+    newest snapshot gets written. If the maximum number of pending aggregates is reached new snapshots are dropped.
+
+    Deleting a snapshot cancels its pending snapshot and waits for a store of the same aggregate that is in flight, so
+    a store that finishes late can't undo the delete.
+ */
+@Slf4j
+public class AsyncSnapshotRepository implements SnapshotRepository, AutoCloseable {
+
+    private final SnapshotRepository delegate;
+    private final int maxPendingSnapshots;
+    private final ExecutorService executor;
+    private final Map<String, Aggregate<?>> pendingSnapshots = new ConcurrentHashMap<>();
+    private final Map<String, Object> storesInFlight = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicLong storeCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+    private final AtomicLong totalStoreNanos = new AtomicLong();
+
+    public AsyncSnapshotRepository(SnapshotRepository delegate, int maxPendingSnapshots) {
+        this(delegate, maxPendingSnapshots, Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "AsyncSnapshotRepository");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /*
+        Snapshots of the same aggregate should not be stored concurrently, so the executor is expected to use a single
+        thread
+     */
+    public AsyncSnapshotRepository(SnapshotRepository delegate, int maxPendingSnapshots, ExecutorService executor) {
+        if (maxPendingSnapshots < 1) {
+            throw new IllegalArgumentException("Maximum number of pending snapshots should be at least 1");
+        }
+        this.delegate = delegate;
+        this.maxPendingSnapshots = maxPendingSnapshots;
+        this.executor = executor;
+    }
+
+    @Override
+    public void storeSnapshot(Aggregate<?> snapshot) {
+        String id = snapshot.getId();
+        if (pendingSnapshots.computeIfPresent(id, (k, v) -> snapshot) != null) {
+            coalescedCount.incrementAndGet();
+            return;
+        }
+        if (pendingCount.incrementAndGet() > maxPendingSnapshots) {
+            pendingCount.decrementAndGet();
+            droppedCount.incrementAndGet();
+            log.warn("Too many pending snapshots. Dropping snapshot of aggregate {}", id);
+            return;
+        }
+        if (pendingSnapshots.put(id, snapshot) != null) {
+            pendingCount.decrementAndGet();
+            coalescedCount.incrementAndGet();
+            return;
+        }
+        try {
+            executor.execute(() -> storePending(id));
+        } catch (RejectedExecutionException e) {
+            if (pendingSnapshots.remove(id) != null) {
+                pendingCount.decrementAndGet();
+            }
+            droppedCount.incrementAndGet();
+            log.warn("Snapshot executor rejected snapshot of aggregate {}", id);
+        }
+    }
+
+    /*
+        The store is registered as in flight before the pending snapshot is taken, so a delete that no longer finds the
+        pending snapshot is sure to find the store it has to wait for
+     */
+    private void storePending(String aggregateId) {
+        Object lock = new Object();
+        synchronized (lock) {
+            storesInFlight.put(aggregateId, lock);
+            try {
+                Aggregate<?> snapshot = pendingSnapshots.remove(aggregateId);
+                if (snapshot == null) {
+                    return;
+                }
+                pendingCount.decrementAndGet();
+                long start = System.nanoTime();
+                try {
+                    delegate.storeSnapshot(snapshot);
+                    storeCount.incrementAndGet();
+                    totalStoreNanos.addAndGet(System.nanoTime() - start);
+                } catch (Throwable e) {
+                    failureCount.incrementAndGet();
+                    log.error("Failed to store snapshot of aggregate {}", aggregateId, e);
+                }
+            } finally {
+                storesInFlight.remove(aggregateId, lock);
+            }
+        }
+    }
+
+    @Override
+    public <T> Optional<Aggregate<T>> getSnapshot(String aggregateId) {
+        return pendingOrStored(aggregateId, () -> delegate.getSnapshot(aggregateId));
+    }
+
+    /*
+        The size of a pending snapshot is unknown because it has not been serialized yet
+     */
+    @Override
+    public <T> Optional<Aggregate<T>> getSnapshot(String aggregateId, LongConsumer sizeConsumer) {
+        return pendingOrStored(aggregateId, () -> delegate.getSnapshot(aggregateId, sizeConsumer));
+    }
+
+    @Override
+    public <T> Map<String, Aggregate<T>> getSnapshots(Collection<String> aggregateIds) {
+        return pendingOrStored(aggregateIds, delegate::getSnapshots);
+    }
+
+    @Override
+    public <T> Map<String, Aggregate<T>> getSnapshots(Collection<String> aggregateIds,
+                                                       ObjLongConsumer<String> sizeConsumer) {
+        return pendingOrStored(aggregateIds, remaining -> delegate.getSnapshots(remaining, sizeConsumer));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Optional<Aggregate<T>> pendingOrStored(String aggregateId,
+                                                       Supplier<Optional<Aggregate<T>>> storedSnapshot) {
+        Aggregate<?> pending = pendingSnapshots.get(aggregateId);
+        return pending == null ? storedSnapshot.get() : Optional.of((Aggregate<T>) pending);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Map<String, Aggregate<T>> pendingOrStored(
+            Collection<String> aggregateIds, Function<List<String>, Map<String, Aggregate<T>>> storedSnapshots) {
+        Map<String, Aggregate<T>> result = new HashMap<>();
+        List<String> remaining = new ArrayList<>();
+        aggregateIds.forEach(id -> {
+            Aggregate<?> pending = pendingSnapshots.get(id);
+            if (pending == null) {
+                remaining.add(id);
+            } else {
+                result.put(id, (Aggregate<T>) pending);
+            }
+        });
+        if (!remaining.isEmpty()) {
+            result.putAll(storedSnapshots.apply(remaining));
+        }
+        return result;
+    }
+
+    @Override
+    public void deleteSnapshot(String aggregateId) {
+        if (pendingSnapshots.remove(aggregateId) != null) {
+            pendingCount.decrementAndGet();
+        }
+        Object storeInFlight = storesInFlight.get(aggregateId);
+        if (storeInFlight != null) {
+            synchronized (storeInFlight) {
+                delegate.deleteSnapshot(aggregateId);
+            }
+        } else {
+            delegate.deleteSnapshot(aggregateId);
+        }
+    }
+
+    public SnapshotStats getStats() {
+        return new SnapshotStats(pendingCount.get(), storeCount.get(), coalescedCount.get(), droppedCount.get(),
+                                 failureCount.get(), Duration.ofNanos(totalStoreNanos.get()));
+    }
+
+    /*
+        Stores all pending snapshots before shutting down the executor
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("Timed out while storing pending snapshots");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while storing pending snapshots");
+        }
+        pendingSnapshots.keySet().forEach(this::storePending);
+    }
+}
@@ -31,24 +31,30 @@ public class CacheInvalidatingInterceptor implements BatchInterceptor {
     @Override
     public Consumer<MessageBatch> intercept(Consumer<MessageBatch> consumer, Tracker tracker) {
         return batch -> {
-            if (shouldInvalidateCache(batch.getSegment())) {
-                log.info("Consumer segment changed. Invalidating event model caches.");
-                try {
-                    eventSourcing.invalidateCache();
-                } catch (Exception e) {
-                    log.error("Failed to invalidate event model cache", e);
-                }
+            int[] newSegment = batch.getSegment();
+            if (lastSegment != null && newSegment[0] != newSegment[1]) {
+                invalidate(lastSegment[0], Math.min(lastSegment[1], newSegment[0]));
+                invalidate(Math.max(lastSegment[0], newSegment[1]), lastSegment[1]);
             }
-            if (batch.getSegment()[0] != batch.getSegment()[1]) {
-                lastSegment = batch.getSegment();
+            if (newSegment[0] != newSegment[1]) {
+                lastSegment = newSegment;
             }
             consumer.accept(batch);
         };
     }
 
-    private boolean shouldInvalidateCache(int[] newSegment) {
-        return lastSegment != null
-                && newSegment[0] != newSegment[1]
-                && (newSegment[0] > lastSegment[0] || newSegment[1] < lastSegment[1]);
+    /*
+        Only invalidates the models in segments that are no longer handled by this tracker
+     */
+    private void invalidate(int segmentStart, int segmentEnd) {
+        if (segmentStart < segmentEnd) {
+            log.info("Consumer segment changed. Invalidating event model caches for segments [{}, {}).",
+                     segmentStart, segmentEnd);
+            try {
+                eventSourcing.invalidateCache(segmentStart, segmentEnd);
+            } catch (Exception e) {
+                log.error("Failed to invalidate event model cache", e);
+            }
+        }
     }
 }
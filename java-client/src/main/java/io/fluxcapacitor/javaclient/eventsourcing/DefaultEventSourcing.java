@@ -3,6 +3,8 @@
 import io.fluxcapacitor.common.handling.Handler;
 import io.fluxcapacitor.javaclient.common.Message;
 import io.fluxcapacitor.javaclient.common.caching.Cache;
+import io.fluxcapacitor.javaclient.common.caching.CacheConfiguration;
+import io.fluxcapacitor.javaclient.common.caching.DefaultCache;
 import io.fluxcapacitor.javaclient.common.caching.NoCache;
 import io.fluxcapacitor.javaclient.common.model.Model;
 import io.fluxcapacitor.javaclient.common.serialization.DeserializingMessage;
@@ -10,15 +12,22 @@
 import lombok.AllArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static java.lang.String.format;
 import static java.util.stream.Collectors.toList;
@@ -31,7 +40,14 @@ public class DefaultEventSourcing implements EventSourcing, HandlerInterceptor {
     private final EventStore eventStore;
     private final SnapshotRepository snapshotRepository;
     private final Cache cache;
+    private final Map<Class<?>, CacheConfiguration> cacheConfigurations;
+    private final Map<Class<?>, Cache> cacheRegions = new ConcurrentHashMap<>();
     private final ThreadLocal<Collection<EventSourcedModel<?>>> loadedModels = new ThreadLocal<>();
+    private final ThreadLocal<Map<String, PrefetchedModel<?>>> prefetchedModels = new ThreadLocal<>();
+
+    public DefaultEventSourcing(EventStore eventStore, SnapshotRepository snapshotRepository, Cache cache) {
+        this(eventStore, snapshotRepository, cache, Collections.emptyMap());
+    }
 
     @SuppressWarnings("unchecked")
     @Override
@@ -48,9 +64,59 @@ public <T> Model<T> load(String modelId, Class<T> modelType, boolean disableCach
         });
     }
 
+    /*
+        Snapshots of the models are fetched in a single request. Event streams of all models are requested before the
+        events of the first model are applied.
+     */
+    @Override
+    public <T> List<Model<T>> loadAll(Collection<String> ids, Class<T> modelType) {
+        Map<String, PrefetchedModel<?>> previous = prefetchedModels.get();
+        Map<String, PrefetchedModel<?>> prefetched = prefetch(ids, modelType);
+        prefetchedModels.set(prefetched);
+        try {
+            return ids.stream().map(id -> load(id, modelType)).collect(toList());
+        } finally {
+            prefetched.values().forEach(p -> p.getEvents().close());
+            if (previous == null) {
+                prefetchedModels.remove();
+            } else {
+                prefetchedModels.set(previous);
+            }
+        }
+    }
+
+    protected Map<String, PrefetchedModel<?>> prefetch(Collection<String> ids, Class<?> modelType) {
+        Cache cache = cache(modelType);
+        List<String> missing = ids.stream().distinct().filter(id -> cache.getIfPresent(id) == null).collect(toList());
+        if (missing.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        SnapshotRepository snapshotRepository = snapshotRepository(modelType);
+        Map<String, Long> snapshotSizes = new HashMap<>();
+        long start = System.nanoTime();
+        Map<String, Aggregate<Object>> snapshots = replayBudgetMillis(modelType) > 0
+                ? snapshotRepository.getSnapshots(missing, snapshotSizes::put)
+                : snapshotRepository.getSnapshots(missing);
+        Duration snapshotLoadTime = Duration.ofNanos((System.nanoTime() - start) / missing.size());
+        Map<String, PrefetchedModel<?>> result = new HashMap<>();
+        for (String id : missing) {
+            Aggregate<Object> snapshot = snapshots.getOrDefault(id, new Aggregate<>(id, -1L, null));
+            result.put(id, new PrefetchedModel<>(snapshot, snapshotSizes.getOrDefault(id, 0L), snapshotLoadTime,
+                                                 eventStore.getDomainEvents(id, snapshot.getSequenceNumber())));
+        }
+        return result;
+    }
+
     @Override
     public void invalidateCache() {
         cache.invalidateAll();
+        cacheRegions.values().forEach(Cache::invalidateAll);
+    }
+
+    @Override
+    public void invalidateCache(int segmentStart, int segmentEnd) {
+        cache.invalidateSegments(segmentStart, segmentEnd);
+        cacheRegions.values().forEach(c -> c.invalidateSegments(segmentStart, segmentEnd));
     }
 
     @Override
@@ -71,13 +137,20 @@ protected <T> EventSourcedModel<T> createEsModel(Class<T> modelType, String mode
             return id -> {
                 EventSourcedModel<T> eventSourcedModel =
                         new EventSourcedModel<>(eventSourcingHandler, cache, eventStore, snapshotRepository,
-                                                snapshotTrigger, domain, loadedModels.get() == null, id);
+                                                snapshotTrigger, domain, loadedModels.get() == null, id,
+                                                this.<T>takePrefetched(id));
                 eventSourcedModel.initialize();
                 return eventSourcedModel;
             };
         }).apply(modelId);
     }
 
+    @SuppressWarnings("unchecked")
+    protected <T> PrefetchedModel<T> takePrefetched(String id) {
+        Map<String, PrefetchedModel<?>> prefetched = prefetchedModels.get();
+        return prefetched == null ? null : (PrefetchedModel<T>) prefetched.remove(id);
+    }
+
     @Override
     public Function<DeserializingMessage, Object> interceptHandling(Function<DeserializingMessage, Object> function,
                                                                     Handler<DeserializingMessage> handler, String consumer) {
@@ -87,9 +160,7 @@ public Function<DeserializingMessage, Object> interceptHandling(Function<Deseria
             try {
                 Object result = function.apply(command);
                 try {
-                    while (!models.isEmpty()) {
-                        models.remove(models.size() - 1).commit();
-                    }
+                    commit(models);
                 } catch (Exception e) {
                     throw new EventSourcingException(
                             format("Failed to commit applied events after handling %s", command), e);
@@ -101,12 +172,38 @@ public Function<DeserializingMessage, Object> interceptHandling(Function<Deseria
         };
     }
 
+    /*
+        Stores the events of all modified models using a single request to the event store. Snapshots and cache updates
+        follow once the events have been stored.
+     */
+    protected void commit(List<EventSourcedModel<?>> models) {
+        List<EventSourcedModel<?>> modified = new ArrayList<>(models.size());
+        for (int i = models.size() - 1; i >= 0; i--) {
+            if (models.get(i).isModified()) {
+                modified.add(models.get(i));
+            }
+        }
+        models.clear();
+        switch (modified.size()) {
+            case 0:
+                return;
+            case 1:
+                modified.get(0).commit();
+                return;
+            default:
+                eventStore.storeDomainEvents(
+                        modified.stream().map(EventSourcedModel::getUnpublishedEvents).collect(toList()));
+                modified.forEach(EventSourcedModel::afterCommit);
+        }
+    }
+
     @SneakyThrows
     protected SnapshotRepository snapshotRepository(Class<?> modelType) {
         int frequency =
                 Optional.ofNullable(modelType.getAnnotation(EventSourced.class)).map(EventSourced::snapshotPeriod)
                         .orElse((int) EventSourced.class.getMethod("snapshotPeriod").getDefaultValue());
-        return frequency > 0 ? this.snapshotRepository : NoOpSnapshotRepository.INSTANCE;
+        return frequency > 0 || replayBudgetMillis(modelType) > 0
+                ? this.snapshotRepository : NoOpSnapshotRepository.INSTANCE;
     }
 
     @SneakyThrows
@@ -114,15 +211,37 @@ protected SnapshotTrigger snapshotTrigger(Class<?> modelType) {
         int frequency =
                 Optional.ofNullable(modelType.getAnnotation(EventSourced.class)).map(EventSourced::snapshotPeriod)
                         .orElse((int) EventSourced.class.getMethod("snapshotPeriod").getDefaultValue());
+        long replayBudget = replayBudgetMillis(modelType);
+        if (replayBudget > 0) {
+            return new AdaptiveSnapshotTrigger(Duration.ofMillis(replayBudget), frequency > 0 ? frequency : 100);
+        }
         return frequency > 0 ? new PeriodicSnapshotTrigger(frequency) : NoSnapshotTrigger.INSTANCE;
     }
 
+    protected long replayBudgetMillis(Class<?> modelType) {
+        return Optional.ofNullable(modelType.getAnnotation(EventSourced.class))
+                .map(EventSourced::replayBudgetMillis).orElse(0L);
+    }
+
     @SneakyThrows
     protected Cache cache(Class<?> modelType) {
         boolean cached =
                 Optional.ofNullable(modelType.getAnnotation(EventSourced.class)).map(EventSourced::cached)
                         .orElse((boolean) EventSourced.class.getMethod("cached").getDefaultValue());
-        return cached ? this.cache : NoCache.INSTANCE;
+        if (!cached) {
+            return NoCache.INSTANCE;
+        }
+        CacheConfiguration configuration = cacheConfigurations.get(modelType);
+        if (configuration == null) {
+            int cacheSize = Optional.ofNullable(modelType.getAnnotation(EventSourced.class))
+                    .map(EventSourced::cacheSize).orElse(0);
+            if (cacheSize <= 0) {
+                return this.cache;
+            }
+            configuration = CacheConfiguration.builder().maximumSize(cacheSize).build();
+        }
+        CacheConfiguration regionConfiguration = configuration;
+        return cacheRegions.computeIfAbsent(modelType, t -> new DefaultCache(regionConfiguration));
     }
 
     protected String domain(Class<?> modelType) {
@@ -142,26 +261,73 @@ protected String domain(Class<?> modelType) {
         private final List<Message> unpublishedEvents = new ArrayList<>();
         private final boolean readOnly;
         private final String id;
+        private final PrefetchedModel<T> prefetched;
         private Aggregate<T> aggregate;
 
         protected void initialize() {
             aggregate = cache.get(id, i -> {
-                Aggregate<T> aggregate = snapshotRepository.<T>getSnapshot(id).orElse(new Aggregate<>(id, -1L, null));
-                for (DeserializingMessage event : eventStore.getDomainEvents(id, aggregate.getSequenceNumber())
-                        .collect(toList())) {
-                    aggregate = aggregate.update(m -> {
-                        DeserializingMessage current = DeserializingMessage.getCurrent();
-                        try {
-                            DeserializingMessage.setCurrent(event);
-                            return eventSourcingHandler.apply(event.toMessage(), m);
-                        } finally {
-                            DeserializingMessage.setCurrent(current);
-                        }
-                    });
+                if (prefetched != null) {
+                    try (Stream<DeserializingMessage> events = prefetched.getEvents()) {
+                        return replay(prefetched.getSnapshot(), events.iterator(), prefetched.getSnapshotSize(),
+                                      prefetched.getSnapshotLoadTime());
+                    }
+                }
+                AtomicLong snapshotSize = new AtomicLong();
+                long start = System.nanoTime();
+                Aggregate<T> aggregate = (measuresCost() ? snapshotRepository.<T>getSnapshot(id, snapshotSize::set)
+                        : snapshotRepository.<T>getSnapshot(id)).orElse(new Aggregate<>(id, -1L, null));
+                Duration snapshotLoadTime = Duration.ofNanos(System.nanoTime() - start);
+                try (Stream<DeserializingMessage> events =
+                             eventStore.getDomainEvents(id, aggregate.getSequenceNumber())) {
+                    return replay(aggregate, events.iterator(), snapshotSize.get(), snapshotLoadTime);
                 }
-                return aggregate;
             });
         }
+
+        /*
+            Applies the events to the model while keeping track of the model and sequence number in local variables.
+            Only a single aggregate is created once all events have been applied. The cost of the replay is reported to
+            the snapshot trigger. Event sizes are only measured for an adaptive trigger and only for events that have
+            been deserialized, so payloads of skipped or claim checked events are never fetched just to be measured.
+         */
+        protected Aggregate<T> replay(Aggregate<T> aggregate, Iterator<DeserializingMessage> events,
+                                      long snapshotSize, Duration snapshotLoadTime) {
+            long start = System.nanoTime();
+            if (!events.hasNext()) {
+                snapshotTrigger.onReplay(new ReplayMetrics(0L, 0L, snapshotSize, snapshotLoadTime,
+                                                           Duration.ofNanos(System.nanoTime() - start)));
+                return aggregate;
+            }
+            T model = aggregate.getModel();
+            long sequenceNumber = aggregate.getSequenceNumber();
+            boolean measureBytes = measuresCost();
+            long measuredBytes = 0L, measuredEvents = 0L;
+            DeserializingMessage current = DeserializingMessage.getCurrent();
+            try {
+                while (events.hasNext()) {
+                    DeserializingMessage event = events.next();
+                    DeserializingMessage.setCurrent(event);
+                    model = eventSourcingHandler.apply(event, model);
+                    sequenceNumber++;
+                    if (measureBytes && event.isDeserialized()) {
+                        byte[] bytes = event.getSerializedObject().data().getValue();
+                        measuredBytes += bytes == null ? 0 : bytes.length;
+                        measuredEvents++;
+                    }
+                }
+            } finally {
+                DeserializingMessage.setCurrent(current);
+            }
+            long eventCount = sequenceNumber - aggregate.getSequenceNumber();
+            long byteCount = measuredEvents == 0L ? 0L : measuredBytes * eventCount / measuredEvents;
+            snapshotTrigger.onReplay(new ReplayMetrics(eventCount, byteCount, snapshotSize, snapshotLoadTime,
+                                                       Duration.ofNanos(System.nanoTime() - start)));
+            return new Aggregate<>(aggregate.getId(), sequenceNumber, model);
+        }
+
+        protected boolean measuresCost() {
+            return snapshotTrigger instanceof AdaptiveSnapshotTrigger;
+        }
         
         @Override
         public Model<T> apply(Message message) {
@@ -183,16 +349,37 @@ public long getSequenceNumber() {
             return aggregate.getSequenceNumber();
         }
 
+        protected boolean isModified() {
+            return !unpublishedEvents.isEmpty();
+        }
+
+        protected AggregateEvents getUnpublishedEvents() {
+            return new AggregateEvents(aggregate.getId(), domain, aggregate.getSequenceNumber(),
+                                       new ArrayList<>(unpublishedEvents));
+        }
+
         protected void commit() {
-            if (!unpublishedEvents.isEmpty()) {
-                cache.put(aggregate.getId(), aggregate);
+            if (isModified()) {
                 eventStore.storeDomainEvents(aggregate.getId(), domain, aggregate.getSequenceNumber(),
                                              new ArrayList<>(unpublishedEvents));
-                if (snapshotTrigger.shouldCreateSnapshot(aggregate, unpublishedEvents)) {
-                    snapshotRepository.storeSnapshot(aggregate);
-                }
-                unpublishedEvents.clear();
+                afterCommit();
+            }
+        }
+
+        protected void afterCommit() {
+            cache.put(aggregate.getId(), aggregate);
+            if (snapshotTrigger.shouldCreateSnapshot(aggregate, unpublishedEvents)) {
+                snapshotRepository.storeSnapshot(aggregate);
             }
+            unpublishedEvents.clear();
         }
     }
+
+    @Value
+    protected static class PrefetchedModel<T> {
+        Aggregate<T> snapshot;
+        long snapshotSize;
+        Duration snapshotLoadTime;
+        Stream<DeserializingMessage> events;
+    }
 }
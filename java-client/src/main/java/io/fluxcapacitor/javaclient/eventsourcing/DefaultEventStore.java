@@ -3,6 +3,7 @@
 import io.fluxcapacitor.common.ConsistentHashing;
 import io.fluxcapacitor.common.Registration;
 import io.fluxcapacitor.common.api.SerializedMessage;
+import io.fluxcapacitor.common.api.eventsourcing.EventBatch;
 import io.fluxcapacitor.common.handling.Handler;
 import io.fluxcapacitor.javaclient.common.Message;
 import io.fluxcapacitor.javaclient.common.serialization.DeserializingMessage;
@@ -19,6 +20,7 @@
 
 import static io.fluxcapacitor.common.MessageType.EVENT;
 import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
 
 @AllArgsConstructor
 public class DefaultEventStore implements EventStore {
@@ -32,19 +34,38 @@ public class DefaultEventStore implements EventStore {
     public void storeDomainEvents(String aggregateId, String domain, long lastSequenceNumber,
                                   List<Message> events) {
         try {
-            int segment = ConsistentHashing.computeSegment(aggregateId);
-            List<SerializedMessage> messages = new ArrayList<>(events.size());
-            events.forEach(e -> {
-                SerializedMessage message = serializer.serialize(e).withSegment(segment);
-                messages.add(message);
-                tryHandleLocally(e.getPayload(), message);
-            });
-            client.storeEvents(aggregateId, domain, lastSequenceNumber, messages).await();
+            client.storeEvents(aggregateId, domain, lastSequenceNumber, serialize(aggregateId, events)).await();
         } catch (Exception e) {
             throw new EventSourcingException(format("Failed to store events %s for aggregate %s", events, aggregateId), e);
         }
     }
 
+    @Override
+    public void storeDomainEvents(List<AggregateEvents> aggregateEvents) {
+        try {
+            List<EventBatch> batches = new ArrayList<>(aggregateEvents.size());
+            for (AggregateEvents a : aggregateEvents) {
+                batches.add(new EventBatch(a.getAggregateId(), a.getDomain(), a.getLastSequenceNumber(),
+                                           serialize(a.getAggregateId(), a.getEvents())));
+            }
+            client.storeEvents(batches).await();
+        } catch (Exception e) {
+            throw new EventSourcingException(format("Failed to store events for aggregates %s", aggregateEvents.stream()
+                    .map(AggregateEvents::getAggregateId).collect(toList())), e);
+        }
+    }
+
+    protected List<SerializedMessage> serialize(String aggregateId, List<Message> events) {
+        int segment = ConsistentHashing.computeSegment(aggregateId);
+        List<SerializedMessage> messages = new ArrayList<>(events.size());
+        events.forEach(e -> {
+            SerializedMessage message = serializer.serialize(e).withSegment(segment);
+            messages.add(message);
+            tryHandleLocally(e.getPayload(), message);
+        });
+        return messages;
+    }
+
     @Override
     public Stream<DeserializingMessage> getDomainEvents(String aggregateId, long lastSequenceNumber) {
         try {
@@ -1,15 +1,22 @@
 package io.fluxcapacitor.javaclient.eventsourcing;
 
 import io.fluxcapacitor.common.Guarantee;
+import io.fluxcapacitor.common.api.Data;
 import io.fluxcapacitor.javaclient.common.serialization.SerializationException;
 import io.fluxcapacitor.javaclient.common.serialization.Serializer;
 import io.fluxcapacitor.javaclient.keyvalue.client.KeyValueClient;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.LongConsumer;
+import java.util.function.ObjLongConsumer;
 
 import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
 
 @Slf4j
 @AllArgsConstructor
@@ -29,8 +36,18 @@ public void storeSnapshot(Aggregate<?> snapshot) {
 
     @Override
     public <T> Optional<Aggregate<T>> getSnapshot(String aggregateId) {
+        return getSnapshot(aggregateId, size -> {});
+    }
+
+    @Override
+    public <T> Optional<Aggregate<T>> getSnapshot(String aggregateId, LongConsumer sizeConsumer) {
         try {
-            return Optional.ofNullable(keyValueClient.getValue(snapshotKey(aggregateId))).map(serializer::deserialize);
+            Data<byte[]> value = keyValueClient.getValue(snapshotKey(aggregateId));
+            if (value == null) {
+                return Optional.empty();
+            }
+            sizeConsumer.accept(value.getValue().length);
+            return Optional.of(serializer.deserialize(value));
         } catch (SerializationException e) {
             log.warn("Failed to deserialize snapshot for {}. Deleting snapshot.", aggregateId, e);
             deleteSnapshot(aggregateId);
@@ -40,6 +57,37 @@ public <T> Optional<Aggregate<T>> getSnapshot(String aggregateId) {
         }
     }
 
+    @Override
+    public <T> Map<String, Aggregate<T>> getSnapshots(Collection<String> aggregateIds) {
+        return getSnapshots(aggregateIds, (id, size) -> {});
+    }
+
+    @Override
+    public <T> Map<String, Aggregate<T>> getSnapshots(Collection<String> aggregateIds,
+                                                       ObjLongConsumer<String> sizeConsumer) {
+        Map<String, Data<byte[]>> values;
+        try {
+            values = keyValueClient.getValues(aggregateIds.stream().map(this::snapshotKey).collect(toList()));
+        } catch (Exception e) {
+            throw new EventSourcingException(format("Failed to obtain snapshots for aggregates %s", aggregateIds), e);
+        }
+        Map<String, Aggregate<T>> result = new HashMap<>();
+        for (String aggregateId : aggregateIds) {
+            Data<byte[]> value = values.get(snapshotKey(aggregateId));
+            if (value == null) {
+                continue;
+            }
+            sizeConsumer.accept(aggregateId, value.getValue().length);
+            try {
+                result.put(aggregateId, serializer.deserialize(value));
+            } catch (SerializationException e) {
+                log.warn("Failed to deserialize snapshot for {}. Deleting snapshot.", aggregateId, e);
+                deleteSnapshot(aggregateId);
+            }
+        }
+        return result;
+    }
+
     @Override
     public void deleteSnapshot(String aggregateId) {
         try {
@@ -9,5 +9,7 @@
 public @interface EventSourced {
     String domain() default "";
     int snapshotPeriod() default 0;
+    long replayBudgetMillis() default 0;
     boolean cached() default false;
+    int cacheSize() default 0;
 }
@@ -2,6 +2,11 @@
 
 import io.fluxcapacitor.javaclient.common.model.Model;
 
+import java.util.Collection;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+
 public interface EventSourcing {
 
     default <T> Model<T> load(String id, Class<T> modelType) {
@@ -10,8 +15,14 @@ default <T> Model<T> load(String id, Class<T> modelType) {
 
     <T> Model<T> load(String id, Class<T> modelType, boolean disableCaching, boolean disableSnapshotting);
 
+    default <T> List<Model<T>> loadAll(Collection<String> ids, Class<T> modelType) {
+        return ids.stream().map(id -> load(id, modelType)).collect(toList());
+    }
+
     void invalidateCache();
 
+    void invalidateCache(int segmentStart, int segmentEnd);
+
     EventStore eventStore();
 
 }
@@ -1,8 +1,17 @@
 package io.fluxcapacitor.javaclient.eventsourcing;
 
 import io.fluxcapacitor.javaclient.common.Message;
+import io.fluxcapacitor.javaclient.common.serialization.DeserializingMessage;
 
 @FunctionalInterface
 public interface EventSourcingHandler<T> {
     T apply(Message message, T model);
+
+    /*
+        Applies an event that was read from the event store. Implementations may use the serialized type of the event to
+        skip events they can't handle without deserializing them.
+     */
+    default T apply(DeserializingMessage event, T model) {
+        return apply(event.toMessage(), model);
+    }
 }
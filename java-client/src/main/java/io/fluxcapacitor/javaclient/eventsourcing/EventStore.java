@@ -17,6 +17,11 @@ default void storeDomainEvents(String aggregateId, String domain, long lastSeque
 
     void storeDomainEvents(String aggregateId, String domain, long lastSequenceNumber, List<Message> events);
 
+    default void storeDomainEvents(List<AggregateEvents> aggregateEvents) {
+        aggregateEvents.forEach(a -> storeDomainEvents(a.getAggregateId(), a.getDomain(), a.getLastSequenceNumber(),
+                                                       a.getEvents()));
+    }
+
     default Stream<DeserializingMessage> getDomainEvents(String aggregateId) {
         return getDomainEvents(aggregateId, -1L);
     }
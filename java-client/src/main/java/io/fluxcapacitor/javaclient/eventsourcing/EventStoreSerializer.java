@@ -23,22 +23,29 @@
 import lombok.AllArgsConstructor;
 
 import java.util.function.Function;
+import java.util.function.UnaryOperator;
 import java.util.stream.Stream;
 
 @AllArgsConstructor
 public class EventStoreSerializer {
     private final Function<Message, SerializedMessage> serializer;
     private final Serializer deserializer;
+    private final UnaryOperator<SerializedMessage> messageResolver;
 
-    public EventStoreSerializer(Serializer serializer, DispatchInterceptor dispatchInterceptor) {
+    public EventStoreSerializer(Serializer serializer, DispatchInterceptor dispatchInterceptor,
+                                UnaryOperator<SerializedMessage> messageResolver) {
         this(dispatchInterceptor.interceptDispatch(
                 m -> new SerializedMessage(serializer.serialize(m.getPayload()), m.getMetadata(), m.getMessageId())),
-             serializer);
+             serializer, messageResolver);
+    }
+
+    public EventStoreSerializer(Serializer serializer, DispatchInterceptor dispatchInterceptor) {
+        this(serializer, dispatchInterceptor, UnaryOperator.identity());
     }
 
     public EventStoreSerializer(Serializer serializer) {
         this(m -> new SerializedMessage(serializer.serialize(m.getPayload()), m.getMetadata(), m.getMessageId()),
-             serializer);
+             serializer, UnaryOperator.identity());
     }
 
     public SerializedMessage serialize(Message message) {
@@ -46,7 +53,7 @@ public SerializedMessage serialize(Message message) {
     }
 
     public Stream<DeserializingMessage> deserializeDomainEvents(Stream<SerializedMessage> messageStream) {
-        return deserializer.deserialize(messageStream, true)
+        return deserializer.deserialize(messageStream.map(messageResolver), true)
                 .map(m -> new DeserializingMessage(m, MessageType.EVENT));
     }
 }
@@ -0,0 +1,76 @@
+package io.fluxcapacitor.javaclient.eventsourcing;
+
+import io.fluxcapacitor.common.api.SerializedMessage;
+import io.fluxcapacitor.common.api.tracking.MessageBatch;
+import io.fluxcapacitor.javaclient.FluxCapacitor;
+import io.fluxcapacitor.javaclient.publishing.routing.RoutingKeyMetadataInterceptor;
+import io.fluxcapacitor.javaclient.tracking.BatchInterceptor;
+import io.fluxcapacitor.javaclient.tracking.Tracker;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/*
+    Loads the models targeted by the messages in a batch before the batch is handled. Models that are not yet cached
+    are then loaded using bulk requests, after which handlers mostly find their models in the cache. Prefetching is
+    skipped for models that are not cached, as the prefetched models would be loaded again by the handlers.
+
+    Register the interceptor using FluxCapacitorBuilder#enableModelPrefetching or add it to the tracking
+    configuration of a consumer.
+ */
+@Slf4j
+public class ModelPrefetchingInterceptor implements BatchInterceptor {
+    private final Class<?> modelType;
+    private final Function<SerializedMessage, Optional<String>> modelIdResolver;
+    private final boolean cached;
+
+    public ModelPrefetchingInterceptor(Class<?> modelType,
+                                       Function<SerializedMessage, Optional<String>> modelIdResolver) {
+        this.modelType = modelType;
+        this.modelIdResolver = modelIdResolver;
+        this.cached = Optional.ofNullable(modelType.getAnnotation(EventSourced.class))
+                .map(EventSourced::cached).orElse(false);
+        if (!cached) {
+            log.warn("Models of type {} are not cached. Models will not be prefetched.", modelType);
+        }
+    }
+
+    /*
+        Uses the routing key that the RoutingKeyMetadataInterceptor added to the metadata as model id. The payload is
+        not deserialized, so messages without routing key in their metadata are not prefetched.
+     */
+    public static ModelPrefetchingInterceptor usingRoutingKey(Class<?> modelType) {
+        return new ModelPrefetchingInterceptor(modelType, message -> Optional.ofNullable(
+                message.getMetadata().get(RoutingKeyMetadataInterceptor.METADATA_KEY)));
+    }
+
+    @Override
+    public Consumer<MessageBatch> intercept(Consumer<MessageBatch> consumer, Tracker tracker) {
+        if (!cached) {
+            return consumer;
+        }
+        return batch -> {
+            Set<String> ids = new LinkedHashSet<>();
+            batch.getMessages().forEach(m -> {
+                try {
+                    modelIdResolver.apply(m).ifPresent(ids::add);
+                } catch (Exception e) {
+                    log.warn("Failed to resolve id of model of type {} for message {}. Not prefetching the model.",
+                             modelType, m.getMessageId(), e);
+                }
+            });
+            if (!ids.isEmpty()) {
+                try {
+                    FluxCapacitor.get().eventSourcing().loadAll(ids, modelType);
+                } catch (Exception e) {
+                    log.warn("Failed to prefetch models of type {}. Continuing with batch.", modelType, e);
+                }
+            }
+            consumer.accept(batch);
+        };
+    }
+}
@@ -0,0 +1,14 @@
+package io.fluxcapacitor.javaclient.eventsourcing;
+
+import lombok.Value;
+
+import java.time.Duration;
+
+@Value
+public class ReplayMetrics {
+    long eventCount;
+    long byteCount;
+    long snapshotSize;
+    Duration snapshotLoadTime;
+    Duration replayTime;
+}
@@ -1,6 +1,11 @@
 package io.fluxcapacitor.javaclient.eventsourcing;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.LongConsumer;
+import java.util.function.ObjLongConsumer;
 
 public interface SnapshotRepository {
 
@@ -8,6 +13,27 @@ public interface SnapshotRepository {
 
     <T> Optional<Aggregate<T>> getSnapshot(String aggregateId);
 
+    /*
+        Like getSnapshot but also passes the size in bytes of the serialized snapshot to the consumer if it is known
+     */
+    default <T> Optional<Aggregate<T>> getSnapshot(String aggregateId, LongConsumer sizeConsumer) {
+        return getSnapshot(aggregateId);
+    }
+
+    default <T> Map<String, Aggregate<T>> getSnapshots(Collection<String> aggregateIds) {
+        Map<String, Aggregate<T>> result = new HashMap<>();
+        aggregateIds.forEach(id -> this.<T>getSnapshot(id).ifPresent(a -> result.put(id, a)));
+        return result;
+    }
+
+    /*
+        Like getSnapshots but also passes the size in bytes of each serialized snapshot to the consumer if it is known
+     */
+    default <T> Map<String, Aggregate<T>> getSnapshots(Collection<String> aggregateIds,
+                                                       ObjLongConsumer<String> sizeConsumer) {
+        return getSnapshots(aggregateIds);
+    }
+
     void deleteSnapshot(String aggregateId);
 
 }
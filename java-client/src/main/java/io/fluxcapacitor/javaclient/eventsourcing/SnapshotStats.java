@@ -0,0 +1,20 @@
+package io.fluxcapacitor.javaclient.eventsourcing;
+
+import lombok.Value;
+
+import java.time.Duration;
+
+@Value
+public class SnapshotStats {
+
+    long pendingCount;
+    long storeCount;
+    long coalescedCount;
+    long droppedCount;
+    long failureCount;
+    Duration totalStoreTime;
+
+    public Duration getAverageStoreTime() {
+        return storeCount == 0L ? Duration.ZERO : totalStoreTime.dividedBy(storeCount);
+    }
+}
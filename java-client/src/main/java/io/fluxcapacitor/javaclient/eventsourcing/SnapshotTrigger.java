@@ -9,4 +9,10 @@ public interface SnapshotTrigger {
 
     boolean shouldCreateSnapshot(Aggregate<?> aggregate, List<Message> newEvents);
 
+    /*
+        Invoked after a model was loaded from its latest snapshot and the events that followed it
+     */
+    default void onReplay(ReplayMetrics metrics) {
+    }
+
 }
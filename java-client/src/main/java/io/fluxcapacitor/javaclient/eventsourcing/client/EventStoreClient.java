@@ -16,6 +16,7 @@
 
 import io.fluxcapacitor.common.Awaitable;
 import io.fluxcapacitor.common.api.SerializedMessage;
+import io.fluxcapacitor.common.api.eventsourcing.EventBatch;
 
 import java.util.List;
 import java.util.stream.Stream;
@@ -24,6 +25,12 @@ public interface EventStoreClient extends AutoCloseable {
 
     Awaitable storeEvents(String aggregateId, String domain, long lastSequenceNumber,
                           List<SerializedMessage> events);
+
+    default Awaitable storeEvents(List<EventBatch> eventBatches) {
+        return eventBatches.stream().map(b -> storeEvents(b.getAggregateId(), b.getDomain(),
+                                                          b.getLastSequenceNumber(), b.getEvents()))
+                .reduce(Awaitable::join).orElse(Awaitable.ready());
+    }
     
     default Stream<SerializedMessage> getEvents(String aggregateId) {
         return getEvents(aggregateId, -1L);
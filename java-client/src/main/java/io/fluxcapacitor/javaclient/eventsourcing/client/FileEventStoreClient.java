@@ -0,0 +1,181 @@
+package io.fluxcapacitor.javaclient.eventsourcing.client;
+
+import io.fluxcapacitor.common.Awaitable;
+import io.fluxcapacitor.common.api.SerializedMessage;
+import io.fluxcapacitor.common.api.eventsourcing.EventBatch;
+import io.fluxcapacitor.javaclient.tracking.client.FileMessageLog;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/*
+    Keeps events and the positions of their consumers in a FileMessageLog, so they survive restarts. The events of
+    each aggregate are indexed in memory like in the in-memory event store. To rebuild that index on startup, the
+    aggregate id, last sequence number and message indexes of each stored batch are appended to a journal once the
+    batch has been added to the log. A batch that was added to the log but not to the journal before a crash can still
+    be tracked, but is not returned as part of its aggregate.
+
+    Each journal record consists of a header (length and checksum of the body) followed by the body. On startup the
+    journal is read up to the first record that is incomplete or has an invalid checksum and truncated there.
+ */
+public class FileEventStoreClient extends InMemoryEventStoreClient {
+
+    private static final String JOURNAL_FILE = "aggregates.journal";
+    private static final int HEADER_SIZE = 8;
+
+    private final FileMessageLog log;
+    private final FileChannel journal;
+    private final boolean forceOnSend;
+
+    public FileEventStoreClient(File directory) {
+        this(directory, FileMessageLog.DEFAULT_SEGMENT_SIZE, false);
+    }
+
+    /*
+        If force on send is enabled events and journal records are flushed to disk after each batch, so they also
+        survive a crash of the machine
+     */
+    public FileEventStoreClient(File directory, int segmentSize, boolean forceOnSend) {
+        this.log = new FileMessageLog(directory, segmentSize, forceOnSend);
+        this.forceOnSend = forceOnSend;
+        try {
+            this.journal = FileChannel.open(new File(directory, JOURNAL_FILE).toPath(), CREATE, READ, WRITE);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open aggregate journal in " + directory, e);
+        }
+        if (log.getLastIndex() >= 0L) {
+            resumeAfter(log.getLastIndex(), log.getMessageCount(), log.getMessageBytes());
+        }
+    }
+
+    @Override
+    public Awaitable storeEvents(String aggregateId, String domain, long lastSequenceNumber,
+                                 List<SerializedMessage> events) {
+        Awaitable result = super.storeEvents(aggregateId, domain, lastSequenceNumber, events);
+        try {
+            appendToJournal(aggregateId, lastSequenceNumber, events);
+        } catch (IOException e) {
+            return Awaitable.failed(e);
+        }
+        return result;
+    }
+
+    @Override
+    public Awaitable storeEvents(List<EventBatch> eventBatches) {
+        Awaitable result = super.storeEvents(eventBatches);
+        try {
+            for (EventBatch batch : eventBatches) {
+                appendToJournal(batch.getAggregateId(), batch.getLastSequenceNumber(), batch.getEvents());
+            }
+        } catch (IOException e) {
+            return Awaitable.failed(e);
+        }
+        return result;
+    }
+
+    @Override
+    protected void store(SerializedMessage message) {
+        log.append(message);
+    }
+
+    @Override
+    protected Iterator<SerializedMessage> iterate(long afterIndex, long maxIndex) {
+        return log.iterate(afterIndex, maxIndex);
+    }
+
+    @Override
+    protected long[] loadPositions(String consumer) {
+        return log.loadPositions(consumer);
+    }
+
+    @Override
+    protected void savePositions(String consumer, long[] positions) {
+        log.savePositions(consumer, positions);
+    }
+
+    @Override
+    public synchronized void close() {
+        log.close();
+        try {
+            journal.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not close aggregate journal", e);
+        }
+    }
+
+    /*
+        Journal record encoding: aggregate id, last sequence number, number of events, index of each event
+     */
+
+    private synchronized void appendToJournal(String aggregateId, long lastSequenceNumber,
+                                              List<SerializedMessage> events) throws IOException {
+        if (events.isEmpty()) {
+            return;
+        }
+        byte[] id = aggregateId.getBytes(UTF_8);
+        ByteBuffer body = ByteBuffer.allocate(4 + id.length + 8 + 4 + 8 * events.size());
+        body.putInt(id.length).put(id).putLong(lastSequenceNumber).putInt(events.size());
+        events.forEach(e -> body.putLong(e.getIndex()));
+        body.flip();
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + body.remaining());
+        record.putInt(body.remaining()).putInt(checksum(body)).put(body);
+        record.flip();
+        while (record.hasRemaining()) {
+            journal.write(record);
+        }
+        if (forceOnSend) {
+            journal.force(false);
+        }
+    }
+
+    private void recover() throws IOException {
+        Map<Long, SerializedMessage> messages = new HashMap<>();
+        log.iterate(-1L, log.getLastIndex()).forEachRemaining(m -> messages.put(m.getIndex(), m));
+        ByteBuffer buffer = journal.map(FileChannel.MapMode.READ_ONLY, 0, journal.size());
+        int position = 0;
+        while (position <= buffer.capacity() - HEADER_SIZE) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || length > buffer.capacity() - position - HEADER_SIZE) {
+                break;
+            }
+            ByteBuffer body = buffer.duplicate();
+            body.position(position + HEADER_SIZE).limit(position + HEADER_SIZE + length);
+            body = body.slice();
+            if (checksum(body) != buffer.getInt(position + 4)) {
+                break;
+            }
+            byte[] id = new byte[body.getInt()];
+            body.get(id);
+            long lastSequenceNumber = body.getLong();
+            List<SerializedMessage> events = new ArrayList<>();
+            for (int i = body.getInt(); i > 0; i--) {
+                events.add(messages.get(body.getLong()));
+            }
+            indexEvents(new String(id, UTF_8), lastSequenceNumber, events);
+            position += HEADER_SIZE + length;
+        }
+        journal.truncate(position);
+        journal.position(position);
+    }
+
+    private static int checksum(ByteBuffer body) {
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+        return (int) crc.getValue();
+    }
+}
@@ -18,42 +18,108 @@
 import io.fluxcapacitor.common.api.SerializedMessage;
 import io.fluxcapacitor.common.api.eventsourcing.EventBatch;
 import io.fluxcapacitor.javaclient.tracking.client.InMemoryMessageStore;
+import io.fluxcapacitor.javaclient.tracking.client.RetentionConfiguration;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
+/*
+    Keeps the events of each aggregate in an array indexed by sequence number, so events following a given sequence
+    number are found without scanning the aggregate's history. The arrays refer to the same message instances as the
+    message log of the store.
+ */
 public class InMemoryEventStoreClient extends InMemoryMessageStore implements EventStoreClient {
 
-    private final Map<String, List<EventBatch>> domainEvents = new ConcurrentHashMap<>();
+    private final Map<String, DomainEvents> domainEvents = new ConcurrentHashMap<>();
+
+    public InMemoryEventStoreClient() {
+        this(RetentionConfiguration.UNLIMITED);
+    }
+
+    /*
+        The retention configuration only applies to the message log used for tracking. Events of aggregates are
+        always kept.
+     */
+    public InMemoryEventStoreClient(RetentionConfiguration retention) {
+        super(retention);
+    }
 
     @Override
     public Awaitable storeEvents(String aggregateId, String domain, long lastSequenceNumber,
                                  List<SerializedMessage> events) {
-        domainEvents.compute(aggregateId, (id, list) -> {
-            if (list == null) {
-                list = new ArrayList<>();
-            }
-            list.add(new EventBatch(aggregateId, domain, lastSequenceNumber, events));
-            return list;
-        });
+        indexEvents(aggregateId, lastSequenceNumber, events);
+        return super.send(events.toArray(new SerializedMessage[0]));
+    }
+
+    @Override
+    public Awaitable storeEvents(List<EventBatch> eventBatches) {
+        List<SerializedMessage> events = new ArrayList<>();
+        for (EventBatch batch : eventBatches) {
+            indexEvents(batch.getAggregateId(), batch.getLastSequenceNumber(), batch.getEvents());
+            events.addAll(batch.getEvents());
+        }
         return super.send(events.toArray(new SerializedMessage[0]));
     }
 
     @Override
     public Stream<SerializedMessage> getEvents(String aggregateId, long lastSequenceNumber) {
-        return domainEvents.getOrDefault(aggregateId, Collections.emptyList()).stream()
-                .filter(batch -> batch.getLastSequenceNumber() > lastSequenceNumber)
-                .flatMap(batch -> {
-                    List<SerializedMessage> events = batch.getEvents();
-                    if (batch.getFirstSequenceNumber() > lastSequenceNumber) {
-                        return events.stream();
-                    }
-                    return events.stream().skip(lastSequenceNumber - batch.getFirstSequenceNumber() + 1);
-                });
+        DomainEvents events = domainEvents.get(aggregateId);
+        return events == null ? Stream.empty() : events.getEventsAfter(lastSequenceNumber);
     }
 
+    /*
+        Adds events to the events of an aggregate without adding them to the message log, e.g. when events are
+        recovered from disk
+     */
+    protected void indexEvents(String aggregateId, long lastSequenceNumber, List<SerializedMessage> events) {
+        domainEvents.computeIfAbsent(aggregateId, id -> new DomainEvents()).append(lastSequenceNumber, events);
+    }
+
+    private static class DomainEvents {
+        private SerializedMessage[] events = new SerializedMessage[8];
+        private long firstSequenceNumber;
+        private int size;
+
+        synchronized void append(long lastSequenceNumber, List<SerializedMessage> batch) {
+            if (batch.isEmpty()) {
+                return;
+            }
+            long batchStart = lastSequenceNumber - batch.size() + 1;
+            if (size == 0) {
+                firstSequenceNumber = batchStart;
+            } else if (batchStart < firstSequenceNumber) {
+                int shift = (int) (firstSequenceNumber - batchStart);
+                ensureCapacity(size + shift);
+                System.arraycopy(events, 0, events, shift, size);
+                Arrays.fill(events, 0, shift, null);
+                firstSequenceNumber = batchStart;
+                size += shift;
+            }
+            int offset = (int) (batchStart - firstSequenceNumber);
+            ensureCapacity(offset + batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                events[offset + i] = batch.get(i);
+            }
+            size = Math.max(size, offset + batch.size());
+        }
+
+        synchronized Stream<SerializedMessage> getEventsAfter(long lastSequenceNumber) {
+            int start = (int) Math.max(0L, Math.min(size, lastSequenceNumber - firstSequenceNumber + 1L));
+            if (start == size) {
+                return Stream.empty();
+            }
+            return Arrays.stream(Arrays.copyOfRange(events, start, size)).filter(Objects::nonNull);
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > events.length) {
+                events = Arrays.copyOf(events, Math.max(capacity, events.length * 2));
+            }
+        }
+    }
 }
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2016-2017 Flux Capacitor.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fluxcapacitor.javaclient.eventsourcing.client;
+
+import io.fluxcapacitor.common.api.SerializedMessage;
+import io.fluxcapacitor.common.api.eventsourcing.GetEvents;
+import io.fluxcapacitor.common.api.eventsourcing.GetEventsResult;
+import lombok.Value;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/*
+    Streams the events of an aggregate page by page. The next page is requested as soon as the previous page arrives
+    rather than when it has been consumed, keeping at most `readAheadPages` pages in flight or buffered. Page sizes
+    start small to reduce the time to the first event and double up to the maximum page size.
+ */
+class ReadAheadEventFetcher extends Spliterators.AbstractSpliterator<SerializedMessage> {
+
+    private final String aggregateId;
+    private final Function<GetEvents, CompletableFuture<GetEventsResult>> requestSender;
+    private final int maxPageSize;
+    private final int readAheadPages;
+
+    private final Deque<Page> pages = new ArrayDeque<>();
+    private Long nextSequenceNumber;
+    private int nextPageSize;
+    private volatile boolean closed;
+
+    private Iterator<SerializedMessage> current = Collections.emptyIterator();
+    private boolean lastPageReached;
+
+    static Stream<SerializedMessage> stream(String aggregateId, long lastSequenceNumber,
+                                            Function<GetEvents, CompletableFuture<GetEventsResult>> requestSender,
+                                            int initialPageSize, int maxPageSize, int readAheadPages) {
+        ReadAheadEventFetcher fetcher = new ReadAheadEventFetcher(
+                aggregateId, lastSequenceNumber, requestSender, initialPageSize, maxPageSize, readAheadPages);
+        return StreamSupport.stream(fetcher, false).onClose(fetcher::close);
+    }
+
+    private ReadAheadEventFetcher(String aggregateId, long lastSequenceNumber,
+                                  Function<GetEvents, CompletableFuture<GetEventsResult>> requestSender,
+                                  int initialPageSize, int maxPageSize, int readAheadPages) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+        if (initialPageSize < 1 || maxPageSize < initialPageSize || readAheadPages < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid page configuration. Initial page size: %d, max page size: %d, read ahead pages: %d",
+                    initialPageSize, maxPageSize, readAheadPages));
+        }
+        this.aggregateId = aggregateId;
+        this.requestSender = requestSender;
+        this.maxPageSize = maxPageSize;
+        this.readAheadPages = readAheadPages;
+        this.nextSequenceNumber = lastSequenceNumber;
+        this.nextPageSize = initialPageSize;
+        requestNextPage();
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super SerializedMessage> action) {
+        while (!current.hasNext()) {
+            if (lastPageReached) {
+                return false;
+            }
+            Page page = takePage();
+            GetEventsResult result = page.getResult().join();
+            current = result.getEventBatch().getEvents().iterator();
+            lastPageReached = result.getEventBatch().getSize() < page.getSize();
+        }
+        action.accept(current.next());
+        return true;
+    }
+
+    private synchronized Page takePage() {
+        Page page = pages.poll();
+        if (page == null) {
+            throw new IllegalStateException("No event page was requested for aggregate " + aggregateId);
+        }
+        requestNextPage();
+        return page;
+    }
+
+    private synchronized void onPageReceived(GetEventsResult result, int pageSize) {
+        if (result.getEventBatch().getSize() == pageSize) {
+            nextSequenceNumber = result.getEventBatch().getLastSequenceNumber();
+            requestNextPage();
+        }
+    }
+
+    /*
+        Sends a request for the next page if the previous page has arrived, the read ahead window has room and the
+        stream has not been closed
+     */
+    private synchronized void requestNextPage() {
+        if (closed || nextSequenceNumber == null || pages.size() >= readAheadPages) {
+            return;
+        }
+        int pageSize = nextPageSize;
+        nextPageSize = (int) Math.min(maxPageSize, 2L * pageSize);
+        GetEvents request = new GetEvents(aggregateId, nextSequenceNumber, pageSize);
+        nextSequenceNumber = null;
+        CompletableFuture<GetEventsResult> result = new CompletableFuture<>();
+        pages.add(new Page(pageSize, result));
+        requestSender.apply(request).whenComplete((r, e) -> {
+            if (e == null) {
+                onPageReceived(r, pageSize);
+                result.complete(r);
+            } else {
+                result.completeExceptionally(e);
+            }
+        });
+    }
+
+    private synchronized void close() {
+        closed = true;
+        pages.clear();
+    }
+
+    @Value
+    private static class Page {
+        int size;
+        CompletableFuture<GetEventsResult> result;
+    }
+}
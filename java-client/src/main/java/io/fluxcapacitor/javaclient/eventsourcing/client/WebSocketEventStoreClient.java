@@ -19,8 +19,6 @@
 import io.fluxcapacitor.common.api.SerializedMessage;
 import io.fluxcapacitor.common.api.eventsourcing.AppendEvents;
 import io.fluxcapacitor.common.api.eventsourcing.EventBatch;
-import io.fluxcapacitor.common.api.eventsourcing.GetEvents;
-import io.fluxcapacitor.common.api.eventsourcing.GetEventsResult;
 import io.fluxcapacitor.javaclient.common.websocket.AbstractWebsocketClient;
 import io.fluxcapacitor.javaclient.common.websocket.JsonDecoder;
 import io.fluxcapacitor.javaclient.common.websocket.JsonEncoder;
@@ -30,13 +28,13 @@
 import java.util.List;
 import java.util.stream.Stream;
 
-import static io.fluxcapacitor.common.ObjectUtils.iterate;
-
 @ClientEndpoint(encoders = JsonEncoder.class, decoders = JsonDecoder.class)
 public class WebSocketEventStoreClient extends AbstractWebsocketClient implements EventStoreClient {
 
     private final Backlog<EventBatch> backlog;
+    private final int initialFetchBatchSize;
     private final int fetchBatchSize;
+    private final int readAheadBatches;
 
     public WebSocketEventStoreClient(String endPointUrl) {
         this(URI.create(endPointUrl), 1024, 1024);
@@ -47,9 +45,16 @@ public WebSocketEventStoreClient(String endPointUrl, int backlogSize) {
     }
 
     public WebSocketEventStoreClient(URI endPointUri, int backlogSize, int fetchBatchSize) {
+        this(endPointUri, backlogSize, Math.min(128, fetchBatchSize), fetchBatchSize, 2);
+    }
+
+    public WebSocketEventStoreClient(URI endPointUri, int backlogSize, int initialFetchBatchSize, int fetchBatchSize,
+                                     int readAheadBatches) {
         super(endPointUri);
         this.backlog = new Backlog<>(this::doSend, backlogSize);
+        this.initialFetchBatchSize = initialFetchBatchSize;
         this.fetchBatchSize = fetchBatchSize;
+        this.readAheadBatches = readAheadBatches;
     }
 
     @Override
@@ -58,6 +63,11 @@ public Awaitable storeEvents(String aggregateId, String domain, long lastSequenc
         return backlog.add(new EventBatch(aggregateId, domain, lastSequenceNumber, events));
     }
 
+    @Override
+    public Awaitable storeEvents(List<EventBatch> eventBatches) {
+        return backlog.add(eventBatches);
+    }
+
     private Awaitable doSend(List<EventBatch> batches) {
         sendRequestAndWait(new AppendEvents(batches));
         return Awaitable.ready();
@@ -65,10 +75,8 @@ private Awaitable doSend(List<EventBatch> batches) {
 
     @Override
     public Stream<SerializedMessage> getEvents(String aggregateId, long lastSequenceNumber) {
-        return iterate((GetEventsResult) sendRequestAndWait(new GetEvents(aggregateId, lastSequenceNumber, fetchBatchSize)),
-                       r -> sendRequestAndWait(new GetEvents(aggregateId, r.getEventBatch().getLastSequenceNumber(), fetchBatchSize)),
-                       r -> r.getEventBatch().getEvents().size() < fetchBatchSize)
-                .flatMap(r -> r.getEventBatch().getEvents().stream());
+        return ReadAheadEventFetcher.stream(aggregateId, lastSequenceNumber, this::sendRequest,
+                                            initialFetchBatchSize, fetchBatchSize, readAheadBatches);
     }
 
 }
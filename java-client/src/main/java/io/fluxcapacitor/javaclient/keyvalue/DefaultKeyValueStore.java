@@ -6,6 +6,10 @@
 import io.fluxcapacitor.javaclient.keyvalue.client.KeyValueClient;
 import lombok.AllArgsConstructor;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 @AllArgsConstructor
 public class DefaultKeyValueStore implements KeyValueStore {
 
@@ -21,6 +25,17 @@ public void store(String key, Object value, Guarantee guarantee) {
         }
     }
 
+    @Override
+    public void storeAll(Map<String, ?> values, Guarantee guarantee) {
+        try {
+            Map<String, Data<byte[]>> serializedValues = new HashMap<>();
+            values.forEach((key, value) -> serializedValues.put(key, serializer.serialize(value)));
+            client.putValues(serializedValues, guarantee).await();
+        } catch (Exception e) {
+            throw new KeyValueStoreException(String.format("Could not store values for keys %s", values.keySet()), e);
+        }
+    }
+
     @Override
     public <R> R get(String key) {
         try {
@@ -31,6 +46,17 @@ public <R> R get(String key) {
         }
     }
 
+    @Override
+    public <R> Map<String, R> getAll(Collection<String> keys) {
+        try {
+            Map<String, R> result = new HashMap<>();
+            client.getValues(keys).forEach((key, value) -> result.put(key, serializer.deserialize(value)));
+            return result;
+        } catch (Exception e) {
+            throw new KeyValueStoreException(String.format("Could not get the values for keys %s", keys), e);
+        }
+    }
+
     @Override
     public void delete(String key) {
         try {
@@ -39,4 +65,13 @@ public void delete(String key) {
             throw new KeyValueStoreException(String.format("Could not delete the value at key %s", key), e);
         }
     }
+
+    @Override
+    public void deleteAll(Collection<String> keys) {
+        try {
+            client.deleteValues(keys).await();
+        } catch (Exception e) {
+            throw new KeyValueStoreException(String.format("Could not delete the values at keys %s", keys), e);
+        }
+    }
 }
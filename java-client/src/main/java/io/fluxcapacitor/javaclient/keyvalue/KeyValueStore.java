@@ -2,6 +2,9 @@
 
 import io.fluxcapacitor.common.Guarantee;
 
+import java.util.Collection;
+import java.util.Map;
+
 public interface KeyValueStore {
 
     default void store(String key, Object value) {
@@ -10,8 +13,14 @@ default void store(String key, Object value) {
 
     void store(String key, Object value, Guarantee guarantee);
 
+    void storeAll(Map<String, ?> values, Guarantee guarantee);
+
     <R> R get(String key);
 
+    <R> Map<String, R> getAll(Collection<String> keys);
+
     void delete(String key);
 
+    void deleteAll(Collection<String> keys);
+
 }
@@ -0,0 +1,132 @@
+package io.fluxcapacitor.javaclient.keyvalue.client;
+
+import io.fluxcapacitor.common.Awaitable;
+import io.fluxcapacitor.common.Guarantee;
+import io.fluxcapacitor.common.api.Data;
+import io.fluxcapacitor.javaclient.common.caching.Cache;
+import io.fluxcapacitor.javaclient.common.caching.CacheConfiguration;
+import io.fluxcapacitor.javaclient.common.caching.CacheStats;
+import io.fluxcapacitor.javaclient.common.caching.DefaultCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+    Keeps values of the key value store in memory. Values written by this client are written through to the cache.
+    Values written or deleted by other clients are evicted once their notification is received, see
+    KeyValueCacheInvalidator, or when they expire. Keys without value are cached as well.
+ */
+public class CachingKeyValueClient implements KeyValueClient {
+
+    private final KeyValueClient delegate;
+    private final Cache cache;
+    private final AtomicLong remoteInvalidationCount = new AtomicLong();
+    private final AtomicLong maxInvalidationDelay = new AtomicLong();
+
+    public CachingKeyValueClient(KeyValueClient delegate, CacheConfiguration configuration) {
+        this(delegate, new DefaultCache(configuration));
+    }
+
+    public CachingKeyValueClient(KeyValueClient delegate, Cache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Awaitable putValue(String key, Data<byte[]> value, Guarantee guarantee) {
+        Awaitable result = delegate.putValue(key, value, guarantee);
+        cache.put(key, Optional.of(value));
+        return result;
+    }
+
+    @Override
+    public Awaitable putValues(Map<String, Data<byte[]>> values, Guarantee guarantee) {
+        Awaitable result = delegate.putValues(values, guarantee);
+        values.forEach((key, value) -> cache.put(key, Optional.of(value)));
+        return result;
+    }
+
+    @Override
+    public Data<byte[]> getValue(String key) {
+        Optional<Data<byte[]>> result = cache.get(key, k -> Optional.ofNullable(delegate.getValue(k)));
+        return result.orElse(null);
+    }
+
+    @Override
+    public Map<String, Data<byte[]>> getValues(Collection<String> keys) {
+        Map<String, Data<byte[]>> result = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String key : keys) {
+            Optional<Data<byte[]>> cached = cache.getIfPresent(key);
+            if (cached == null) {
+                missing.add(key);
+            } else {
+                cached.ifPresent(value -> result.put(key, value));
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<String, Data<byte[]>> fetched = delegate.getValues(missing);
+            for (String key : missing) {
+                Data<byte[]> value = fetched.get(key);
+                cache.put(key, Optional.ofNullable(value));
+                if (value != null) {
+                    result.put(key, value);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Awaitable deleteValue(String key) {
+        cache.invalidate(key);
+        return delegate.deleteValue(key);
+    }
+
+    @Override
+    public Awaitable deleteValues(Collection<String> keys) {
+        keys.forEach(cache::invalidate);
+        return delegate.deleteValues(keys);
+    }
+
+    /*
+        Evicts values that were modified by another client. The timestamp of the modification is used to keep track of
+        how long values may have been stale.
+     */
+    public void invalidate(Collection<String> keys, long modificationTimestamp) {
+        keys.forEach(cache::invalidate);
+        remoteInvalidationCount.incrementAndGet();
+        long delay = Math.max(0L, System.currentTimeMillis() - modificationTimestamp);
+        maxInvalidationDelay.accumulateAndGet(delay, Math::max);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats getStats() {
+        return cache.getStats();
+    }
+
+    public long getRemoteInvalidationCount() {
+        return remoteInvalidationCount.get();
+    }
+
+    /*
+        The longest observed time between a modification by another client and the eviction of the modified value
+     */
+    public Duration getMaxInvalidationDelay() {
+        return Duration.ofMillis(maxInvalidationDelay.get());
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
@@ -0,0 +1,414 @@
+package io.fluxcapacitor.javaclient.keyvalue.client;
+
+import io.fluxcapacitor.common.Awaitable;
+import io.fluxcapacitor.common.Guarantee;
+import io.fluxcapacitor.common.api.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/*
+    Stores values in an append-only log of memory-mapped segment files, so values survive restarts and are kept off
+    the heap. Only the keys and the location of their latest record are kept in memory, which makes reads O(1).
+
+    Each record consists of a header (length and checksum of the body) followed by the body. Overwritten and deleted
+    values are removed by compacting segments: records that are still live are copied to the active segment after
+    which the old segment file is deleted. A delete is recorded as a tombstone, which is only kept by compaction while
+    an older segment still contains a value for the key. On startup all segments are scanned in order to rebuild the index. The scan
+    of a segment stops at the first record that is incomplete or has an invalid checksum, so a write that was
+    interrupted by a crash is discarded.
+ */
+@Slf4j
+public class FileKeyValueClient implements KeyValueClient {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final String SEGMENT_SUFFIX = ".segment";
+    private static final int HEADER_SIZE = 8;
+    private static final byte PUT = 1, DELETE = 2;
+
+    private final File directory;
+    private final int segmentSize;
+    private final double compactionThreshold;
+    private final Map<String, Long> index = new ConcurrentHashMap<>();
+    private final NavigableMap<Integer, Segment> segments = new ConcurrentSkipListMap<>();
+    private final ScheduledExecutorService compactionExecutor;
+    private Segment activeSegment;
+
+    public FileKeyValueClient(File directory) {
+        this(directory, DEFAULT_SEGMENT_SIZE, 0.5d, 60_000L);
+    }
+
+    /*
+        Segments of which at least the given fraction of bytes is no longer live are compacted every compaction
+        interval. Pass a non-positive interval to disable background compaction.
+     */
+    public FileKeyValueClient(File directory, int segmentSize, double compactionThreshold,
+                              long compactionIntervalMillis) {
+        if (segmentSize < 1024) {
+            throw new IllegalArgumentException("Segment size should be at least 1kB");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.compactionThreshold = compactionThreshold;
+        recover();
+        if (compactionIntervalMillis > 0) {
+            compactionExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "FileKeyValueClient-compaction");
+                thread.setDaemon(true);
+                return thread;
+            });
+            compactionExecutor.scheduleWithFixedDelay(this::compactSafely, compactionIntervalMillis,
+                                                      compactionIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            compactionExecutor = null;
+        }
+    }
+
+    @Override
+    public Awaitable putValue(String key, Data<byte[]> value, Guarantee guarantee) {
+        return putValues(Collections.singletonMap(key, value), guarantee);
+    }
+
+    @Override
+    public synchronized Awaitable putValues(Map<String, Data<byte[]>> values, Guarantee guarantee) {
+        try {
+            values.forEach((key, value) -> updateIndex(key, append(encodePut(key, value)), true));
+            if (guarantee == Guarantee.STORED) {
+                activeSegment.force();
+            }
+            return Awaitable.ready();
+        } catch (UncheckedIOException e) {
+            return Awaitable.failed(e.getCause());
+        }
+    }
+
+    @Override
+    public Data<byte[]> getValue(String key) {
+        while (true) {
+            Long location = index.get(key);
+            if (location == null) {
+                return null;
+            }
+            Segment segment = segments.get(segmentId(location));
+            if (segment != null) {
+                return decodeValue(segment.read(offset(location)));
+            }
+            //the segment was compacted concurrently, so the key has moved
+        }
+    }
+
+    @Override
+    public Awaitable deleteValue(String key) {
+        return deleteValues(Collections.singletonList(key));
+    }
+
+    @Override
+    public synchronized Awaitable deleteValues(Collection<String> keys) {
+        try {
+            for (String key : keys) {
+                if (index.containsKey(key)) {
+                    updateIndex(key, append(encodeDelete(key)), false);
+                }
+            }
+            return Awaitable.ready();
+        } catch (UncheckedIOException e) {
+            return Awaitable.failed(e.getCause());
+        }
+    }
+
+    /*
+        Compacts all sealed segments that contain enough garbage
+     */
+    public synchronized void compact() {
+        List<Segment> candidates = new ArrayList<>();
+        for (Segment segment : segments.values()) {
+            if (segment != activeSegment && segment.garbageRatio() >= compactionThreshold) {
+                candidates.add(segment);
+            }
+        }
+        candidates.forEach(this::compact);
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    public int getKeyCount() {
+        return index.size();
+    }
+
+    public Set<String> getKeys() {
+        return Collections.unmodifiableSet(index.keySet());
+    }
+
+    @Override
+    public synchronized void close() {
+        if (compactionExecutor != null) {
+            compactionExecutor.shutdownNow();
+        }
+        segments.values().forEach(Segment::close);
+    }
+
+    /*
+        Index maintenance
+     */
+
+    private void updateIndex(String key, long location, boolean put) {
+        if (put) {
+            segments.get(segmentId(location)).putKeys.add(key);
+        }
+        Long previous = put ? index.put(key, location) : index.remove(key);
+        if (previous != null) {
+            Optional.ofNullable(segments.get(segmentId(previous)))
+                    .ifPresent(s -> s.markGarbage(s.recordSize(offset(previous))));
+        }
+        if (!put) {
+            //a tombstone is only needed while older segments may contain the key
+            Segment segment = segments.get(segmentId(location));
+            segment.markGarbage(segment.recordSize(offset(location)));
+        }
+    }
+
+    private void compact(Segment segment) {
+        Collection<Segment> olderSegments = segments.headMap(segment.id).values();
+        int position = 0;
+        ByteBuffer body;
+        while ((body = segment.read(position)) != null) {
+            int recordSize = HEADER_SIZE + body.remaining();
+            String key = decodeKey(body.duplicate());
+            long location = location(segment.id, position);
+            if (body.get(0) == PUT) {
+                Long current = index.get(key);
+                if (current != null && current == location) {
+                    long copy = append(body);
+                    segments.get(segmentId(copy)).putKeys.add(key);
+                    index.put(key, copy);
+                }
+            } else if (!index.containsKey(key) && olderSegments.stream().anyMatch(s -> s.putKeys.contains(key))) {
+                long copy = append(body);
+                Segment target = segments.get(segmentId(copy));
+                target.markGarbage(target.recordSize(offset(copy)));
+            }
+            position += recordSize;
+        }
+        activeSegment.force();
+        segments.remove(segment.id);
+        segment.delete();
+    }
+
+    private void compactSafely() {
+        try {
+            compact();
+        } catch (Throwable e) {
+            log.error("Failed to compact key value segments in {}", directory, e);
+        }
+    }
+
+    /*
+        Segment management
+     */
+
+    private void recover() {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalStateException("Could not create key value directory " + directory);
+        }
+        File[] files = Optional.ofNullable(directory.listFiles((dir, name) -> name.endsWith(SEGMENT_SUFFIX)))
+                .orElse(new File[0]);
+        for (File file : files) {
+            int id = Integer.parseInt(file.getName().substring(0, file.getName().length() - SEGMENT_SUFFIX.length()));
+            segments.put(id, new Segment(id, file, (int) Math.max(segmentSize, file.length())));
+        }
+        for (Segment segment : segments.values()) {
+            int position = 0;
+            ByteBuffer body;
+            while ((body = segment.read(position)) != null) {
+                String key = decodeKey(body.duplicate());
+                updateIndex(key, location(segment.id, position), body.get(0) == PUT);
+                position += HEADER_SIZE + body.remaining();
+            }
+            segment.position = position;
+        }
+        activeSegment = segments.isEmpty() ? newSegment(segmentSize) : segments.lastEntry().getValue();
+    }
+
+    private long append(ByteBuffer body) {
+        int recordSize = HEADER_SIZE + body.remaining();
+        if (activeSegment.remaining() < recordSize) {
+            activeSegment.force();
+            activeSegment = newSegment(Math.max(segmentSize, recordSize));
+        }
+        return location(activeSegment.id, activeSegment.append(body));
+    }
+
+    private Segment newSegment(int size) {
+        int id = segments.isEmpty() ? 0 : segments.lastKey() + 1;
+        Segment segment = new Segment(id, new File(directory, String.format("%010d%s", id, SEGMENT_SUFFIX)), size);
+        segments.put(id, segment);
+        return segment;
+    }
+
+    private static long location(int segmentId, int offset) {
+        return ((long) segmentId << 32) | (offset & 0xFFFFFFFFL);
+    }
+
+    private static int segmentId(long location) {
+        return (int) (location >>> 32);
+    }
+
+    private static int offset(long location) {
+        return (int) location;
+    }
+
+    /*
+        Record encoding. Put: type, key, revision, data type, value. Delete: type, key.
+     */
+
+    private static ByteBuffer encodePut(String key, Data<byte[]> data) {
+        byte[] keyBytes = key.getBytes(UTF_8);
+        byte[] typeBytes = data.getType() == null ? new byte[0] : data.getType().getBytes(UTF_8);
+        byte[] value = data.getValue();
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 4 + keyBytes.length + 4 + 4 + typeBytes.length + 4 + value.length);
+        buffer.put(PUT).putInt(keyBytes.length).put(keyBytes).putInt(data.getRevision())
+                .putInt(typeBytes.length).put(typeBytes).putInt(value.length).put(value);
+        buffer.flip();
+        return buffer;
+    }
+
+    private static ByteBuffer encodeDelete(String key) {
+        byte[] keyBytes = key.getBytes(UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 4 + keyBytes.length);
+        buffer.put(DELETE).putInt(keyBytes.length).put(keyBytes);
+        buffer.flip();
+        return buffer;
+    }
+
+    private static String decodeKey(ByteBuffer body) {
+        body.get();
+        return new String(readBytes(body), UTF_8);
+    }
+
+    private static Data<byte[]> decodeValue(ByteBuffer body) {
+        decodeKey(body);
+        int revision = body.getInt();
+        byte[] type = readBytes(body);
+        byte[] value = readBytes(body);
+        return new Data<>(value, type.length == 0 ? null : new String(type, UTF_8), revision);
+    }
+
+    private static byte[] readBytes(ByteBuffer buffer) {
+        byte[] result = new byte[buffer.getInt()];
+        buffer.get(result);
+        return result;
+    }
+
+    private static int checksum(ByteBuffer body) {
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+        return (int) crc.getValue();
+    }
+
+    private static class Segment {
+        private final int id;
+        private final File file;
+        private final MappedByteBuffer buffer;
+        private final AtomicLong garbage = new AtomicLong();
+        private final Set<String> putKeys = new HashSet<>();
+        private volatile int position;
+
+        Segment(int id, File file, int size) {
+            this.id = id;
+            this.file = file;
+            try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+                buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not map key value segment " + file, e);
+            }
+        }
+
+        /*
+            Returns the body of the record at the given position or null if there is no valid record
+         */
+        ByteBuffer read(int offset) {
+            ByteBuffer view = buffer.duplicate();
+            if (offset > view.capacity() - HEADER_SIZE) {
+                return null;
+            }
+            int length = view.getInt(offset);
+            if (length <= 0 || length > view.capacity() - offset - HEADER_SIZE) {
+                return null;
+            }
+            int checksum = view.getInt(offset + 4);
+            view.position(offset + HEADER_SIZE).limit(offset + HEADER_SIZE + length);
+            ByteBuffer body = view.slice();
+            return checksum(body) == checksum ? body : null;
+        }
+
+        int recordSize(int offset) {
+            return HEADER_SIZE + buffer.getInt(offset);
+        }
+
+        int remaining() {
+            return buffer.capacity() - position;
+        }
+
+        int append(ByteBuffer body) {
+            int offset = position;
+            ByteBuffer view = buffer.duplicate();
+            view.position(offset + HEADER_SIZE);
+            view.put(body.duplicate());
+            view.putInt(offset + 4, checksum(body));
+            view.putInt(offset, body.remaining());
+            position = offset + HEADER_SIZE + body.remaining();
+            return offset;
+        }
+
+        void markGarbage(int bytes) {
+            garbage.addAndGet(bytes);
+        }
+
+        double garbageRatio() {
+            return position == 0 ? 0d : (double) garbage.get() / position;
+        }
+
+        void force() {
+            buffer.force();
+        }
+
+        void close() {
+            buffer.force();
+        }
+
+        void delete() {
+            try {
+                Files.deleteIfExists(file.toPath());
+            } catch (IOException e) {
+                log.warn("Failed to delete compacted key value segment {}", file, e);
+            }
+        }
+    }
+}
@@ -4,6 +4,8 @@
 import io.fluxcapacitor.common.Guarantee;
 import io.fluxcapacitor.common.api.Data;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -25,17 +27,41 @@ public Awaitable putValue(String key, Data<byte[]> value, Guarantee guarantee) {
         return Awaitable.ready();
     }
 
+    @Override
+    public Awaitable putValues(Map<String, Data<byte[]>> values, Guarantee guarantee) {
+        this.values.putAll(values);
+        return Awaitable.ready();
+    }
+
     @Override
     public Data<byte[]> getValue(String key) {
         return values.get(key);
     }
 
+    @Override
+    public Map<String, Data<byte[]>> getValues(Collection<String> keys) {
+        Map<String, Data<byte[]>> result = new HashMap<>();
+        for (String key : keys) {
+            Data<byte[]> value = values.get(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
     @Override
     public Awaitable deleteValue(String key) {
         values.remove(key);
         return Awaitable.ready();
     }
 
+    @Override
+    public Awaitable deleteValues(Collection<String> keys) {
+        keys.forEach(values::remove);
+        return Awaitable.ready();
+    }
+
     @Override
     public void close() {
         //no op
@@ -0,0 +1,43 @@
+package io.fluxcapacitor.javaclient.keyvalue.client;
+
+import io.fluxcapacitor.common.api.ClientEvent;
+import io.fluxcapacitor.common.api.keyvalue.DeleteValueEvent;
+import io.fluxcapacitor.common.api.keyvalue.DeleteValuesEvent;
+import io.fluxcapacitor.common.api.keyvalue.StoreValuesEvent;
+import io.fluxcapacitor.javaclient.tracking.handling.HandleMetrics;
+import lombok.AllArgsConstructor;
+
+import java.util.Collection;
+
+import static java.util.Collections.singletonList;
+
+/*
+    Evicts cached values when the key value service reports that another client has modified them. Modifications by
+    the client that owns the cache are skipped because they have already been written through to the cache.
+ */
+@AllArgsConstructor
+public class KeyValueCacheInvalidator {
+    private final CachingKeyValueClient keyValueClient;
+    private final String clientId;
+
+    @HandleMetrics
+    public void handle(StoreValuesEvent event) {
+        invalidate(event, event.getKeys());
+    }
+
+    @HandleMetrics
+    public void handle(DeleteValueEvent event) {
+        invalidate(event, singletonList(event.getKey()));
+    }
+
+    @HandleMetrics
+    public void handle(DeleteValuesEvent event) {
+        invalidate(event, event.getKeys());
+    }
+
+    private void invalidate(ClientEvent event, Collection<String> keys) {
+        if (!clientId.equals(event.getClientId())) {
+            keyValueClient.invalidate(keys, event.getTimestamp());
+        }
+    }
+}
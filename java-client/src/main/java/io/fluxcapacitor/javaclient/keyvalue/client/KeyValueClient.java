@@ -18,6 +18,10 @@
 import io.fluxcapacitor.common.Guarantee;
 import io.fluxcapacitor.common.api.Data;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Represents a service to store and retrieve a piece of serialized data by key.
  */
@@ -33,6 +37,19 @@ public interface KeyValueClient extends AutoCloseable {
      */
     Awaitable putValue(String key, Data<byte[]> value, Guarantee guarantee);
 
+    /**
+     * Adds or replaces the given values in the key value store. Implementations are encouraged to store the values
+     * using a single request.
+     *
+     * @param values    The values to store by key
+     * @param guarantee The guarantee for storing
+     * @return a handle that enables clients to wait until the values were safely sent to the store
+     */
+    default Awaitable putValues(Map<String, Data<byte[]>> values, Guarantee guarantee) {
+        return values.entrySet().stream().map(e -> putValue(e.getKey(), e.getValue(), guarantee))
+                .reduce(Awaitable::join).orElse(Awaitable.ready());
+    }
+
     /**
      * Returns the {@link Data} object associated with the given key. Returns {@code null} if there is no associated
      * value.
@@ -42,6 +59,24 @@ public interface KeyValueClient extends AutoCloseable {
      */
     Data<byte[]> getValue(String key);
 
+    /**
+     * Returns the {@link Data} objects associated with the given keys. Keys without associated value are not contained
+     * in the returned map.
+     *
+     * @param keys The keys associated with the values
+     * @return the values for the given keys by key
+     */
+    default Map<String, Data<byte[]>> getValues(Collection<String> keys) {
+        Map<String, Data<byte[]>> result = new HashMap<>();
+        for (String key : keys) {
+            Data<byte[]> value = getValue(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
     /**
      * Deletes the value associated with the given key.
      *
@@ -50,6 +85,17 @@ public interface KeyValueClient extends AutoCloseable {
      */
     Awaitable deleteValue(String key);
 
+    /**
+     * Deletes the values associated with the given keys. Implementations are encouraged to delete the values using a
+     * single request.
+     *
+     * @param keys The keys associated with the values
+     * @return a handle that enables clients to wait until the command was safely sent to the store
+     */
+    default Awaitable deleteValues(Collection<String> keys) {
+        return keys.stream().map(this::deleteValue).reduce(Awaitable::join).orElse(Awaitable.ready());
+    }
+
     @Override
     void close();
 }
@@ -19,8 +19,11 @@
 import io.fluxcapacitor.common.Guarantee;
 import io.fluxcapacitor.common.api.Data;
 import io.fluxcapacitor.common.api.keyvalue.DeleteValue;
+import io.fluxcapacitor.common.api.keyvalue.DeleteValues;
 import io.fluxcapacitor.common.api.keyvalue.GetValue;
 import io.fluxcapacitor.common.api.keyvalue.GetValueResult;
+import io.fluxcapacitor.common.api.keyvalue.GetValues;
+import io.fluxcapacitor.common.api.keyvalue.GetValuesResult;
 import io.fluxcapacitor.common.api.keyvalue.KeyValuePair;
 import io.fluxcapacitor.common.api.keyvalue.StoreValues;
 import io.fluxcapacitor.common.api.keyvalue.StoreValuesAndWait;
@@ -31,9 +34,14 @@
 
 import javax.websocket.ClientEndpoint;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
 
 @Slf4j
 @ClientEndpoint(encoders = JsonEncoder.class, decoders = JsonDecoder.class)
@@ -70,14 +78,49 @@ public Awaitable putValue(String key, Data<byte[]> value, Guarantee guarantee) {
         }
     }
 
+    @Override
+    public Awaitable putValues(Map<String, Data<byte[]>> values, Guarantee guarantee) {
+        List<KeyValuePair> keyValuePairs = values.entrySet().stream()
+                .map(e -> new KeyValuePair(e.getKey(), e.getValue())).collect(toList());
+        switch (guarantee) {
+            case NONE:
+                backlog.add(keyValuePairs);
+                return Awaitable.ready();
+            case SENT:
+                return backlog.add(keyValuePairs);
+            case STORED:
+                sendRequestAndWait(new StoreValuesAndWait(keyValuePairs));
+                return Awaitable.ready();
+            default:
+                throw new UnsupportedOperationException("Unrecognized guarantee: " + guarantee);
+        }
+    }
+
     @Override
     public Data<byte[]> getValue(String key) {
         GetValueResult result = sendRequestAndWait(new GetValue(key));
         return result.getValue();
     }
 
+    @Override
+    public Map<String, Data<byte[]>> getValues(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return new HashMap<>();
+        }
+        GetValuesResult result = sendRequestAndWait(new GetValues(new ArrayList<>(keys)));
+        Map<String, Data<byte[]>> values = new HashMap<>();
+        result.getValues().stream().filter(pair -> pair.getValue() != null)
+                .forEach(pair -> values.put(pair.getKey(), pair.getValue()));
+        return values;
+    }
+
     @Override
     public Awaitable deleteValue(String key) {
         return send(new DeleteValue(key));
     }
+
+    @Override
+    public Awaitable deleteValues(Collection<String> keys) {
+        return keys.isEmpty() ? Awaitable.ready() : send(new DeleteValues(new ArrayList<>(keys)));
+    }
 }
@@ -0,0 +1,21 @@
+package io.fluxcapacitor.javaclient.publishing;
+
+import java.lang.annotation.*;
+
+/*
+    Marks a query type of which concurrent identical queries share a single request. Queries are identical if their
+    payloads are equal according to their equals method and the values of the given metadata keys are equal, so the
+    query type should implement equals and hashCode, e.g. using Lombok's @Value. If cacheMillis is positive results
+    are also cached for that duration, keeping at most cacheSize results for the query type.
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+public @interface CoalescedQuery {
+    long cacheMillis() default 0L;
+
+    long cacheSize() default 1_000L;
+
+    String[] metadataKeys() default {};
+}
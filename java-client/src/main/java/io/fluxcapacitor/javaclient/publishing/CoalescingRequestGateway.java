@@ -0,0 +1,141 @@
+package io.fluxcapacitor.javaclient.publishing;
+
+import io.fluxcapacitor.common.MessageType;
+import io.fluxcapacitor.common.Registration;
+import io.fluxcapacitor.javaclient.common.Message;
+import io.fluxcapacitor.javaclient.common.caching.Cache;
+import io.fluxcapacitor.javaclient.common.caching.CacheConfiguration;
+import io.fluxcapacitor.javaclient.common.caching.CacheStats;
+import io.fluxcapacitor.javaclient.common.caching.DefaultCache;
+import io.fluxcapacitor.javaclient.common.caching.NoCache;
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toList;
+
+/*
+    Lets concurrent identical requests of a type annotated with @CoalescedQuery share a single request, and optionally
+    caches their results. Each caller gets its own future, so a caller that cancels its future does not affect the
+    others. Requests of other types are passed on unchanged.
+
+    Queries are compared using the equals and hashCode methods of their payload, so the payload is not serialized
+    to find out if an identical query is in flight. The result cache is keyed by the hash code of the query. A cached
+    result is only used if its query is equal, so queries with the same hash code never share a result.
+ */
+public class CoalescingRequestGateway implements RequestGateway {
+
+    private final RequestGateway delegate;
+    private final Map<Class<?>, Optional<CoalescedQuery>> settings = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Cache> caches = new ConcurrentHashMap<>();
+    private final Map<QueryKey, CompletableFuture<Message>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong coalescedCount = new AtomicLong();
+
+    public CoalescingRequestGateway(RequestGateway delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public CompletableFuture<Message> sendForMessage(Message message) {
+        Class<?> type = message.getPayload().getClass();
+        CoalescedQuery config = settings.computeIfAbsent(
+                type, t -> Optional.ofNullable(t.getAnnotation(CoalescedQuery.class))).orElse(null);
+        if (config == null) {
+            return delegate.sendForMessage(message);
+        }
+        QueryKey key = new QueryKey(message.getPayload(), Arrays.stream(config.metadataKeys()).sorted()
+                .map(k -> message.getMetadata().get(k)).collect(toList()));
+        String cacheKey = type.getName() + "/" + key.hashCode();
+        Cache cache = getCache(type, config);
+        CachedResult cached = cache.getIfPresent(cacheKey);
+        if (cached != null && cached.getKey().equals(key)) {
+            return CompletableFuture.completedFuture(cached.getResult());
+        }
+        CompletableFuture<Message> promise = new CompletableFuture<>();
+        CompletableFuture<Message> existing = inFlight.putIfAbsent(key, promise);
+        if (existing != null) {
+            coalescedCount.incrementAndGet();
+            return existing.thenApply(Function.identity());
+        }
+        try {
+            delegate.sendForMessage(message).whenComplete((result, e) -> {
+                if (e == null) {
+                    cache.put(cacheKey, new CachedResult(key, result));
+                }
+                inFlight.remove(key, promise);
+                if (e == null) {
+                    promise.complete(result);
+                } else {
+                    promise.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, promise);
+            promise.completeExceptionally(e);
+            throw e;
+        }
+        return promise.thenApply(Function.identity());
+    }
+
+    @Override
+    public void sendAndForget(Message message) {
+        delegate.sendAndForget(message);
+    }
+
+    @Override
+    public Registration registerLocalHandler(Object target) {
+        return delegate.registerLocalHandler(target);
+    }
+
+    @Override
+    public MessageType getMessageType() {
+        return delegate.getMessageType();
+    }
+
+    /*
+        Returns the hit and miss counts of the result cache of the given query type
+     */
+    public CacheStats getCacheStats(Class<?> queryType) {
+        return Optional.ofNullable(caches.get(queryType)).map(Cache::getStats).orElse(CacheStats.EMPTY);
+    }
+
+    /*
+        Returns the number of queries that were answered by a request that was already in flight
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    private Cache getCache(Class<?> type, CoalescedQuery config) {
+        if (config.cacheMillis() <= 0L) {
+            return NoCache.INSTANCE;
+        }
+        return caches.computeIfAbsent(type, t -> new DefaultCache(
+                CacheConfiguration.builder().maximumSize(config.cacheSize())
+                        .expireAfterWrite(Duration.ofMillis(config.cacheMillis())).build()));
+    }
+
+    @Value
+    private static class QueryKey {
+        Object payload;
+        List<String> metadataValues;
+    }
+
+    @Value
+    private static class CachedResult {
+        QueryKey key;
+        Message result;
+    }
+}
@@ -26,6 +26,7 @@
 import io.fluxcapacitor.javaclient.tracking.handling.HandlerFactory;
 import lombok.AllArgsConstructor;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -61,7 +62,10 @@ public CompletableFuture<Message> sendForMessage(Message message) {
         CompletableFuture<Message> localResult = tryHandleLocally(message.getPayload(), serializedMessage);
         if (localResult == null) {
             try {
-                return requestHandler.sendRequest(serializedMessage, gatewayClient::send);
+                Timeout timeout = message.getPayload().getClass().getAnnotation(Timeout.class);
+                return timeout == null ? requestHandler.sendRequest(serializedMessage, gatewayClient::send)
+                        : requestHandler.sendRequest(serializedMessage, gatewayClient::send,
+                                                     Duration.ofMillis(timeout.millis()));
             } catch (Exception e) {
                 throw new GatewayException(format("Failed to send %s", message.getPayload().toString()), e);
             }
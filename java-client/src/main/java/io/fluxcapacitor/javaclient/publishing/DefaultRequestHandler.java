@@ -1,51 +1,148 @@
 package io.fluxcapacitor.javaclient.publishing;
 
+import io.fluxcapacitor.common.Registration;
+import io.fluxcapacitor.common.TimerWheel;
 import io.fluxcapacitor.common.api.SerializedMessage;
 import io.fluxcapacitor.javaclient.common.Message;
 import io.fluxcapacitor.javaclient.common.serialization.Serializer;
+import io.fluxcapacitor.javaclient.tracking.TrackingConfiguration;
 import io.fluxcapacitor.javaclient.tracking.client.TrackingClient;
 import io.fluxcapacitor.javaclient.tracking.client.TrackingUtils;
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 import static io.fluxcapacitor.common.MessageType.RESULT;
 import static java.lang.String.format;
 
-@AllArgsConstructor
+/*
+    Keeps a future for each outstanding request until its result comes in or the request times out. Timeouts are
+    tracked by a timer wheel that is closed together with the handler. When a request times out its future is
+    completed with a TimeoutException and removed, so requests that never get a result do not leak. New requests are
+    rejected while the maximum number of outstanding requests has been reached.
+ */
 @Slf4j
-public class DefaultRequestHandler implements RequestHandler {
+public class DefaultRequestHandler implements RequestHandler, AutoCloseable {
+
+    public static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofMinutes(1);
+    public static final int DEFAULT_MAX_OUTSTANDING_REQUESTS = 100_000;
 
     private final TrackingClient trackingClient;
     private final Serializer serializer;
     private final String clientName;
     private final String clientId;
+    private final TrackingConfiguration trackingConfiguration;
+    private final Duration requestTimeout;
+    private final int maxOutstandingRequests;
+    private final TimerWheel timer;
     private final Map<Integer, CompletableFuture<Message>> callbacks = new ConcurrentHashMap<>();
     private final AtomicInteger nextId = new AtomicInteger();
     private final AtomicBoolean started = new AtomicBoolean();
+    private final AtomicLong timedOutRequests = new AtomicLong();
+    private final AtomicLong rejectedRequests = new AtomicLong();
+    private volatile Registration registration;
+
+    public DefaultRequestHandler(TrackingClient trackingClient, Serializer serializer, String clientName,
+                                 String clientId) {
+        this(trackingClient, serializer, clientName, clientId, TrackingConfiguration.DEFAULT);
+    }
+
+    public DefaultRequestHandler(TrackingClient trackingClient, Serializer serializer, String clientName,
+                                 String clientId, TrackingConfiguration trackingConfiguration) {
+        this(trackingClient, serializer, clientName, clientId, trackingConfiguration, DEFAULT_REQUEST_TIMEOUT,
+             DEFAULT_MAX_OUTSTANDING_REQUESTS, new TimerWheel(Duration.ofMillis(10), 512));
+    }
+
+    public DefaultRequestHandler(TrackingClient trackingClient, Serializer serializer, String clientName,
+                                 String clientId, TrackingConfiguration trackingConfiguration,
+                                 Duration requestTimeout, int maxOutstandingRequests, TimerWheel timer) {
+        this.trackingClient = trackingClient;
+        this.serializer = serializer;
+        this.clientName = clientName;
+        this.clientId = clientId;
+        this.trackingConfiguration = trackingConfiguration;
+        this.requestTimeout = requestTimeout;
+        this.maxOutstandingRequests = maxOutstandingRequests;
+        this.timer = timer;
+    }
 
     @Override
     public CompletableFuture<Message> sendRequest(SerializedMessage request,
                                                   Consumer<SerializedMessage> requestSender) {
+        return sendRequest(request, requestSender, requestTimeout);
+    }
+
+    @Override
+    public CompletableFuture<Message> sendRequest(SerializedMessage request, Consumer<SerializedMessage> requestSender,
+                                                  Duration timeout) {
         if (started.compareAndSet(false, true)) {
-            TrackingUtils.start(format("%s_RESULT", clientName), trackingClient, this::handleMessages);
+            registration = TrackingUtils.start(format("%s_RESULT", clientName), this::handleMessages,
+                                               trackingClient, trackingConfiguration);
+        }
+        if (callbacks.size() >= maxOutstandingRequests) {
+            rejectedRequests.incrementAndGet();
+            throw new GatewayException(format("Cannot send request. There are already %d outstanding requests.",
+                                              maxOutstandingRequests), null);
         }
         CompletableFuture<Message> result = new CompletableFuture<>();
         int requestId = nextId.getAndIncrement();
         callbacks.put(requestId, result);
+        Registration expiry = timer.schedule(timeout, () -> {
+            if (callbacks.remove(requestId, result)) {
+                timedOutRequests.incrementAndGet();
+                result.completeExceptionally(new TimeoutException(
+                        format("Request %d has timed out after %dms", requestId, timeout.toMillis()), null));
+            }
+        });
+        result.whenComplete((r, e) -> {
+            expiry.cancel();
+            callbacks.remove(requestId, result);
+        });
         request.setRequestId(requestId);
         request.setSource(clientId);
-        requestSender.accept(request);
+        try {
+            requestSender.accept(request);
+        } catch (RuntimeException e) {
+            callbacks.remove(requestId);
+            expiry.cancel();
+            throw e;
+        }
         return result;
     }
 
+    public int getOutstandingRequestCount() {
+        return callbacks.size();
+    }
+
+    public long getTimedOutRequestCount() {
+        return timedOutRequests.get();
+    }
+
+    public long getRejectedRequestCount() {
+        return rejectedRequests.get();
+    }
+
+    /*
+        Stops tracking results and closes the timer wheel. Outstanding requests are completed exceptionally.
+     */
+    @Override
+    public void close() {
+        Optional.ofNullable(registration).ifPresent(Registration::cancel);
+        timer.close();
+        callbacks.keySet().forEach(requestId -> Optional.ofNullable(callbacks.remove(requestId)).ifPresent(
+                f -> f.completeExceptionally(new GatewayException(
+                        format("Request %d was still outstanding when the request handler closed", requestId), null))));
+    }
+
     protected void handleMessages(List<SerializedMessage> messages) {
         messages.forEach(m -> {
             CompletableFuture<Message> future = callbacks.remove(m.getRequestId());
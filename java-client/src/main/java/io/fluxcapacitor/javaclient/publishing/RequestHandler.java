@@ -3,6 +3,7 @@
 import io.fluxcapacitor.common.api.SerializedMessage;
 import io.fluxcapacitor.javaclient.common.Message;
 
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
@@ -10,4 +11,12 @@ public interface RequestHandler {
 
    CompletableFuture<Message> sendRequest(SerializedMessage request, Consumer<SerializedMessage> requestSender);
 
+   /*
+       Sends a request of which the future is completed exceptionally if no result comes in before the timeout
+    */
+   default CompletableFuture<Message> sendRequest(SerializedMessage request, Consumer<SerializedMessage> requestSender,
+                                                  Duration timeout) {
+       return sendRequest(request, requestSender);
+   }
+
 }
@@ -0,0 +1,15 @@
+package io.fluxcapacitor.javaclient.publishing.claimcheck;
+
+public enum ClaimCheckCleanup {
+    /**
+     * Payloads stay in the key value store. Use this for messages that are handled by more than one consumer or are
+     * read again later, e.g. events.
+     */
+    RETAIN,
+
+    /**
+     * Payloads are removed from the key value store once the batch containing the message has been handled. Only use
+     * this for messages that are handled by a single consumer, e.g. commands, queries and results.
+     */
+    DELETE_AFTER_HANDLING
+}
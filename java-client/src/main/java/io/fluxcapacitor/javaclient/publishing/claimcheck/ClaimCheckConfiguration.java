@@ -0,0 +1,17 @@
+package io.fluxcapacitor.javaclient.publishing.claimcheck;
+
+import lombok.Builder;
+import lombok.Builder.Default;
+import lombok.Value;
+
+@Value
+@Builder(builderClassName = "Builder", toBuilder = true)
+public class ClaimCheckConfiguration {
+
+    public static final ClaimCheckConfiguration DEFAULT = ClaimCheckConfiguration.builder().build();
+
+    @Default
+    int payloadSizeThreshold = 256 * 1024;
+    @Default
+    ClaimCheckCleanup cleanup = ClaimCheckCleanup.RETAIN;
+}
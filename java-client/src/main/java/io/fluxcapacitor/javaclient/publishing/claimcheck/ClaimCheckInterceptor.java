@@ -0,0 +1,116 @@
+package io.fluxcapacitor.javaclient.publishing.claimcheck;
+
+import io.fluxcapacitor.common.Guarantee;
+import io.fluxcapacitor.common.api.Data;
+import io.fluxcapacitor.common.api.Metadata;
+import io.fluxcapacitor.common.api.SerializedMessage;
+import io.fluxcapacitor.common.api.tracking.MessageBatch;
+import io.fluxcapacitor.javaclient.common.Message;
+import io.fluxcapacitor.javaclient.common.serialization.SerializationException;
+import io.fluxcapacitor.javaclient.keyvalue.client.KeyValueClient;
+import io.fluxcapacitor.javaclient.publishing.DispatchInterceptor;
+import io.fluxcapacitor.javaclient.publishing.GatewayException;
+import io.fluxcapacitor.javaclient.tracking.BatchInterceptor;
+import io.fluxcapacitor.javaclient.tracking.Tracker;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static io.fluxcapacitor.common.ObjectUtils.memoize;
+import static java.lang.String.format;
+import static java.util.UUID.randomUUID;
+
+/**
+ * Moves payloads that exceed the configured size threshold to the key value store when a message is dispatched. The
+ * dispatched message only carries a reference to the payload in its metadata. Consumers fetch the payload lazily, i.e.
+ * only when the payload of the message is deserialized.
+ */
+@AllArgsConstructor
+@Slf4j
+public class ClaimCheckInterceptor implements DispatchInterceptor, BatchInterceptor {
+
+    public static String METADATA_KEY = "$claimCheck";
+
+    private final KeyValueClient keyValueClient;
+    private final ClaimCheckConfiguration configuration;
+
+    @Override
+    public Function<Message, SerializedMessage> interceptDispatch(Function<Message, SerializedMessage> function) {
+        return m -> {
+            SerializedMessage result = function.apply(m);
+            Data<byte[]> data = result.getData();
+            boolean largePayload = data.getValue().length > configuration.getPayloadSizeThreshold();
+            if (!largePayload && !result.getMetadata().containsKey(METADATA_KEY)) {
+                return result;
+            }
+            /*
+                The metadata is copied because it may be shared with the dispatched message. A reference left by an
+                earlier dispatch of the message (e.g. when a handled message is sent again) is removed.
+             */
+            Metadata metadata = Metadata.from(result.getMetadata());
+            metadata.remove(METADATA_KEY);
+            if (largePayload) {
+                String key = randomUUID().toString();
+                storePayload(key, data);
+                metadata.put(METADATA_KEY, key);
+                data = new Data<>(new byte[0], data.getType(), data.getRevision());
+            }
+            return result.withMetadata(metadata).withData(data);
+        };
+    }
+
+    @Override
+    public Consumer<MessageBatch> intercept(Consumer<MessageBatch> consumer, Tracker tracker) {
+        return batch -> {
+            List<String> keys = new ArrayList<>();
+            for (SerializedMessage message : batch.getMessages()) {
+                String key = resolve(message);
+                if (key != null) {
+                    keys.add(key);
+                }
+            }
+            consumer.accept(batch);
+            if (!keys.isEmpty() && configuration.getCleanup() == ClaimCheckCleanup.DELETE_AFTER_HANDLING) {
+                try {
+                    keyValueClient.deleteValues(keys);
+                } catch (Exception e) {
+                    log.warn("Failed to delete claim checked payloads with keys {}", keys, e);
+                }
+            }
+        };
+    }
+
+    /*
+        Replaces the data of a claim checked message with data that fetches the payload from the key value store once
+        its value is requested. Returns the key of the payload or null if the message was not claim checked.
+     */
+    public String resolve(SerializedMessage message) {
+        if (message.getMetadata() == null || !message.getMetadata().containsKey(METADATA_KEY)) {
+            return null;
+        }
+        String key = message.getMetadata().get(METADATA_KEY);
+        Data<byte[]> data = message.getData();
+        message.setData(new Data<byte[]>(memoize(() -> fetchPayload(key)), data.getType(), data.getRevision()));
+        return key;
+    }
+
+    protected void storePayload(String key, Data<byte[]> data) {
+        try {
+            keyValueClient.putValue(key, data, Guarantee.STORED).await();
+        } catch (Exception e) {
+            throw new GatewayException(format("Failed to store claim checked payload with key %s", key), e);
+        }
+    }
+
+    protected byte[] fetchPayload(String key) {
+        Data<byte[]> payload = keyValueClient.getValue(key);
+        if (payload == null) {
+            throw new SerializationException(format("Claim checked payload with key %s could not be found", key));
+        }
+        return payload.getValue();
+    }
+}
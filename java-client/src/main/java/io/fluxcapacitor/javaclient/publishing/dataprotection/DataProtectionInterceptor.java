@@ -2,60 +2,133 @@
 
 import io.fluxcapacitor.common.Guarantee;
 import io.fluxcapacitor.common.api.SerializedMessage;
+import io.fluxcapacitor.common.api.tracking.MessageBatch;
 import io.fluxcapacitor.common.handling.Handler;
 import io.fluxcapacitor.common.reflection.ReflectionUtils;
 import io.fluxcapacitor.javaclient.common.Message;
 import io.fluxcapacitor.javaclient.common.serialization.DeserializingMessage;
+import io.fluxcapacitor.javaclient.common.serialization.FieldExclusion;
 import io.fluxcapacitor.javaclient.common.serialization.Serializer;
 import io.fluxcapacitor.javaclient.keyvalue.KeyValueStore;
 import io.fluxcapacitor.javaclient.publishing.DispatchInterceptor;
+import io.fluxcapacitor.javaclient.tracking.BatchInterceptor;
+import io.fluxcapacitor.javaclient.tracking.Tracker;
 import io.fluxcapacitor.javaclient.tracking.handling.HandlerInterceptor;
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 
+import java.lang.reflect.Field;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
+import static io.fluxcapacitor.common.ObjectUtils.memoize;
 import static io.fluxcapacitor.common.reflection.ReflectionUtils.getAnnotatedFields;
 import static io.fluxcapacitor.common.reflection.ReflectionUtils.getProperty;
-import static io.fluxcapacitor.common.reflection.ReflectionUtils.setField;
 import static java.util.UUID.randomUUID;
 
-@AllArgsConstructor
-public class DataProtectionInterceptor implements DispatchInterceptor, HandlerInterceptor {
+@RequiredArgsConstructor
+public class DataProtectionInterceptor implements DispatchInterceptor, HandlerInterceptor, BatchInterceptor {
 
     public static String METADATA_KEY = "$protectedData";
 
+    private static final ThreadLocal<Map<String, Object>> prefetchedValues = new ThreadLocal<>();
+
     private final KeyValueStore keyValueStore;
     private final Serializer serializer;
-    
+    private final Function<Class<?>, List<Field>> protectedFields =
+            memoize(type -> getAnnotatedFields(type, ProtectData.class));
+
     @Override
     @SuppressWarnings("unchecked")
     public Function<Message, SerializedMessage> interceptDispatch(Function<Message, SerializedMessage> function) {
         return m -> {
-            Map<String, String> protectedFields = new HashMap<>();
-            if (m.getMetadata().containsKey(METADATA_KEY)) {
-                protectedFields.putAll(m.getMetadata().get(METADATA_KEY, Map.class));
-            } else {
-                Object payload = m.getPayload();
-                getAnnotatedFields(m.getPayload(), ProtectData.class).forEach(field -> {
-                    Object value = getProperty(field, payload);
-                    if (value != null) {
-                        String key = randomUUID().toString();
-                        keyValueStore.store(key, value, Guarantee.STORED);
-                        protectedFields.put(field.getName(), key);
-                    }
+            Object payload = m.getPayload();
+            boolean alreadyProtected = m.getMetadata().containsKey(METADATA_KEY);
+            if (!alreadyProtected && (payload == null || protectedFields.apply(payload.getClass()).isEmpty())) {
+                return function.apply(m);
+            }
+
+            /*
+                Protected values are collected while the payload is serialized. If the message was protected before
+                (e.g. when it gets sent again) the values have already been stored.
+             */
+            Map<String, Object> protectedValues = new HashMap<>();
+            BiConsumer<String, Object> valueConsumer = alreadyProtected ? (name, value) -> {} : protectedValues::put;
+            FieldExclusion fieldExclusion = new FieldExclusion(payload, ProtectData.class, valueConsumer);
+            SerializedMessage result = fieldExclusion.apply(() -> function.apply(m));
+            if (!fieldExclusion.isApplied()) {
+                result = withoutProtectedFields(result, valueConsumer);
+            }
+
+            if (!protectedValues.isEmpty()) {
+                Map<String, String> protectedKeys = new HashMap<>();
+                Map<String, Object> valuesByKey = new HashMap<>();
+                protectedValues.forEach((name, value) -> {
+                    String key = randomUUID().toString();
+                    protectedKeys.put(name, key);
+                    valuesByKey.put(key, value);
                 });
-                if (!protectedFields.isEmpty()) {
-                    m.getMetadata().put(METADATA_KEY, protectedFields);
+                keyValueStore.storeAll(valuesByKey, Guarantee.STORED);
+                m.getMetadata().put(METADATA_KEY, protectedKeys);
+                result.getMetadata().put(METADATA_KEY, protectedKeys);
+            }
+            return result;
+        };
+    }
+
+    /*
+        Fallback for when the payload was not written while excluding its protected fields, e.g. because an inner
+        interceptor replaced the payload. The protected fields are cleared in the payload that was actually serialized,
+        so changes made by inner interceptors are kept.
+     */
+    private SerializedMessage withoutProtectedFields(SerializedMessage message,
+                                                     BiConsumer<String, Object> valueConsumer) {
+        Object payload = serializer.deserialize(message.getData());
+        List<Field> fields = payload == null ? Collections.emptyList() : protectedFields.apply(payload.getClass());
+        if (fields.isEmpty()) {
+            return message;
+        }
+        for (Field field : fields) {
+            Object value = getProperty(field, payload);
+            if (value != null) {
+                valueConsumer.accept(field.getName(), value);
+            }
+            ReflectionUtils.setField(field, payload, null);
+        }
+        return message.withData(serializer.serialize(payload));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Consumer<MessageBatch> intercept(Consumer<MessageBatch> consumer, Tracker tracker) {
+        return batch -> {
+            Set<String> keys = new HashSet<>();
+            for (SerializedMessage message : batch.getMessages()) {
+                if (message.getMetadata() != null && message.getMetadata().containsKey(METADATA_KEY)) {
+                    keys.addAll(message.getMetadata().get(METADATA_KEY, Map.class).values());
                 }
             }
-            if (!protectedFields.isEmpty()) {
-                Object payloadCopy = serializer.deserialize(serializer.serialize(m.getPayload()));
-                protectedFields.forEach((name, key) -> setField(name, payloadCopy, null));
-                m = m.withPayload(payloadCopy);
+            if (keys.isEmpty()) {
+                consumer.accept(batch);
+                return;
+            }
+            Map<String, Object> previous = prefetchedValues.get();
+            prefetchedValues.set(new HashMap<>(keyValueStore.getAll(keys)));
+            try {
+                consumer.accept(batch);
+            } finally {
+                if (previous == null) {
+                    prefetchedValues.remove();
+                } else {
+                    prefetchedValues.set(previous);
+                }
             }
-            return function.apply(m);
         };
     }
 
@@ -67,14 +140,24 @@ public Function<DeserializingMessage, Object> interceptHandling(Function<Deseria
         return m -> {
             if (m.getMetadata().containsKey(METADATA_KEY)) {
                 Object payload = m.getPayload();
-                Map<String, String> protectedFields = m.getMetadata().get(METADATA_KEY, Map.class);
-                boolean dropProtectedData = handler.getMethod(m).isAnnotationPresent(DropProtectedData.class);
-                protectedFields.forEach((fieldName, key) -> {
-                    ReflectionUtils.setField(fieldName, payload, keyValueStore.get(key));
-                    if (dropProtectedData) {
-                        keyValueStore.delete(key);
-                    }
-                });
+                Map<String, String> protectedKeys = m.getMetadata().get(METADATA_KEY, Map.class);
+                Map<String, Object> prefetched = prefetchedValues.get();
+                if (prefetched == null) {
+                    prefetched = Collections.emptyMap();
+                }
+                Set<String> missingKeys = new HashSet<>(protectedKeys.values());
+                missingKeys.removeAll(prefetched.keySet());
+                Map<String, Object> fetched = missingKeys.isEmpty()
+                        ? Collections.emptyMap() : keyValueStore.getAll(missingKeys);
+                for (Map.Entry<String, String> entry : protectedKeys.entrySet()) {
+                    String key = entry.getValue();
+                    Object value = prefetched.containsKey(key) ? prefetched.get(key) : fetched.get(key);
+                    ReflectionUtils.setField(entry.getKey(), payload, value);
+                }
+                if (handler.getMethod(m).isAnnotationPresent(DropProtectedData.class)) {
+                    keyValueStore.deleteAll(protectedKeys.values());
+                    prefetched.keySet().removeAll(protectedKeys.values());
+                }
             }
             return function.apply(m);
         };
@@ -33,6 +33,6 @@ public Function<Message, SerializedMessage> interceptDispatch(Function<Message,
                     SerializedMessage serializedMessage = function.apply(m);
                     serializedMessage.setSegment(s);
                     return serializedMessage;
-                }).orElse(function.apply(m));
+                }).orElseGet(() -> function.apply(m));
     }
 }
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2016-2018 Flux Capacitor.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fluxcapacitor.javaclient.publishing.routing;
+
+import io.fluxcapacitor.common.api.Metadata;
+import io.fluxcapacitor.common.api.SerializedMessage;
+import io.fluxcapacitor.javaclient.common.Message;
+import io.fluxcapacitor.javaclient.publishing.DispatchInterceptor;
+
+import java.util.function.Function;
+
+import static io.fluxcapacitor.common.reflection.ReflectionUtils.getAnnotatedPropertyValue;
+
+/*
+    Adds the routing key of a message to its metadata, so consumers can read it without deserializing the payload.
+    Registered for commands by FluxCapacitorBuilder#enableModelPrefetching.
+ */
+public class RoutingKeyMetadataInterceptor implements DispatchInterceptor {
+    public static final String METADATA_KEY = "$routingKey";
+
+    @Override
+    public Function<Message, SerializedMessage> interceptDispatch(Function<Message, SerializedMessage> function) {
+        return m -> {
+            SerializedMessage result = function.apply(m);
+            return getAnnotatedPropertyValue(m.getPayload(), RoutingKey.class).map(Object::toString)
+                    .map(routingKey -> {
+                        Metadata metadata = Metadata.from(result.getMetadata());
+                        metadata.put(METADATA_KEY, routingKey);
+                        return result.withMetadata(metadata);
+                    }).orElse(result);
+        };
+    }
+}
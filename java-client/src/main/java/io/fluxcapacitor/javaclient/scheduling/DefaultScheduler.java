@@ -9,6 +9,7 @@
 import lombok.AllArgsConstructor;
 
 import java.time.Instant;
+import java.util.Collection;
 
 @AllArgsConstructor
 public class DefaultScheduler implements Scheduler {
@@ -19,13 +20,25 @@ public class DefaultScheduler implements Scheduler {
     @Override
     public void schedule(String scheduleId, Instant timestamp, Object payload, Metadata metadata) {
         try {
-            client.schedule(new ScheduledMessage(scheduleId, timestamp.toEpochMilli(),
-                                                 serializer.serialize(new Message(payload, metadata, MessageType.SCHEDULE)))).await();
+            client.schedule(toScheduledMessage(new ScheduledPayload(scheduleId, timestamp, payload, metadata))).await();
         } catch (Exception e) {
             throw new SchedulerException(String.format("Failed to schedule message %s for %s", payload, timestamp), e);
         }
     }
 
+    @Override
+    public void scheduleAll(Collection<ScheduledPayload> schedules) {
+        if (schedules.isEmpty()) {
+            return;
+        }
+        try {
+            client.schedule(schedules.stream().map(this::toScheduledMessage).toArray(ScheduledMessage[]::new))
+                    .await();
+        } catch (Exception e) {
+            throw new SchedulerException(String.format("Failed to schedule %d messages", schedules.size()), e);
+        }
+    }
+
     @Override
     public void cancelSchedule(String scheduleId) {
         try {
@@ -34,4 +47,22 @@ public void cancelSchedule(String scheduleId) {
             throw new SchedulerException(String.format("Failed to cancel schedule with id %s", scheduleId), e);
         }
     }
+
+    @Override
+    public void cancelSchedules(Collection<String> scheduleIds) {
+        if (scheduleIds.isEmpty()) {
+            return;
+        }
+        try {
+            client.cancelSchedules(scheduleIds).await();
+        } catch (Exception e) {
+            throw new SchedulerException(String.format("Failed to cancel schedules with ids %s", scheduleIds), e);
+        }
+    }
+
+    private ScheduledMessage toScheduledMessage(ScheduledPayload schedule) {
+        Message message = new Message(schedule.getPayload(), schedule.getMetadata(), MessageType.SCHEDULE);
+        return new ScheduledMessage(schedule.getScheduleId(), schedule.getDeadline().toEpochMilli(),
+                                    serializer.serialize(message));
+    }
 }
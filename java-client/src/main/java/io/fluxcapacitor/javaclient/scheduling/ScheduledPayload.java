@@ -0,0 +1,20 @@
+package io.fluxcapacitor.javaclient.scheduling;
+
+import io.fluxcapacitor.common.api.Metadata;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.time.Instant;
+
+@Value
+@AllArgsConstructor
+public class ScheduledPayload {
+    String scheduleId;
+    Instant deadline;
+    Object payload;
+    Metadata metadata;
+
+    public ScheduledPayload(String scheduleId, Instant deadline, Object payload) {
+        this(scheduleId, deadline, payload, Metadata.empty());
+    }
+}
@@ -3,6 +3,7 @@
 import io.fluxcapacitor.common.api.Metadata;
 
 import java.time.Instant;
+import java.util.Collection;
 
 public interface Scheduler {
 
@@ -12,6 +13,10 @@ default void schedule(String scheduleId, Instant timestamp, Object payload) {
 
     void schedule(String scheduleId, Instant timestamp, Object payload, Metadata metadata);
 
+    void scheduleAll(Collection<ScheduledPayload> schedules);
+
     void cancelSchedule(String scheduleId);
 
+    void cancelSchedules(Collection<String> scheduleIds);
+
 }
@@ -0,0 +1,69 @@
+package io.fluxcapacitor.javaclient.scheduling.client;
+
+import io.fluxcapacitor.common.Guarantee;
+import io.fluxcapacitor.common.api.Data;
+import io.fluxcapacitor.common.api.scheduling.ScheduledMessage;
+import io.fluxcapacitor.javaclient.keyvalue.client.FileKeyValueClient;
+import io.fluxcapacitor.javaclient.tracking.client.FileMessageLog;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+
+/*
+    Keeps pending schedules in a FileKeyValueClient, so they survive restarts. Schedules are stored by schedule id
+    when they are added and deleted when they are cancelled or consumed. On startup the pending schedules are added
+    again. Schedules of which the deadline has passed in the meantime are then indexed at the current time, so they
+    are picked up right away.
+ */
+public class FileSchedulingClient extends InMemorySchedulingClient {
+
+    private static final String TYPE = "schedule";
+
+    private final FileKeyValueClient store;
+    private volatile boolean recovered;
+
+    public FileSchedulingClient(File directory) {
+        this(new FileKeyValueClient(directory));
+    }
+
+    public FileSchedulingClient(FileKeyValueClient store) {
+        this.store = store;
+        schedule(store.getKeys().stream().map(id -> decode(id, store.getValue(id)))
+                         .toArray(ScheduledMessage[]::new));
+        recovered = true;
+    }
+
+    @Override
+    protected void storeSchedule(ScheduledMessage schedule) {
+        if (recovered) {
+            store.putValue(schedule.getScheduleId(), encode(schedule), Guarantee.SENT);
+        }
+    }
+
+    @Override
+    protected void removeSchedule(String scheduleId) {
+        store.deleteValue(scheduleId);
+    }
+
+    @Override
+    public void close() {
+        store.close();
+    }
+
+    /*
+        Value encoding: deadline, message
+     */
+
+    private static Data<byte[]> encode(ScheduledMessage schedule) {
+        ByteBuffer message = FileMessageLog.encode(schedule.getMessage());
+        ByteBuffer buffer = ByteBuffer.allocate(8 + message.remaining());
+        buffer.putLong(schedule.getTimestamp()).put(message);
+        return new Data<>(buffer.array(), TYPE, 0);
+    }
+
+    private static ScheduledMessage decode(String scheduleId, Data<byte[]> value) {
+        ByteBuffer buffer = ByteBuffer.wrap(value.getValue());
+        long timestamp = buffer.getLong();
+        return new ScheduledMessage(scheduleId, timestamp, FileMessageLog.decode(buffer.slice()));
+    }
+}
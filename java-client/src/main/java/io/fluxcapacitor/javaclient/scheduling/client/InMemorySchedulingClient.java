@@ -1,7 +1,6 @@
 package io.fluxcapacitor.javaclient.scheduling.client;
 
 import io.fluxcapacitor.common.Awaitable;
-import io.fluxcapacitor.common.IndexUtils;
 import io.fluxcapacitor.common.api.SerializedMessage;
 import io.fluxcapacitor.common.api.scheduling.ScheduledMessage;
 import io.fluxcapacitor.common.api.tracking.MessageBatch;
@@ -9,59 +8,158 @@
 import io.fluxcapacitor.javaclient.tracking.client.InMemoryMessageStore;
 
 import java.time.Duration;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 
+import static io.fluxcapacitor.common.IndexUtils.indexFromTimestamp;
 import static io.fluxcapacitor.common.IndexUtils.timeFromIndex;
-import static io.fluxcapacitor.common.TimingUtils.isMissedDeadline;
+import static java.lang.Thread.currentThread;
 import static java.util.stream.Collectors.toList;
 
+/*
+    Keeps pending schedules ordered by deadline, i.e. the index of a schedule is derived from its deadline. Schedules
+    are also indexed by id, so cancelling or replacing a schedule does not require a scan. Trackers wait until the
+    first pending deadline after their position has passed or until a new schedule comes in. Schedules are removed
+    once a tracker has stored a position beyond them, so memory use is bounded by the number of pending schedules.
+ */
 public class InMemorySchedulingClient extends InMemoryMessageStore implements SchedulingClient {
 
-    private final ConcurrentSkipListMap<Long, String> times = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<Long, ScheduledMessage> schedules = new ConcurrentSkipListMap<>();
+    private final Map<String, Long> scheduleIndex = new ConcurrentHashMap<>();
+    private final Map<String, Long> positions = new ConcurrentHashMap<>();
 
     @Override
     public MessageBatch readAndWait(String consumer, int channel, int maxSize, Duration maxTimeout, String typeFilter,
                                     boolean ignoreMessageTarget, TrackingStrategy readStrategy) {
-        MessageBatch messageBatch = super.readAndWait(consumer, channel, maxSize, maxTimeout, typeFilter, ignoreMessageTarget,
-                                                      readStrategy);
-        List<SerializedMessage> messages = messageBatch.getMessages().stream()
-                .filter(m -> times.containsKey(m.getIndex()))
-                .filter(m -> isMissedDeadline(timeFromIndex(m.getIndex())))
-                .collect(toList());
+        if (channel != 0) {
+            return new MessageBatch(new int[]{0, 1}, Collections.emptyList(), null);
+        }
+        long deadline = System.currentTimeMillis() + maxTimeout.toMillis();
+        synchronized (this) {
+            while (true) {
+                long lastIndex = positions.getOrDefault(consumer, -1L);
+                long now = System.currentTimeMillis();
+                Map<Long, ScheduledMessage> due = schedules.subMap(lastIndex, false, indexFromTimestamp(now), false);
+                if (!due.isEmpty()) {
+                    return createBatch(due, maxSize, typeFilter);
+                }
+                if (now >= deadline) {
+                    return new MessageBatch(new int[]{0, 1}, Collections.emptyList(), null);
+                }
+                Long next = schedules.higherKey(lastIndex);
+                try {
+                    this.wait(Math.min(deadline, next == null ? deadline : timeFromIndex(next) + 1) - now);
+                } catch (InterruptedException e) {
+                    currentThread().interrupt();
+                    return new MessageBatch(new int[]{0, 1}, Collections.emptyList(), null);
+                }
+            }
+        }
+    }
+
+    private MessageBatch createBatch(Map<Long, ScheduledMessage> due, int maxSize, String typeFilter) {
+        List<SerializedMessage> messages = new ArrayList<>();
+        Iterator<ScheduledMessage> iterator = due.values().iterator();
+        while (iterator.hasNext() && messages.size() < maxSize) {
+            messages.add(iterator.next().getMessage());
+        }
         Long lastIndex = messages.isEmpty() ? null : messages.get(messages.size() - 1).getIndex();
         if (typeFilter != null) {
             messages = messages.stream().filter(m -> m.getData().getType().matches(typeFilter)).collect(toList());
         }
-        return new MessageBatch(messageBatch.getSegment(), messages, lastIndex);
+        return new MessageBatch(new int[]{0, 1}, messages, lastIndex);
+    }
+
+    @Override
+    public List<SerializedMessage> readFromIndex(long minIndex, int maxSize) {
+        return schedules.tailMap(minIndex).values().stream().limit(maxSize).map(ScheduledMessage::getMessage)
+                .collect(toList());
     }
 
     @Override
     public Awaitable storePosition(String consumer, int[] segment, long lastIndex) {
-        times.headMap(lastIndex).clear();
-        return super.storePosition(consumer, segment, lastIndex);
+        synchronized (this) {
+            Map<Long, ScheduledMessage> consumed = schedules.headMap(lastIndex, true);
+            consumed.forEach((index, schedule) -> {
+                if (scheduleIndex.remove(schedule.getScheduleId(), index)) {
+                    removeSchedule(schedule.getScheduleId());
+                }
+            });
+            consumed.clear();
+        }
+        positions.put(consumer, lastIndex);
+        return Awaitable.ready();
+    }
+
+    @Override
+    public Awaitable resetPosition(String consumer, long lastIndex) {
+        positions.put(consumer, lastIndex);
+        return Awaitable.ready();
     }
 
+    /*
+        Schedules with a deadline in the past are indexed at the current time, so they are also picked up by trackers
+        that have already moved beyond their deadline.
+     */
     @Override
     public Awaitable schedule(ScheduledMessage... schedules) {
-        for (ScheduledMessage schedule : schedules) {
-            long index = IndexUtils.indexForCurrentTime();
-            while (times.putIfAbsent(index, schedule.getScheduleId()) != null) {
-                index++;
+        synchronized (this) {
+            for (ScheduledMessage schedule : schedules) {
+                cancelSchedule(schedule.getScheduleId());
+                long index = indexFromTimestamp(Math.max(schedule.getTimestamp(), System.currentTimeMillis()));
+                while (this.schedules.putIfAbsent(index, schedule) != null) {
+                    index++;
+                }
+                schedule.getMessage().setIndex(index);
+                scheduleIndex.put(schedule.getScheduleId(), index);
+                storeSchedule(schedule);
+                notifyMonitors(schedule.getMessage());
             }
-            schedule.getMessage().setIndex(index);
+            this.notifyAll();
+        }
+        return Awaitable.ready();
+    }
+
+    @Override
+    public synchronized Awaitable cancelSchedule(String scheduleId) {
+        Long index = scheduleIndex.remove(scheduleId);
+        if (index != null) {
+            schedules.remove(index);
+            removeSchedule(scheduleId);
         }
-        super.send(Arrays.stream(schedules).map(ScheduledMessage::getMessage).toArray(SerializedMessage[]::new));
         return Awaitable.ready();
     }
 
     @Override
-    public Awaitable cancelSchedule(String scheduleId) {
-        times.values().removeIf(s -> s.equals(scheduleId));
+    public synchronized Awaitable cancelSchedules(Collection<String> scheduleIds) {
+        scheduleIds.forEach(this::cancelSchedule);
         return Awaitable.ready();
     }
 
+    /*
+        Invoked after a schedule was added and its message was given an index
+     */
+    protected void storeSchedule(ScheduledMessage schedule) {
+        //no op
+    }
+
+    /*
+        Invoked after a schedule was cancelled or consumed
+     */
+    protected void removeSchedule(String scheduleId) {
+        //no op
+    }
+
+    public int getPendingScheduleCount() {
+        return schedules.size();
+    }
+
     @Override
     public Awaitable send(SerializedMessage... messages) {
         throw new UnsupportedOperationException("Use method #schedule instead");
@@ -3,12 +3,18 @@
 import io.fluxcapacitor.common.Awaitable;
 import io.fluxcapacitor.common.api.scheduling.ScheduledMessage;
 
+import java.util.Collection;
+
 public interface SchedulingClient extends AutoCloseable {
 
     Awaitable schedule(ScheduledMessage... schedules);
 
     Awaitable cancelSchedule(String scheduleId);
 
+    default Awaitable cancelSchedules(Collection<String> scheduleIds) {
+        return scheduleIds.stream().map(this::cancelSchedule).reduce(Awaitable::join).orElse(Awaitable.ready());
+    }
+
     @Override
     void close();
 }
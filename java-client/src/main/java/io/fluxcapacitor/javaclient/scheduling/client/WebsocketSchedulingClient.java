@@ -17,6 +17,7 @@
 import io.fluxcapacitor.common.Awaitable;
 import io.fluxcapacitor.common.Backlog;
 import io.fluxcapacitor.common.api.scheduling.CancelSchedule;
+import io.fluxcapacitor.common.api.scheduling.CancelSchedules;
 import io.fluxcapacitor.common.api.scheduling.Schedule;
 import io.fluxcapacitor.common.api.scheduling.ScheduledMessage;
 import io.fluxcapacitor.javaclient.common.websocket.AbstractWebsocketClient;
@@ -26,6 +27,8 @@
 
 import javax.websocket.ClientEndpoint;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 @Slf4j
@@ -33,6 +36,7 @@
 public class WebsocketSchedulingClient extends AbstractWebsocketClient implements SchedulingClient {
 
     private final Backlog<ScheduledMessage> backlog;
+    private final Backlog<String> cancellationBacklog;
 
     public WebsocketSchedulingClient(String endPointUrl) {
         this(URI.create(endPointUrl));
@@ -41,12 +45,17 @@ public WebsocketSchedulingClient(String endPointUrl) {
     public WebsocketSchedulingClient(URI endpointUri) {
         super(endpointUri);
         backlog = new Backlog<>(this::scheduleMessages);
+        cancellationBacklog = new Backlog<>(this::cancelScheduledMessages);
     }
 
     protected Awaitable scheduleMessages(List<ScheduledMessage> scheduledMessages) {
         return send(new Schedule(scheduledMessages));
     }
 
+    protected Awaitable cancelScheduledMessages(List<String> scheduleIds) {
+        return send(new CancelSchedules(new ArrayList<>(scheduleIds)));
+    }
+
     @Override
     public Awaitable schedule(ScheduledMessage... schedules) {
         return backlog.add(schedules);
@@ -56,4 +65,9 @@ public Awaitable schedule(ScheduledMessage... schedules) {
     public Awaitable cancelSchedule(String scheduleId) {
         return send(new CancelSchedule(scheduleId));
     }
+
+    @Override
+    public Awaitable cancelSchedules(Collection<String> scheduleIds) {
+        return scheduleIds.isEmpty() ? Awaitable.ready() : cancellationBacklog.add(scheduleIds);
+    }
 }
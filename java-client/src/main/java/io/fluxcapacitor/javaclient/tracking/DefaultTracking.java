@@ -29,6 +29,11 @@
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
@@ -36,6 +41,7 @@
 import static io.fluxcapacitor.common.handling.HandlerInspector.createHandlers;
 import static java.lang.String.format;
 import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
 
 @AllArgsConstructor
 @Slf4j
@@ -75,37 +81,120 @@ public Registration start(FluxCapacitor fluxCapacitor, List<?> handlers) {
 
     protected Registration startTracking(ConsumerConfiguration configuration, List<Object> handlers,
                                          FluxCapacitor fluxCapacitor) {
-        Consumer<List<SerializedMessage>> consumer = createConsumer(configuration, handlers);
+        String trackerName = configuration.prependApplicationName()
+                ? format("%s_%s", fluxCapacitor.client().name(), configuration.getName())
+                : configuration.getName();
+        ExecutorService deserializationExecutor = configuration.getTrackingConfiguration().isParallelDeserialization()
+                ? createDeserializationExecutor(trackerName, configuration.getTrackingConfiguration()) : null;
+        Consumer<List<SerializedMessage>> consumer = createConsumer(configuration, handlers, deserializationExecutor);
         List<BatchInterceptor> batchInterceptors = new ArrayList<>(
                 Arrays.asList(new FluxCapacitorInterceptor(fluxCapacitor),
                               new CacheInvalidatingInterceptor(fluxCapacitor.eventSourcing())));
         batchInterceptors.addAll(configuration.getTrackingConfiguration().getBatchInterceptors());
         TrackingConfiguration config = configuration.getTrackingConfiguration().toBuilder()
                 .clearBatchInterceptors().batchInterceptors(batchInterceptors).build();
-        String trackerName = configuration.prependApplicationName()
-                ? format("%s_%s", fluxCapacitor.client().name(), configuration.getName())
-                : configuration.getName();
-        return TrackingUtils.start(trackerName, consumer, trackingClient, config);
+        Registration registration = TrackingUtils.start(trackerName, consumer, trackingClient, config);
+        return deserializationExecutor == null
+                ? registration : registration.merge(deserializationExecutor::shutdownNow);
+    }
+
+    protected ExecutorService createDeserializationExecutor(String trackerName, TrackingConfiguration configuration) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, configuration.getDeserializationThreads()), r -> {
+            Thread thread = new Thread(r, format("%s-deserializer-%d", trackerName, threadCount.incrementAndGet()));
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     protected Consumer<List<SerializedMessage>> createConsumer(ConsumerConfiguration configuration,
                                                                List<Object> targets) {
+        return createConsumer(configuration, targets, null);
+    }
+
+    /*
+        If an executor is passed, batches are split into chunks. The first chunk is upcast and deserialized on the
+        tracker thread, the other chunks on the executor. Handling still takes place in order on the tracker thread,
+        so it overlaps with the deserialization of the chunks that follow.
+     */
+    protected Consumer<List<SerializedMessage>> createConsumer(ConsumerConfiguration configuration,
+                                                               List<Object> targets,
+                                                               ExecutorService deserializationExecutor) {
         List<Handler<DeserializingMessage>> handlers = createHandlers(targets, handlerAnnotation, parameterResolvers);
+        int chunkSize = Math.max(1, configuration.getTrackingConfiguration().getDeserializationChunkSize());
         return serializedMessages -> {
-            Stream<DeserializingMessage> messages =
-                    serializer.deserialize(serializedMessages.stream(), false)
-                            .map(m -> new DeserializingMessage(m, messageType));
-            messages.forEach(m -> {
-                try {
-                    DeserializingMessage.setCurrent(m);
-                    handlers.forEach(h -> tryHandle(m, h, configuration));
-                } finally {
-                    DeserializingMessage.removeCurrent();
+            if (deserializationExecutor == null || serializedMessages.size() <= chunkSize) {
+                deserialize(serializedMessages).forEach(m -> handle(m, handlers, configuration));
+                return;
+            }
+            List<Future<List<DeserializingMessage>>> chunks = new ArrayList<>();
+            try {
+                for (int i = chunkSize; i < serializedMessages.size(); i += chunkSize) {
+                    List<SerializedMessage> chunk =
+                            serializedMessages.subList(i, Math.min(i + chunkSize, serializedMessages.size()));
+                    chunks.add(deserializationExecutor.submit(() -> deserializeChunk(chunk, handlers)));
                 }
-            });
+                deserialize(serializedMessages.subList(0, chunkSize)).forEach(m -> handle(m, handlers, configuration));
+                for (Future<List<DeserializingMessage>> chunk : chunks) {
+                    awaitChunk(chunk).forEach(m -> handle(m, handlers, configuration));
+                }
+            } finally {
+                chunks.forEach(c -> c.cancel(false));
+            }
         };
     }
 
+    protected Stream<DeserializingMessage> deserialize(List<SerializedMessage> serializedMessages) {
+        return serializer.deserialize(serializedMessages.stream(), false)
+                .map(m -> new DeserializingMessage(m, messageType));
+    }
+
+    /*
+        Upcasts the messages in the chunk and deserializes the payloads of messages that can be handled. Upcasting
+        errors fail the chunk and are rethrown on the tracker thread. Payloads that fail to deserialize are left to the
+        tracker thread, which will run into the same error while handling the message and pass it to the error handler.
+     */
+    protected List<DeserializingMessage> deserializeChunk(List<SerializedMessage> chunk,
+                                                          List<Handler<DeserializingMessage>> handlers) {
+        List<DeserializingMessage> messages = deserialize(chunk).collect(toList());
+        for (DeserializingMessage message : messages) {
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            try {
+                DeserializingMessage.setCurrent(message);
+                if (handlers.stream().anyMatch(h -> h.canHandle(message))) {
+                    message.getPayload();
+                }
+            } catch (Exception e) {
+                log.warn("Failed to deserialize a {} ahead of handling. Leaving it to the tracker thread.",
+                         message.getType(), e);
+            } finally {
+                DeserializingMessage.removeCurrent();
+            }
+        }
+        return messages;
+    }
+
+    @SneakyThrows
+    protected List<DeserializingMessage> awaitChunk(Future<List<DeserializingMessage>> chunk) {
+        try {
+            return chunk.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+    protected void handle(DeserializingMessage message, List<Handler<DeserializingMessage>> handlers,
+                          ConsumerConfiguration configuration) {
+        try {
+            DeserializingMessage.setCurrent(message);
+            handlers.forEach(h -> tryHandle(message, h, configuration));
+        } finally {
+            DeserializingMessage.removeCurrent();
+        }
+    }
+
     @SneakyThrows
     protected void tryHandle(DeserializingMessage message, Handler<DeserializingMessage> handler,
                              ConsumerConfiguration config) {
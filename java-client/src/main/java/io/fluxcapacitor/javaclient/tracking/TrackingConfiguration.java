@@ -49,4 +49,10 @@ public class TrackingConfiguration {
     boolean ignoreMessageTarget = false;
     @Default
     TrackingStrategy readStrategy = TrackingStrategy.NEW;
+    @Default
+    boolean parallelDeserialization = false;
+    @Default
+    int deserializationChunkSize = 64;
+    @Default
+    int deserializationThreads = Runtime.getRuntime().availableProcessors();
 }
@@ -0,0 +1,457 @@
+package io.fluxcapacitor.javaclient.tracking.client;
+
+import io.fluxcapacitor.common.api.Data;
+import io.fluxcapacitor.common.api.Metadata;
+import io.fluxcapacitor.common.api.SerializedMessage;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+import static io.fluxcapacitor.common.ObjectUtils.memoize;
+import static io.fluxcapacitor.javaclient.tracking.client.InMemoryMessageStore.MAX_SEGMENTS;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/*
+    Appends messages to memory-mapped segment files, so a message log and the positions of its consumers survive
+    restarts. Segment files are named after the index of their first message. Each segment keeps a sparse index with
+    the offset of every n-th record, so a read seeks to the nearest indexed record and scans from there. Readers never
+    look beyond the last complete record of a segment, so reads do not need to lock.
+
+    Each record consists of a header (length and checksum of the body) followed by the body. On startup all segments
+    are scanned in order and the scan stops at the first record that is incomplete or has an invalid checksum, so a
+    write that was interrupted by a crash is discarded.
+
+    The payload of a message that is read is not copied from the segment until it is used, so messages that are
+    filtered out or skipped by a tracker never have their payload copied to the heap.
+
+    Messages should be appended one at a time and in index order. Reads are safe while messages are appended.
+ */
+public class FileMessageLog implements AutoCloseable {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final String SEGMENT_SUFFIX = ".log", POSITIONS_SUFFIX = ".positions";
+    private static final int HEADER_SIZE = 8, SPARSE_INDEX_INTERVAL = 64;
+
+    private final File directory;
+    private final int segmentSize;
+    private final boolean forceOnSend;
+    private final NavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final Map<String, MappedByteBuffer> positionFiles = new ConcurrentHashMap<>();
+    private final AtomicLong messageCount = new AtomicLong();
+    private final AtomicLong messageBytes = new AtomicLong();
+    private volatile Segment activeSegment;
+
+    public FileMessageLog(File directory) {
+        this(directory, DEFAULT_SEGMENT_SIZE, false);
+    }
+
+    /*
+        If force on send is enabled the active segment is flushed to disk after each message, so messages also
+        survive a crash of the machine. Otherwise they only survive a crash of the process.
+     */
+    public FileMessageLog(File directory, int segmentSize, boolean forceOnSend) {
+        if (segmentSize < 1024) {
+            throw new IllegalArgumentException("Segment size should be at least 1kB");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.forceOnSend = forceOnSend;
+        recover();
+    }
+
+    public void append(SerializedMessage message) {
+        Segment segment = activeSegment;
+        if (segment != null && message.getIndex() <= segment.lastIndex) {
+            throw new IllegalArgumentException(String.format(
+                    "Cannot store message with index %d. The log already contains index %d.",
+                    message.getIndex(), segment.lastIndex));
+        }
+        ByteBuffer body = encode(message);
+        int recordSize = HEADER_SIZE + body.remaining();
+        if (segment == null || segment.remaining() < recordSize) {
+            if (segment != null) {
+                segment.force();
+            }
+            segment = newSegment(message.getIndex(), Math.max(segmentSize, recordSize));
+        }
+        segment.append(message.getIndex(), body);
+        if (forceOnSend) {
+            segment.force();
+        }
+        messageCount.incrementAndGet();
+        messageBytes.addAndGet(message.getData().getValue().length);
+    }
+
+    /*
+        Returns the messages with an index after the given index up to and including the max index, ordered by index
+     */
+    public Iterator<SerializedMessage> iterate(long afterIndex, long maxIndex) {
+        return new Iterator<SerializedMessage>() {
+            private Segment segment = Optional.ofNullable(segments.floorEntry(afterIndex + 1L))
+                    .map(Map.Entry::getValue).orElseGet(() -> segments.isEmpty() ? null : segments.firstEntry()
+                            .getValue());
+            private int offset = segment == null ? 0 : segment.seek(afterIndex + 1L);
+            private SerializedMessage next = afterIndex >= maxIndex ? null : advance();
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public SerializedMessage next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                SerializedMessage result = next;
+                next = advance();
+                return result;
+            }
+
+            private SerializedMessage advance() {
+                while (segment != null) {
+                    if (offset >= segment.position) {
+                        segment = Optional.ofNullable(segments.higherEntry(segment.firstIndex))
+                                .map(Map.Entry::getValue).orElse(null);
+                        offset = 0;
+                        continue;
+                    }
+                    ByteBuffer body = segment.body(offset);
+                    offset += HEADER_SIZE + body.remaining();
+                    long index = body.getLong(0);
+                    if (index > maxIndex) {
+                        segment = null;
+                    } else if (index > afterIndex) {
+                        return decode(body);
+                    }
+                }
+                return null;
+            }
+        };
+    }
+
+    /*
+        Returns the positions per segment stored earlier for the given consumer, or null if there are none
+     */
+    public long[] loadPositions(String consumer) {
+        return positionsFile(consumer).exists() ? readPositions(positionFile(consumer)) : null;
+    }
+
+    public void savePositions(String consumer, long[] positions) {
+        MappedByteBuffer buffer = positionFile(consumer);
+        buffer.duplicate().asLongBuffer().put(positions);
+        if (forceOnSend) {
+            buffer.force();
+        }
+    }
+
+    /*
+        Returns the index of the last message in the log, or -1 if the log is empty
+     */
+    public long getLastIndex() {
+        Segment segment = activeSegment;
+        return segment == null ? -1L : segment.lastIndex;
+    }
+
+    public long getMessageCount() {
+        return messageCount.get();
+    }
+
+    public long getMessageBytes() {
+        return messageBytes.get();
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public void close() {
+        segments.values().forEach(Segment::force);
+        positionFiles.values().forEach(MappedByteBuffer::force);
+    }
+
+    /*
+        Recovery
+     */
+
+    private void recover() {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalStateException("Could not create message log directory " + directory);
+        }
+        File[] files = Optional.ofNullable(directory.listFiles((dir, name) -> name.endsWith(SEGMENT_SUFFIX)))
+                .orElse(new File[0]);
+        for (File file : files) {
+            long firstIndex = Long.parseLong(
+                    file.getName().substring(0, file.getName().length() - SEGMENT_SUFFIX.length()));
+            segments.put(firstIndex, new Segment(firstIndex, file, (int) Math.max(segmentSize, file.length())));
+        }
+        long lastIndex = -1L;
+        for (Segment segment : segments.values()) {
+            int position = 0;
+            ByteBuffer body;
+            while ((body = segment.read(position)) != null && body.getLong(0) > lastIndex) {
+                lastIndex = body.getLong(0);
+                segment.addToIndex(lastIndex, position);
+                position += HEADER_SIZE + body.remaining();
+                messageCount.incrementAndGet();
+                messageBytes.addAndGet(payloadSize(body));
+            }
+            segment.position = position;
+        }
+        activeSegment = segments.isEmpty() ? null : segments.lastEntry().getValue();
+    }
+
+    private Segment newSegment(long firstIndex, int size) {
+        Segment segment = new Segment(firstIndex, new File(
+                directory, String.format("%020d%s", firstIndex, SEGMENT_SUFFIX)), size);
+        segments.put(firstIndex, segment);
+        activeSegment = segment;
+        return segment;
+    }
+
+    /*
+        Positions are stored per consumer in a file with one long for each segment
+     */
+
+    private File positionsFile(String consumer) {
+        try {
+            return new File(directory, URLEncoder.encode(consumer, UTF_8.name()) + POSITIONS_SUFFIX);
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private MappedByteBuffer positionFile(String consumer) {
+        return positionFiles.computeIfAbsent(consumer, c -> {
+            try (RandomAccessFile randomAccessFile = new RandomAccessFile(positionsFile(c), "rw")) {
+                return randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, MAX_SEGMENTS * 8);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not map positions of consumer " + c, e);
+            }
+        });
+    }
+
+    private static long[] readPositions(MappedByteBuffer buffer) {
+        long[] positions = new long[MAX_SEGMENTS];
+        buffer.duplicate().asLongBuffer().get(positions);
+        return positions;
+    }
+
+    /*
+        Record encoding: index, payload size, segment, timestamp, request id, message id, source, target, data type,
+        revision, metadata entries, payload. Also used to store messages elsewhere, e.g. pending schedules.
+     */
+
+    public static ByteBuffer encode(SerializedMessage message) {
+        byte[][] strings = {bytes(message.getMessageId()), bytes(message.getSource()), bytes(message.getTarget()),
+                bytes(message.getData().getType())};
+        Metadata metadata = Optional.ofNullable(message.getMetadata()).orElse(Metadata.empty());
+        byte[][] entries = new byte[metadata.size() * 2][];
+        int i = 0;
+        for (Map.Entry<String, String> entry : metadata.entrySet()) {
+            entries[i++] = bytes(entry.getKey());
+            entries[i++] = bytes(entry.getValue());
+        }
+        byte[] payload = message.getData().getValue();
+        int size = 8 + 4 + 5 + 9 + 5 + 4 + 4 + payload.length;
+        for (byte[] bytes : strings) {
+            size += 4 + (bytes == null ? 0 : bytes.length);
+        }
+        for (byte[] bytes : entries) {
+            size += 4 + (bytes == null ? 0 : bytes.length);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putLong(message.getIndex()).putInt(payload.length);
+        buffer.put((byte) (message.getSegment() == null ? 0 : 1))
+                .putInt(message.getSegment() == null ? 0 : message.getSegment());
+        buffer.put((byte) (message.getTimestamp() == null ? 0 : 1))
+                .putLong(message.getTimestamp() == null ? 0L : message.getTimestamp());
+        buffer.put((byte) (message.getRequestId() == null ? 0 : 1))
+                .putInt(message.getRequestId() == null ? 0 : message.getRequestId());
+        for (byte[] bytes : strings) {
+            putBytes(buffer, bytes);
+        }
+        buffer.putInt(message.getData().getRevision()).putInt(metadata.size());
+        for (byte[] bytes : entries) {
+            putBytes(buffer, bytes);
+        }
+        buffer.put(payload);
+        buffer.flip();
+        return buffer;
+    }
+
+    public static SerializedMessage decode(ByteBuffer body) {
+        ByteBuffer buffer = body.duplicate();
+        long index = buffer.getLong();
+        int payloadSize = buffer.getInt();
+        boolean hasSegment = buffer.get() != 0;
+        int segment = buffer.getInt();
+        boolean hasTimestamp = buffer.get() != 0;
+        long timestamp = buffer.getLong();
+        boolean hasRequestId = buffer.get() != 0;
+        int requestId = buffer.getInt();
+        String messageId = getString(buffer), source = getString(buffer), target = getString(buffer),
+                type = getString(buffer);
+        int revision = buffer.getInt();
+        int entryCount = buffer.getInt();
+        Map<String, String> entries = new HashMap<>();
+        for (int i = 0; i < entryCount; i++) {
+            entries.put(getString(buffer), getString(buffer));
+        }
+        ByteBuffer payload = buffer.slice();
+        Data<byte[]> data = new Data<>(memoize(() -> {
+            byte[] result = new byte[payloadSize];
+            payload.duplicate().get(result);
+            return result;
+        }), type, revision);
+        return new SerializedMessage(data, Metadata.from(entries), hasSegment ? segment : null, index, source,
+                                     target, hasRequestId ? requestId : null, hasTimestamp ? timestamp : null,
+                                     messageId);
+    }
+
+    private static int payloadSize(ByteBuffer body) {
+        return body.getInt(8);
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(UTF_8);
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(bytes.length).put(bytes);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    private static int checksum(ByteBuffer body) {
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+        return (int) crc.getValue();
+    }
+
+    private static class Segment {
+        private final long firstIndex;
+        private final MappedByteBuffer buffer;
+        private volatile long[] sparseIndexes = new long[16];
+        private volatile int[] sparseOffsets = new int[16];
+        private volatile int sparseCount;
+        private int recordCount;
+        private volatile long lastIndex = -1L;
+        private volatile int position;
+
+        Segment(long firstIndex, File file, int size) {
+            this.firstIndex = firstIndex;
+            try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+                buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not map message log segment " + file, e);
+            }
+        }
+
+        /*
+            Returns the body of the record at the given position or null if there is no valid record
+         */
+        ByteBuffer read(int offset) {
+            ByteBuffer view = buffer.duplicate();
+            if (offset > view.capacity() - HEADER_SIZE) {
+                return null;
+            }
+            int length = view.getInt(offset);
+            if (length < 8 || length > view.capacity() - offset - HEADER_SIZE) {
+                return null;
+            }
+            int checksum = view.getInt(offset + 4);
+            view.position(offset + HEADER_SIZE).limit(offset + HEADER_SIZE + length);
+            ByteBuffer body = view.slice();
+            return checksum(body) == checksum ? body : null;
+        }
+
+        /*
+            Returns the body of a record that is known to be complete, i.e. that lies before the position
+         */
+        ByteBuffer body(int offset) {
+            ByteBuffer view = buffer.duplicate();
+            view.position(offset + HEADER_SIZE).limit(offset + HEADER_SIZE + view.getInt(offset));
+            return view.slice();
+        }
+
+        /*
+            Returns the offset of the last indexed record with an index smaller than or equal to the given index
+         */
+        int seek(long index) {
+            int count = sparseCount;
+            long[] indexes = sparseIndexes;
+            int[] offsets = sparseOffsets;
+            int position = Arrays.binarySearch(indexes, 0, count, index);
+            if (position < 0) {
+                position = -position - 2;
+            }
+            return position < 0 ? 0 : offsets[position];
+        }
+
+        int remaining() {
+            return buffer.capacity() - position;
+        }
+
+        void append(long index, ByteBuffer body) {
+            int offset = position;
+            ByteBuffer view = buffer.duplicate();
+            view.position(offset + HEADER_SIZE);
+            view.put(body.duplicate());
+            view.putInt(offset + 4, checksum(body));
+            view.putInt(offset, body.remaining());
+            addToIndex(index, offset);
+            position = offset + HEADER_SIZE + body.remaining();
+        }
+
+        void addToIndex(long index, int offset) {
+            lastIndex = index;
+            if (recordCount++ % SPARSE_INDEX_INTERVAL != 0) {
+                return;
+            }
+            int count = sparseCount;
+            if (count == sparseIndexes.length) {
+                sparseIndexes = Arrays.copyOf(sparseIndexes, count * 2);
+                sparseOffsets = Arrays.copyOf(sparseOffsets, count * 2);
+            }
+            sparseIndexes[count] = index;
+            sparseOffsets[count] = offset;
+            sparseCount = count + 1;
+        }
+
+        void force() {
+            buffer.force();
+        }
+    }
+}
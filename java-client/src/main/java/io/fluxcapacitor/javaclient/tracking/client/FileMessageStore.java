@@ -0,0 +1,64 @@
+package io.fluxcapacitor.javaclient.tracking.client;
+
+import io.fluxcapacitor.common.api.SerializedMessage;
+
+import java.io.File;
+import java.util.Iterator;
+
+/*
+    Keeps the message log and the positions of consumers in a FileMessageLog, so they survive restarts. Channels,
+    segments and waiting readers are handled the same way as in the in-memory message store. Retention is not
+    supported; segments are kept until they are deleted from the directory.
+ */
+public class FileMessageStore extends InMemoryMessageStore {
+
+    private final FileMessageLog log;
+
+    public FileMessageStore(File directory) {
+        this(new FileMessageLog(directory));
+    }
+
+    /*
+        If force on send is enabled the active segment is flushed to disk after each message, so messages also
+        survive a crash of the machine. Otherwise they only survive a crash of the process.
+     */
+    public FileMessageStore(File directory, int segmentSize, boolean forceOnSend) {
+        this(new FileMessageLog(directory, segmentSize, forceOnSend));
+    }
+
+    public FileMessageStore(FileMessageLog log) {
+        this.log = log;
+        if (log.getLastIndex() >= 0L) {
+            resumeAfter(log.getLastIndex(), log.getMessageCount(), log.getMessageBytes());
+        }
+    }
+
+    @Override
+    protected void store(SerializedMessage message) {
+        log.append(message);
+    }
+
+    @Override
+    protected Iterator<SerializedMessage> iterate(long afterIndex, long maxIndex) {
+        return log.iterate(afterIndex, maxIndex);
+    }
+
+    @Override
+    protected long[] loadPositions(String consumer) {
+        return log.loadPositions(consumer);
+    }
+
+    @Override
+    protected void savePositions(String consumer, long[] positions) {
+        log.savePositions(consumer, positions);
+    }
+
+    public int getSegmentCount() {
+        return log.getSegmentCount();
+    }
+
+    @Override
+    public void close() {
+        log.close();
+    }
+}
@@ -15,76 +15,153 @@
 package io.fluxcapacitor.javaclient.tracking.client;
 
 import io.fluxcapacitor.common.Awaitable;
+import io.fluxcapacitor.common.ConsistentHashing;
 import io.fluxcapacitor.common.Registration;
 import io.fluxcapacitor.common.api.SerializedMessage;
 import io.fluxcapacitor.common.api.tracking.MessageBatch;
 import io.fluxcapacitor.common.api.tracking.TrackingStrategy;
 import io.fluxcapacitor.javaclient.publishing.client.GatewayClient;
-import lombok.RequiredArgsConstructor;
+import io.fluxcapacitor.javaclient.tracking.TrackingException;
 
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
+import static io.fluxcapacitor.common.IndexUtils.indexForCurrentTime;
+import static io.fluxcapacitor.common.IndexUtils.indexFromTimestamp;
 import static java.lang.Thread.currentThread;
 import static java.util.stream.Collectors.toList;
 
-@RequiredArgsConstructor
+/*
+    Distributes the segments of the message log over the channels of a consumer, similar to Flux Capacitor: each
+    channel that is actively reading gets an equal share of the segment range. Positions are kept per segment, so
+    segments can move between channels without losing or repeating messages. A segment is only handed to another
+    channel after the channel that last read it fetches again, i.e. after it has processed its batch. Channels that
+    have not read for a while are considered disconnected.
+
+    Indexes are derived from the current time like in Flux Capacitor. Assigning indexes and adding messages to the log
+    happens under a single lock, so messages are always added in index order and become visible to readers only once
+    all messages before them have been added. Readers never skip a message that is still being added. A lock is used
+    rather than a lock-free append because subclasses like the FileMessageStore append each message to a file and
+    require messages to be stored one at a time in index order. A lock-free append would also need senders to wait
+    for each other before publishing their messages. The lock only covers assigning indexes and storing messages.
+    Segments of messages with an id are computed before the lock is taken. Monitors and waiting readers are notified
+    after the lock is released.
+
+    Old messages are removed according to the retention configuration each time messages are added or a position is
+    stored.
+ */
 public class InMemoryMessageStore implements GatewayClient, TrackingClient {
 
+    public static final int MAX_SEGMENTS = 1024;
+    private static final long CHANNEL_TIMEOUT = 10_000L;
+
+    private final Object appendLock = new Object();
     private final AtomicLong nextIndex = new AtomicLong();
+    private final AtomicLong publishedIndex = new AtomicLong(-1L);
     private final ConcurrentSkipListMap<Long, SerializedMessage> messageLog = new ConcurrentSkipListMap<>();
-    private final Map<String, Long> consumerTokens = new ConcurrentHashMap<>();
+    private final Map<String, ConsumerState> consumers = new ConcurrentHashMap<>();
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
     private final List<Consumer<SerializedMessage>> monitors = new CopyOnWriteArrayList<>();
+    private final RetentionConfiguration retention;
+    private final AtomicLong messageCount = new AtomicLong();
+    private final AtomicLong messageBytes = new AtomicLong();
+    private final AtomicBoolean trimming = new AtomicBoolean();
+    private volatile long firstRetainedIndex = Long.MIN_VALUE;
+
+    public InMemoryMessageStore() {
+        this(RetentionConfiguration.UNLIMITED);
+    }
+
+    public InMemoryMessageStore(RetentionConfiguration retention) {
+        this.retention = retention;
+    }
 
     @Override
     public Awaitable send(SerializedMessage... messages) {
-        Arrays.stream(messages).forEach(m -> {
-            if (m.getIndex() == null) {
-                m.setIndex(nextIndex.getAndIncrement());
+        for (SerializedMessage m : messages) {
+            if (m.getSegment() == null && m.getMessageId() != null) {
+                m.setSegment(ConsistentHashing.computeSegment(m.getMessageId(), MAX_SEGMENTS));
+            }
+        }
+        synchronized (appendLock) {
+            if (Arrays.stream(messages).anyMatch(m -> m.getIndex() == null)) {
+                nextIndex.accumulateAndGet(indexForCurrentTime(), Math::max);
+            }
+            long lastIndex = -1L;
+            try {
+                for (SerializedMessage m : messages) {
+                    if (m.getIndex() == null) {
+                        m.setIndex(nextIndex.get());
+                    }
+                    nextIndex.accumulateAndGet(m.getIndex() + 1, Math::max);
+                    if (m.getSegment() == null) {
+                        m.setSegment((int) (m.getIndex() % MAX_SEGMENTS));
+                    }
+                    store(m);
+                    messageCount.incrementAndGet();
+                    messageBytes.addAndGet(size(m));
+                    lastIndex = Math.max(lastIndex, m.getIndex());
+                }
+            } finally {
+                publishedIndex.accumulateAndGet(lastIndex, Math::max);
+            }
+        }
+        for (SerializedMessage m : messages) {
+            notifyMonitors(m);
+        }
+        for (Waiter waiter : waiters) {
+            if (Arrays.stream(messages).anyMatch(m -> waiter.covers(m.getSegment()))) {
+                waiter.signal();
             }
-            messageLog.put(m.getIndex(), m);
-            monitors.forEach(monitor -> monitor.accept(m));
-        });
-        synchronized (this) {
-            this.notifyAll();
         }
+        applyRetention();
         return Awaitable.ready();
     }
 
     @Override
     public MessageBatch readAndWait(String consumer, int channel, int maxSize, Duration maxTimeout, String typeFilter,
                                     boolean ignoreMessageTarget, TrackingStrategy strategy) {
-        if (channel != 0) {
-            return new MessageBatch(new int[]{0, 1}, Collections.emptyList(), null);
-        }
+        ConsumerState state = consumers.computeIfAbsent(consumer, ConsumerState::new);
         long deadline = System.currentTimeMillis() + maxTimeout.toMillis();
-        synchronized (this) {
-            Map<Long, SerializedMessage> tailMap = Collections.emptyMap();
-            while (System.currentTimeMillis() < deadline
-                    && (tailMap = messageLog.tailMap(getLastIndex(consumer), false)).isEmpty()) {
-                try {
-                    this.wait(deadline - System.currentTimeMillis());
-                } catch (InterruptedException e) {
-                    currentThread().interrupt();
-                    return new MessageBatch(new int[]{0, 1}, Collections.emptyList(), null);
+        Waiter waiter = null;
+        try {
+            while (true) {
+                MessageBatch batch = state.read(channel, maxSize, typeFilter);
+                long now = System.currentTimeMillis();
+                if (!batch.isEmpty() || now >= deadline) {
+                    return batch;
+                }
+                if (waiter == null) {
+                    //check the log once more after registering so a message that was just added is not missed
+                    waiter = new Waiter(consumer, batch.getSegment());
+                    waiters.add(waiter);
+                    continue;
                 }
+                waiter.range = batch.getSegment();
+                waiter.await(deadline - now);
             }
-            List<SerializedMessage> messages = new ArrayList<>(tailMap.values());
-            Long lastIndex = messages.isEmpty() ? null : messages.get(messages.size() - 1).getIndex();
-            if (typeFilter != null) {
-                messages = messages.stream().filter(m -> m.getData().getType().matches(typeFilter)).collect(toList());
+        } catch (InterruptedException e) {
+            currentThread().interrupt();
+            return new MessageBatch(new int[]{0, 0}, Collections.emptyList(), null);
+        } finally {
+            if (waiter != null) {
+                waiters.remove(waiter);
             }
-            return new MessageBatch(new int[]{0, 1}, messages, lastIndex);
+            state.stopReading(channel);
         }
     }
 
@@ -97,27 +174,82 @@ public CompletableFuture<MessageBatch> read(String consumer, int channel, int ma
 
     @Override
     public List<SerializedMessage> readFromIndex(long minIndex, int maxSize) {
-        ArrayList<SerializedMessage> list = new ArrayList<>(messageLog.tailMap(minIndex).values());
-        return list.subList(0, Math.min(maxSize, list.size()));
+        if (minIndex < firstRetainedIndex) {
+            throw new TrackingException(String.format(
+                    "Cannot read from index %d. Messages before index %d have been removed from the log.",
+                    minIndex, firstRetainedIndex));
+        }
+        List<SerializedMessage> result = new ArrayList<>();
+        Iterator<SerializedMessage> iterator = iterate(minIndex - 1L, publishedIndex.get());
+        while (iterator.hasNext() && result.size() < maxSize) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    /*
+        Adds a message to the log. Messages are stored one at a time and in the order of their index.
+     */
+    protected void store(SerializedMessage message) {
+        messageLog.put(message.getIndex(), message);
+    }
+
+    /*
+        Returns the stored messages with an index after the given index up to and including the max index, ordered by
+        index
+     */
+    protected Iterator<SerializedMessage> iterate(long afterIndex, long maxIndex) {
+        return afterIndex >= maxIndex ? Collections.emptyIterator()
+                : messageLog.subMap(afterIndex, false, maxIndex, true).values().iterator();
+    }
+
+    /*
+        Returns the positions per segment stored earlier for the given consumer, or null if there are none
+     */
+    protected long[] loadPositions(String consumer) {
+        return null;
+    }
+
+    /*
+        Invoked each time the positions of a consumer change
+     */
+    protected void savePositions(String consumer, long[] positions) {
+        //no op
+    }
+
+    /*
+        Continues the log after the given index, e.g. after messages were recovered from disk
+     */
+    protected void resumeAfter(long lastIndex, long messageCount, long messageBytes) {
+        nextIndex.accumulateAndGet(lastIndex + 1L, Math::max);
+        publishedIndex.accumulateAndGet(lastIndex, Math::max);
+        this.messageCount.addAndGet(messageCount);
+        this.messageBytes.addAndGet(messageBytes);
     }
 
-    private long getLastIndex(String consumer) {
-        return consumerTokens.computeIfAbsent(consumer, k -> -1L);
+    protected void notifyMonitors(SerializedMessage message) {
+        monitors.forEach(monitor -> monitor.accept(message));
     }
 
     @Override
     public Awaitable storePosition(String consumer, int[] segment, long lastIndex) {
-        return resetPosition(consumer, lastIndex);
+        consumers.computeIfAbsent(consumer, ConsumerState::new).storePosition(segment, lastIndex);
+        applyRetention();
+        return Awaitable.ready();
     }
 
     @Override
     public Awaitable resetPosition(String consumer, long lastIndex) {
-        consumerTokens.put(consumer, lastIndex);
+        consumers.computeIfAbsent(consumer, ConsumerState::new).resetPosition(lastIndex);
         return Awaitable.ready();
     }
 
     @Override
     public Awaitable disconnectTracker(String consumer, int channel) {
+        ConsumerState state = consumers.get(consumer);
+        if (state != null) {
+            state.disconnect(channel);
+        }
         return Awaitable.ready();
     }
 
@@ -131,4 +263,180 @@ public Registration registerMonitor(Consumer<SerializedMessage> monitor) {
     public void close() {
         //no op
     }
+
+    public long getMessageCount() {
+        return messageCount.get();
+    }
+
+    public long getMessageBytes() {
+        return messageBytes.get();
+    }
+
+    /*
+        Removes messages from the head of the log until all retention limits are met. Only one thread trims at a time;
+        other threads skip trimming.
+     */
+    protected void applyRetention() {
+        if (RetentionConfiguration.UNLIMITED.equals(retention) || !trimming.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long minIndex = retention.getMaxAge() == null ? Long.MIN_VALUE
+                    : indexFromTimestamp(System.currentTimeMillis() - retention.getMaxAge().toMillis());
+            if (retention.isTrimConsumedMessages() && !consumers.isEmpty()) {
+                long consumed = consumers.values().stream().mapToLong(ConsumerState::getMinPosition).min()
+                        .orElse(Long.MIN_VALUE);
+                minIndex = Math.max(minIndex, consumed + 1);
+            }
+            Map.Entry<Long, SerializedMessage> first;
+            while ((first = messageLog.firstEntry()) != null && (first.getKey() < minIndex
+                    || (retention.getMaxMessageCount() >= 0 && messageCount.get() > retention.getMaxMessageCount())
+                    || (retention.getMaxBytes() >= 0 && messageBytes.get() > retention.getMaxBytes()))) {
+                if (messageLog.remove(first.getKey(), first.getValue())) {
+                    messageCount.decrementAndGet();
+                    messageBytes.addAndGet(-size(first.getValue()));
+                    firstRetainedIndex = first.getKey() + 1;
+                }
+            }
+        } finally {
+            trimming.set(false);
+        }
+    }
+
+    private static int size(SerializedMessage message) {
+        return message.getData().getValue().length;
+    }
+
+    private void signalWaiters(String consumer) {
+        waiters.stream().filter(w -> w.consumer.equals(consumer)).forEach(Waiter::signal);
+    }
+
+    private class ConsumerState {
+        private final String consumer;
+        private final long[] positions = new long[MAX_SEGMENTS];
+        private final TreeMap<Integer, ChannelState> channels = new TreeMap<>();
+
+        ConsumerState(String consumer) {
+            this.consumer = consumer;
+            long[] stored = loadPositions(consumer);
+            if (stored == null) {
+                Arrays.fill(positions, -1L);
+            } else {
+                System.arraycopy(stored, 0, positions, 0, MAX_SEGMENTS);
+            }
+        }
+
+        synchronized MessageBatch read(int channel, int maxSize, String typeFilter) {
+            long now = System.currentTimeMillis();
+            ChannelState self = channels.computeIfAbsent(channel, c -> new ChannelState());
+            boolean released = self.claim != null
+                    | channels.values().removeIf(c -> c != self && !c.reading && c.lastSeen < now - CHANNEL_TIMEOUT);
+            self.reading = true;
+            self.lastSeen = now;
+            self.claim = null;
+            if (released) {
+                signalWaiters(consumer);
+            }
+            int[] range = getRange(channel);
+            if (channels.values().stream().anyMatch(c -> c.claim != null && c.claim[0] < range[1]
+                    && c.claim[1] > range[0])) {
+                //another channel is still processing messages in our range
+                return new MessageBatch(range, Collections.emptyList(), null);
+            }
+            long from = Long.MAX_VALUE;
+            for (int segment = range[0]; segment < range[1]; segment++) {
+                from = Math.min(from, positions[segment]);
+            }
+            List<SerializedMessage> messages = new ArrayList<>();
+            Iterator<SerializedMessage> iterator = iterate(from, publishedIndex.get());
+            while (iterator.hasNext() && messages.size() < maxSize) {
+                SerializedMessage m = iterator.next();
+                int segment = m.getSegment();
+                if (segment >= range[0] && segment < range[1] && m.getIndex() > positions[segment]) {
+                    messages.add(m);
+                }
+            }
+            Long lastIndex = messages.isEmpty() ? null : messages.get(messages.size() - 1).getIndex();
+            if (typeFilter != null) {
+                messages = messages.stream().filter(m -> m.getData().getType().matches(typeFilter)).collect(toList());
+            }
+            if (messages.isEmpty() && lastIndex != null) {
+                //all messages were filtered out so there is nothing to process
+                storePosition(range, lastIndex);
+            } else if (!messages.isEmpty()) {
+                self.claim = range;
+            }
+            return new MessageBatch(range, messages, lastIndex);
+        }
+
+        synchronized long getMinPosition() {
+            return Arrays.stream(positions).min().orElse(-1L);
+        }
+
+        synchronized void stopReading(int channel) {
+            ChannelState state = channels.get(channel);
+            if (state != null) {
+                state.reading = false;
+                state.lastSeen = System.currentTimeMillis();
+            }
+        }
+
+        synchronized void storePosition(int[] segment, long lastIndex) {
+            for (int i = Math.max(0, segment[0]); i < Math.min(MAX_SEGMENTS, segment[1]); i++) {
+                positions[i] = Math.max(positions[i], lastIndex);
+            }
+            savePositions(consumer, positions);
+        }
+
+        synchronized void resetPosition(long lastIndex) {
+            Arrays.fill(positions, lastIndex);
+            savePositions(consumer, positions);
+        }
+
+        synchronized void disconnect(int channel) {
+            if (channels.remove(channel) != null) {
+                signalWaiters(consumer);
+            }
+        }
+
+        private int[] getRange(int channel) {
+            int position = channels.headMap(channel).size();
+            int count = channels.size();
+            return new int[]{position * MAX_SEGMENTS / count, (position + 1) * MAX_SEGMENTS / count};
+        }
+    }
+
+    private static class ChannelState {
+        private boolean reading;
+        private long lastSeen;
+        private int[] claim;
+    }
+
+    private static class Waiter {
+        private final String consumer;
+        private volatile int[] range;
+        private boolean signalled;
+
+        Waiter(String consumer, int[] range) {
+            this.consumer = consumer;
+            this.range = range;
+        }
+
+        boolean covers(int segment) {
+            int[] range = this.range;
+            return segment >= range[0] && segment < range[1];
+        }
+
+        synchronized void signal() {
+            signalled = true;
+            notifyAll();
+        }
+
+        synchronized void await(long timeout) throws InterruptedException {
+            if (!signalled) {
+                wait(timeout);
+            }
+            signalled = false;
+        }
+    }
 }
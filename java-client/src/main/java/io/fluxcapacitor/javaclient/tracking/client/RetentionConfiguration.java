@@ -0,0 +1,40 @@
+package io.fluxcapacitor.javaclient.tracking.client;
+
+import lombok.Builder;
+import lombok.Builder.Default;
+import lombok.Value;
+
+import java.time.Duration;
+
+/*
+    Determines which messages an in-memory message log keeps. Messages are removed oldest first as soon as any of the
+    limits is exceeded.
+ */
+@Value
+@Builder(builderClassName = "Builder", toBuilder = true)
+public class RetentionConfiguration {
+
+    public static final RetentionConfiguration UNLIMITED = RetentionConfiguration.builder().build();
+
+    /*
+        Maximum age of a message, derived from its index
+     */
+    @Default
+    Duration maxAge = null;
+
+    @Default
+    long maxMessageCount = -1L;
+
+    /*
+        Maximum total size of the message payloads
+     */
+    @Default
+    long maxBytes = -1L;
+
+    /*
+        Removes messages once they have been consumed by all consumers that have read from or stored a position in the
+        log
+     */
+    @Default
+    boolean trimConsumedMessages = false;
+}
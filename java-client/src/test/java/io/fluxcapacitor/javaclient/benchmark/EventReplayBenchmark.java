@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2016-2017 Flux Capacitor.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fluxcapacitor.javaclient.benchmark;
+
+import io.fluxcapacitor.common.MessageType;
+import io.fluxcapacitor.common.TimingUtils;
+import io.fluxcapacitor.javaclient.common.Message;
+import io.fluxcapacitor.javaclient.common.caching.NoCache;
+import io.fluxcapacitor.javaclient.common.serialization.jackson.JacksonSerializer;
+import io.fluxcapacitor.javaclient.eventsourcing.ApplyEvent;
+import io.fluxcapacitor.javaclient.eventsourcing.DefaultEventSourcing;
+import io.fluxcapacitor.javaclient.eventsourcing.DefaultEventStore;
+import io.fluxcapacitor.javaclient.eventsourcing.EventSourced;
+import io.fluxcapacitor.javaclient.eventsourcing.EventStore;
+import io.fluxcapacitor.javaclient.eventsourcing.EventStoreSerializer;
+import io.fluxcapacitor.javaclient.eventsourcing.NoOpSnapshotRepository;
+import io.fluxcapacitor.javaclient.eventsourcing.client.InMemoryEventStoreClient;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Measures how many events per second are replayed when an event sourced model is loaded from a long event stream.
+ * Caching and snapshotting are disabled so each load replays the complete stream. Every other event in the stream has
+ * no handler on the model.
+ */
+@Slf4j
+public class EventReplayBenchmark {
+
+    private static final String aggregateId = "benchmark";
+
+    public static void main(final String[] args) {
+        EventReplayBenchmark benchmark = new EventReplayBenchmark(100_000);
+        benchmark.replay(5);
+        benchmark.replay(20);
+        System.exit(0);
+    }
+
+    private final DefaultEventSourcing eventSourcing;
+    private final int eventCount;
+
+    public EventReplayBenchmark(int eventCount) {
+        this.eventCount = eventCount;
+        EventStore eventStore = new DefaultEventStore(new InMemoryEventStoreClient(),
+                                                      new EventStoreSerializer(new JacksonSerializer()),
+                                                      target -> Optional.empty());
+        List<Message> events = new ArrayList<>(eventCount);
+        events.add(new Message(new CreateCounter(), MessageType.EVENT));
+        for (int i = 1; i < eventCount; i++) {
+            events.add(new Message(i % 2 == 0 ? new Increment() : new Unhandled(i), MessageType.EVENT));
+        }
+        for (int i = 0; i < eventCount; i += 1000) {
+            List<Message> batch = events.subList(i, Math.min(i + 1000, eventCount));
+            eventStore.storeDomainEvents(aggregateId, "Counter", i + batch.size() - 1, batch);
+        }
+        this.eventSourcing = new DefaultEventSourcing(eventStore, NoOpSnapshotRepository.INSTANCE, NoCache.INSTANCE);
+    }
+
+    protected void replay(int iterations) {
+        log.info("Replaying {} events {} times", eventCount, iterations);
+        TimingUtils.time(() -> {
+            for (int i = 0; i < iterations; i++) {
+                eventSourcing.load(aggregateId, Counter.class, true, true);
+            }
+        }, duration -> log.info("Replayed {} events in {}ms ({} events/s)", (long) eventCount * iterations, duration,
+                                duration == 0 ? "n/a" : (long) eventCount * iterations * 1000L / duration));
+    }
+
+    @EventSourced
+    public static class Counter {
+        private long count;
+
+        @ApplyEvent
+        public Counter(CreateCounter event) {
+        }
+
+        @ApplyEvent
+        public void handle(Increment event) {
+            count++;
+        }
+    }
+
+    @Value
+    public static class CreateCounter {
+    }
+
+    @Value
+    public static class Increment {
+    }
+
+    @Value
+    public static class Unhandled {
+        int index;
+    }
+}
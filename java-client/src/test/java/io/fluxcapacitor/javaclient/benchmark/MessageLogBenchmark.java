@@ -0,0 +1,67 @@
+package io.fluxcapacitor.javaclient.benchmark;
+
+import io.fluxcapacitor.common.TimingUtils;
+import io.fluxcapacitor.common.api.Data;
+import io.fluxcapacitor.common.api.Metadata;
+import io.fluxcapacitor.common.api.SerializedMessage;
+import io.fluxcapacitor.common.api.tracking.MessageBatch;
+import io.fluxcapacitor.javaclient.tracking.client.FileMessageStore;
+import io.fluxcapacitor.javaclient.tracking.client.InMemoryMessageStore;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Measures how many messages per second are appended to and read from the tail of a message log, both for the
+ * in-memory message store and the file-backed message store. Messages are appended in batches of 100 and read by a
+ * single tracker that stores its position after each batch.
+ */
+@Slf4j
+public class MessageLogBenchmark {
+
+    public static void main(final String[] args) throws IOException {
+        File directory = Files.createTempDirectory("messagelog").toFile();
+        run("in-memory", new InMemoryMessageStore(), 1_000_000);
+        run("file", new FileMessageStore(directory), 1_000_000);
+        try (Stream<Path> files = Files.walk(directory.toPath())) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+        System.exit(0);
+    }
+
+    private static void run(String name, InMemoryMessageStore store, int messageCount) {
+        byte[] payload = new byte[256];
+        log.info("Appending {} messages to the {} message log", messageCount, name);
+        TimingUtils.time(() -> {
+            for (int i = 0; i < messageCount; i += 100) {
+                store.send(IntStream.range(0, 100).mapToObj(j -> new SerializedMessage(
+                        new Data<>(payload, "benchmark", 0), Metadata.empty(), UUID.randomUUID().toString()))
+                                   .toArray(SerializedMessage[]::new));
+            }
+        }, duration -> log.info("Appended {} messages in {}ms ({} messages/s)", messageCount, duration,
+                                duration == 0 ? "n/a" : (long) messageCount * 1000L / duration));
+        log.info("Reading {} messages from the {} message log", messageCount, name);
+        TimingUtils.time(() -> {
+            int count = 0;
+            while (count < messageCount) {
+                MessageBatch batch = store.readAndWait("benchmark", 0, 1024, Duration.ofSeconds(1), null, false, null);
+                for (SerializedMessage message : batch.getMessages()) {
+                    count += message.getData().getValue().length > 0 ? 1 : 0;
+                }
+                if (batch.getLastIndex() != null) {
+                    store.storePosition("benchmark", batch.getSegment(), batch.getLastIndex());
+                }
+            }
+        }, duration -> log.info("Read {} messages in {}ms ({} messages/s)", messageCount, duration,
+                                duration == 0 ? "n/a" : (long) messageCount * 1000L / duration));
+        store.close();
+    }
+}
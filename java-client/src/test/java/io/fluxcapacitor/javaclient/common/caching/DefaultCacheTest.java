@@ -0,0 +1,86 @@
+package io.fluxcapacitor.javaclient.common.caching;
+
+import io.fluxcapacitor.common.ConsistentHashing;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class DefaultCacheTest {
+
+    private final DefaultCache subject = new DefaultCache();
+
+    @Test
+    void testInvalidateSegments() {
+        IntStream.range(0, 100).mapToObj(Integer::toString).forEach(id -> subject.put(id, id));
+        subject.invalidateSegments(0, 512);
+        IntStream.range(0, 100).mapToObj(Integer::toString).forEach(id -> {
+            if (ConsistentHashing.computeSegment(id) < 512) {
+                assertNull(subject.getIfPresent(id));
+            } else {
+                assertNotNull(subject.getIfPresent(id));
+            }
+        });
+    }
+
+    @Test
+    void testLoadedValueIsInvalidatedWithSegment() {
+        String id = "foo";
+        int segment = ConsistentHashing.computeSegment(id);
+        assertEquals("bar", subject.get(id, i -> "bar"));
+        subject.invalidateSegments(segment, segment + 1);
+        assertNull(subject.getIfPresent(id));
+    }
+
+    @Test
+    void testReplacedValueIsInvalidatedWithSegment() {
+        String id = "foo";
+        int segment = ConsistentHashing.computeSegment(id);
+        subject.put(id, "bar");
+        subject.put(id, "bar2");
+        subject.invalidateSegments(segment, segment + 1);
+        assertNull(subject.getIfPresent(id));
+    }
+
+    @Test
+    void testStats() {
+        subject.get("foo", i -> "bar");
+        subject.get("foo", i -> "bar");
+        subject.getIfPresent("other");
+        CacheStats stats = subject.getStats();
+        assertEquals(1L, stats.getHitCount());
+        assertEquals(2L, stats.getMissCount());
+        assertEquals(1L, stats.getLoadCount());
+    }
+
+    @Test
+    void testWeightBasedEviction() {
+        DefaultCache cache = new DefaultCache(CacheConfiguration.builder()
+                                                      .maximumWeight(10).weigher(v -> ((String) v).length()).build());
+        cache.put("small", "a");
+        cache.put("large", "aaaaaaaaaaaaaaaaaaaa");
+        assertNull(cache.getIfPresent("large"));
+        assertEquals("a", cache.getIfPresent("small"));
+        assertEquals(1L, cache.getStats().getEvictionCount());
+    }
+
+    @Test
+    void testExpiredEntriesDoNotMoveToSecondLevelCache() throws Exception {
+        Cache secondLevelCache = mock(Cache.class);
+        DefaultCache cache = new DefaultCache(
+                CacheConfiguration.builder().expireAfterWrite(Duration.ofMillis(10)).build(), secondLevelCache);
+        cache.put("foo", "bar");
+        Thread.sleep(20);
+        assertNull(cache.getIfPresent("foo"));
+        cache.put("other", "bar");
+        verify(secondLevelCache, never()).put(any(), any());
+    }
+}
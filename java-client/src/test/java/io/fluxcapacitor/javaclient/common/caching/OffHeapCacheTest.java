@@ -0,0 +1,84 @@
+package io.fluxcapacitor.javaclient.common.caching;
+
+import io.fluxcapacitor.common.ConsistentHashing;
+import io.fluxcapacitor.javaclient.common.serialization.jackson.JacksonSerializer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OffHeapCacheTest {
+
+    private final OffHeapCache subject = new OffHeapCache(new JacksonSerializer(), 200);
+
+    @Test
+    void testValueIsStoredInSerializedForm() {
+        TestValue value = new TestValue("bar");
+        subject.put("foo", value);
+        TestValue result = subject.getIfPresent("foo");
+        assertEquals(value, result);
+        assertNotSame(value, result);
+    }
+
+    @Test
+    void testLeastRecentlyUsedValueIsEvicted() {
+        subject.put("a", "aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa");
+        subject.put("b", "bbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbb");
+        subject.getIfPresent("a");
+        subject.put("c", "cccccccccccccccccccccccccccccccccccccccc");
+        assertNull(subject.getIfPresent("b"));
+        assertEquals("aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa", subject.getIfPresent("a"));
+        assertTrue(subject.getUsedBytes() <= 200);
+        assertEquals(1L, subject.getStats().getEvictionCount());
+    }
+
+    @Test
+    void testReplacedValueIsReturned() {
+        subject.put("foo", "bar");
+        subject.put("foo", "baz");
+        assertEquals("baz", subject.getIfPresent("foo"));
+        subject.invalidate("foo");
+        assertNull(subject.getIfPresent("foo"));
+        assertEquals(0L, subject.getUsedBytes());
+    }
+
+    @Test
+    void testInvalidateSegments() {
+        int segment = ConsistentHashing.computeSegment("foo");
+        subject.put("foo", "bar");
+        subject.invalidateSegments(segment + 1, 1024);
+        assertEquals("bar", subject.getIfPresent("foo"));
+        subject.invalidateSegments(segment, segment + 1);
+        assertNull(subject.getIfPresent("foo"));
+    }
+
+    @Test
+    void testManyEntries() {
+        OffHeapCache cache = new OffHeapCache(new JacksonSerializer(), 64 * 1024 * 1024);
+        for (int i = 0; i < 100_000; i++) {
+            cache.put("id" + i, i);
+        }
+        for (int i = 0; i < 100_000; i += 997) {
+            assertEquals(i, (int) cache.getIfPresent("id" + i));
+        }
+        assertEquals(0L, cache.getStats().getEvictionCount());
+    }
+
+    @Test
+    void testEvictedValuesMoveToSecondLevel() {
+        DefaultCache cache = new DefaultCache(CacheConfiguration.builder().maximumSize(1).build(), subject);
+        cache.put("a", "a");
+        cache.put("b", "b");
+        assertEquals("a", cache.get("a", id -> {
+            throw new AssertionError("Value should have been found in second level cache");
+        }));
+        assertEquals(1L, subject.getStats().getHitCount());
+    }
+
+    @lombok.Value
+    private static class TestValue {
+        String foo;
+    }
+}
@@ -19,21 +19,29 @@
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.fluxcapacitor.common.api.Data;
 import io.fluxcapacitor.common.serialization.Revision;
+import io.fluxcapacitor.javaclient.common.serialization.AbstractSerializer;
 import io.fluxcapacitor.javaclient.common.serialization.DeserializingObject;
+import io.fluxcapacitor.javaclient.common.serialization.FieldExclusion;
 import io.fluxcapacitor.javaclient.common.serialization.SerializationException;
+import io.fluxcapacitor.javaclient.common.serialization.Serializer;
 import io.fluxcapacitor.javaclient.common.serialization.upcasting.Upcast;
+import io.fluxcapacitor.javaclient.publishing.dataprotection.ProtectData;
 import lombok.Value;
 import org.junit.jupiter.api.Test;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonMap;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class JacksonSerializerTest {
     private static final String TYPE =
@@ -86,6 +94,48 @@ void testReturnsMapIfTypeUnknownAndFailFlagIsOff() throws JsonProcessingExceptio
         assertEquals(singletonMap("foo", "bar"), result.get(0).getPayload());
     }
 
+    @Test
+    void testFieldExclusionInSinglePass() {
+        testFieldExclusion(subject);
+    }
+
+    @Test
+    void testFieldExclusionUsingCopy() {
+        testFieldExclusion(new AbstractSerializer(s -> s) {
+            @Override
+            protected byte[] doSerialize(Object object) throws Exception {
+                return objectMapper.writeValueAsBytes(object);
+            }
+
+            @Override
+            protected Object doDeserialize(byte[] bytes, Class<?> type) throws Exception {
+                return objectMapper.readValue(bytes, type);
+            }
+        });
+    }
+
+    @Test
+    void testFieldExclusionOnlyAppliesToTarget() {
+        Map<String, Object> excludedValues = new HashMap<>();
+        FieldExclusion fieldExclusion =
+                new FieldExclusion(new ProtectedObject("secret", "foo"), ProtectData.class, excludedValues::put);
+        Data<byte[]> data = fieldExclusion.apply(() -> subject.serialize(new ProtectedObject("secret", "foo")));
+        assertFalse(fieldExclusion.isApplied());
+        assertEquals(new ProtectedObject("secret", "foo"), subject.deserialize(data));
+        assertTrue(excludedValues.isEmpty());
+    }
+
+    private void testFieldExclusion(Serializer serializer) {
+        ProtectedObject object = new ProtectedObject("secret", "foo");
+        Map<String, Object> excludedValues = new HashMap<>();
+        FieldExclusion fieldExclusion = new FieldExclusion(object, ProtectData.class, excludedValues::put);
+        Data<byte[]> data = fieldExclusion.apply(() -> serializer.serialize(object));
+        assertTrue(fieldExclusion.isApplied());
+        assertEquals(new ProtectedObject(null, "foo"), serializer.deserialize(data));
+        assertEquals(singletonMap("secret", "secret"), excludedValues);
+        assertEquals("secret", object.getSecret());
+    }
+
     private Data<byte[]> createRev0Data(String name) throws JsonProcessingException {
         ObjectNode rev0Payload = new ObjectNode(objectMapper.getNodeFactory());
         rev0Payload.put("n", name);
@@ -116,4 +166,11 @@ private static class Foo {
         String foo;
     }
 
-}
\ No newline at end of file
+    @Value
+    private static class ProtectedObject {
+        @ProtectData
+        String secret;
+        String other;
+    }
+
+}
@@ -22,6 +22,7 @@
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -30,6 +31,7 @@
 import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -154,6 +156,31 @@ void testUpcastingWithTypeConversion() {
                      result.map(SerializedObject::data).collect(toList()));
     }
 
+    @Test
+    void testNoConversionForTypeWithoutUpcaster() {
+        StringConverter converter = new StringConverter();
+        Upcaster<SerializedObject<byte[], ?>> subject
+                = UpcasterChain.create(Collections.singleton(upcasterStub), converter);
+        Data<byte[]> input = new Data<>("input".getBytes(), "unknownType", 0);
+        List<SerializedObject<byte[], ?>> result = subject.upcast(Stream.of(input)).collect(toList());
+        assertEquals(singletonList(input), result);
+        assertSame(input, result.get(0));
+        assertEquals(0, converter.getConversions());
+    }
+
+    @Test
+    void testSingleConversionForChainedUpcasts() {
+        StringConverter converter = new StringConverter();
+        Upcaster<SerializedObject<byte[], ?>> subject
+                = UpcasterChain.create(Collections.singleton(upcasterStub), converter);
+        Data<byte[]> result = subject.upcast(Stream.of(new Data<>("input".getBytes(), "multiStep", 0)))
+                .map(SerializedObject::data).collect(toList()).get(0);
+        assertEquals(new Data<>("input12".getBytes(), "multiStep", 2), result);
+        result.getValue();
+        assertEquals(1, converter.getConversions());
+        assertEquals(1, converter.getBackConversions());
+    }
+
     /*
         Failures
      */
@@ -241,6 +268,16 @@ public Data<String> chain_to4(Data<String> input) {
             return new Data<>("chain3", "chainEnd", 0);
         }
 
+        @Upcast(type = "multiStep", revision = 0)
+        public String multiStep_to1(String input) {
+            return input + "1";
+        }
+
+        @Upcast(type = "multiStep", revision = 1)
+        public String multiStep_to2(String input) {
+            return input + "2";
+        }
+
         @Upcast(type = "chainEnd", revision = 0)
         public Data<String> chainEnd(Data<String> input) {
             return new Data<>("chainEnd", "chainEnd", 1);
@@ -273,15 +310,20 @@ public String mapPayload(String input) {
         }
     }
 
+    @Getter
     private static class StringConverter implements Converter<String> {
+        private int conversions;
+        private int backConversions;
 
         @Override
         public String convert(byte[] bytes) {
+            conversions++;
             return new String(bytes);
         }
 
         @Override
         public byte[] convertBack(String value) {
+            backConversions++;
             return value.getBytes();
         }
 
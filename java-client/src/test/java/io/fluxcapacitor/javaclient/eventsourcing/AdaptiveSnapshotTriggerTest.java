@@ -0,0 +1,52 @@
+package io.fluxcapacitor.javaclient.eventsourcing;
+
+import io.fluxcapacitor.javaclient.common.Message;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import static io.fluxcapacitor.common.MessageType.EVENT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveSnapshotTriggerTest {
+
+    private final AdaptiveSnapshotTrigger subject = new AdaptiveSnapshotTrigger(Duration.ofMillis(10), 100, 10, 10_000);
+    private final List<Message> newEvent = Collections.singletonList(new Message("foo", EVENT));
+
+    @Test
+    void testInitialPeriodIsUsedWithoutMeasurements() {
+        assertEquals(100, subject.getPeriod());
+        assertTrue(subject.shouldCreateSnapshot(new Aggregate<>("a", 99L, "foo"), newEvent));
+        assertFalse(subject.shouldCreateSnapshot(new Aggregate<>("a", 100L, "foo"), newEvent));
+    }
+
+    @Test
+    void testPeriodFollowsReplayCost() {
+        subject.onReplay(new ReplayMetrics(100L, 1000L, 0L, Duration.ZERO, Duration.ofMillis(1)));
+        assertEquals(1000, subject.getPeriod());
+        assertTrue(subject.shouldCreateSnapshot(new Aggregate<>("a", 999L, "foo"), newEvent));
+    }
+
+    @Test
+    void testSnapshotLoadTimeIsDeductedFromBudget() {
+        subject.onReplay(new ReplayMetrics(100L, 1000L, 0L, Duration.ofMillis(5), Duration.ofMillis(1)));
+        assertEquals(500, subject.getPeriod());
+    }
+
+    @Test
+    void testPeriodIsBounded() {
+        subject.onReplay(new ReplayMetrics(1L, 1000L, 0L, Duration.ZERO, Duration.ofSeconds(1)));
+        assertEquals(10, subject.getPeriod());
+    }
+
+    @Test
+    void testPeriodCoversAtLeastTheSizeOfASnapshot() {
+        subject.onReplay(new ReplayMetrics(100L, 1000L, 50_000L, Duration.ZERO, Duration.ofMillis(1)));
+        assertEquals(5000, subject.getPeriod());
+        assertEquals(50_000d, subject.getAverageSnapshotSize());
+    }
+}
@@ -0,0 +1,105 @@
+package io.fluxcapacitor.javaclient.eventsourcing;
+
+import io.fluxcapacitor.common.api.Data;
+import io.fluxcapacitor.common.api.Metadata;
+import io.fluxcapacitor.common.api.SerializedMessage;
+import io.fluxcapacitor.common.handling.HandlerNotFoundException;
+import io.fluxcapacitor.javaclient.common.serialization.DeserializingMessage;
+import io.fluxcapacitor.javaclient.common.serialization.DeserializingObject;
+import lombok.Value;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.fluxcapacitor.common.MessageType.EVENT;
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnnotatedEventSourcingHandlerTest {
+
+    private final AnnotatedEventSourcingHandler<TestModel> subject =
+            new AnnotatedEventSourcingHandler<>(TestModel.class);
+    private final AtomicInteger deserializationCount = new AtomicInteger();
+
+    @Test
+    void testEventsAreApplied() {
+        TestModel model = subject.apply(event(new CreateModel()), null);
+        model = subject.apply(event(new UpdateModel()), model);
+        assertEquals(asList(new CreateModel(), new UpdateModel()), model.events);
+    }
+
+    @Test
+    void testUnhandledEventTypeIsSkippedWithoutDeserializing() {
+        TestModel model = subject.apply(event(new CreateModel()), null);
+        assertSame(model, subject.apply(event("foo"), model));
+        assertEquals(2, deserializationCount.get());
+
+        DeserializingMessage unhandled = event("bar");
+        assertSame(model, subject.apply(unhandled, model));
+        assertFalse(unhandled.isDeserialized());
+        assertEquals(2, deserializationCount.get());
+    }
+
+    @Test
+    void testHandledEventTypeIsDeserialized() {
+        TestModel model = subject.apply(event(new CreateModel()), null);
+        subject.apply(event(new UpdateModel()), model);
+        DeserializingMessage handled = event(new UpdateModel());
+        subject.apply(handled, model);
+        assertTrue(handled.isDeserialized());
+        assertEquals(asList(new CreateModel(), new UpdateModel(), new UpdateModel()), model.events);
+    }
+
+    @Test
+    void testUnhandledEventTypeFailsIfModelDoesNotExist() {
+        assertThrows(HandlerNotFoundException.class, () -> subject.apply(event("foo"), null));
+        DeserializingMessage unhandled = event("bar");
+        assertThrows(HandlerNotFoundException.class, () -> subject.apply(unhandled, null));
+        assertFalse(unhandled.isDeserialized());
+    }
+
+    @Test
+    void testDispatchTablesForCreationAndUpdateAreSeparate() {
+        assertThrows(HandlerNotFoundException.class, () -> subject.apply(event(new UpdateModel()), null));
+        TestModel model = subject.apply(event(new CreateModel()), null);
+        subject.apply(event(new UpdateModel()), model);
+        assertEquals(asList(new CreateModel(), new UpdateModel()), model.events);
+    }
+
+    private DeserializingMessage event(Object payload) {
+        return new DeserializingMessage(new DeserializingObject<>(new SerializedMessage(
+                new Data<>(new byte[0], payload.getClass().getName(), 0), Metadata.empty(), null), () -> {
+            deserializationCount.incrementAndGet();
+            return payload;
+        }), EVENT);
+    }
+
+    @Value
+    public static class TestModel {
+        List<Object> events = new ArrayList<>();
+
+        @ApplyEvent
+        public TestModel(CreateModel event) {
+            events.add(event);
+        }
+
+        @ApplyEvent
+        public void handle(UpdateModel event) {
+            events.add(event);
+        }
+    }
+
+    @Value
+    private static class CreateModel {
+    }
+
+    @Value
+    private static class UpdateModel {
+    }
+}
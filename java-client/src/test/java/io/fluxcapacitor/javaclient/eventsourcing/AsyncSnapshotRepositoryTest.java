@@ -0,0 +1,144 @@
+package io.fluxcapacitor.javaclient.eventsourcing;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+class AsyncSnapshotRepositoryTest {
+
+    private final SnapshotRepository delegate = mock(SnapshotRepository.class);
+    private final ManualExecutor executor = new ManualExecutor();
+    private final AsyncSnapshotRepository subject = new AsyncSnapshotRepository(delegate, 2, executor);
+
+    @Test
+    void testSnapshotIsStoredInBackground() {
+        Aggregate<String> snapshot = new Aggregate<>("a", 10L, "foo");
+        subject.storeSnapshot(snapshot);
+        verify(delegate, never()).storeSnapshot(any());
+        executor.runAll();
+        verify(delegate).storeSnapshot(snapshot);
+        assertEquals(1L, subject.getStats().getStoreCount());
+    }
+
+    @Test
+    void testOnlyNewestPendingSnapshotIsStored() {
+        Aggregate<String> newest = new Aggregate<>("a", 20L, "bar");
+        subject.storeSnapshot(new Aggregate<>("a", 10L, "foo"));
+        subject.storeSnapshot(newest);
+        executor.runAll();
+        verify(delegate).storeSnapshot(newest);
+        verifyNoMoreInteractions(delegate);
+        assertEquals(1L, subject.getStats().getCoalescedCount());
+    }
+
+    @Test
+    void testSnapshotsAreDroppedIfTooManyArePending() {
+        subject.storeSnapshot(new Aggregate<>("a", 10L, "foo"));
+        subject.storeSnapshot(new Aggregate<>("b", 10L, "foo"));
+        subject.storeSnapshot(new Aggregate<>("c", 10L, "foo"));
+        assertEquals(2L, subject.getStats().getPendingCount());
+        assertEquals(1L, subject.getStats().getDroppedCount());
+        executor.runAll();
+        verify(delegate, times(2)).storeSnapshot(any());
+        assertEquals(0L, subject.getStats().getPendingCount());
+    }
+
+    @Test
+    void testPendingSnapshotIsReturned() {
+        Aggregate<String> snapshot = new Aggregate<>("a", 10L, "foo");
+        subject.storeSnapshot(snapshot);
+        assertEquals(snapshot, subject.getSnapshot("a").orElse(null));
+        verify(delegate, never()).getSnapshot("a");
+    }
+
+    @Test
+    void testDeletedSnapshotIsNotStored() {
+        subject.storeSnapshot(new Aggregate<>("a", 10L, "foo"));
+        subject.deleteSnapshot("a");
+        executor.runAll();
+        verify(delegate, never()).storeSnapshot(any());
+        verify(delegate).deleteSnapshot("a");
+    }
+
+    @Test
+    void testDeleteWaitsForStoreInFlight() throws Exception {
+        CountDownLatch storeStarted = new CountDownLatch(1);
+        CountDownLatch finishStore = new CountDownLatch(1);
+        doAnswer(i -> {
+            storeStarted.countDown();
+            finishStore.await();
+            return null;
+        }).when(delegate).storeSnapshot(any());
+        AsyncSnapshotRepository subject = new AsyncSnapshotRepository(delegate, 2);
+        try {
+            subject.storeSnapshot(new Aggregate<>("a", 10L, "foo"));
+            assertTrue(storeStarted.await(1, TimeUnit.SECONDS));
+            Thread deleteThread = new Thread(() -> subject.deleteSnapshot("a"));
+            deleteThread.start();
+            deleteThread.join(100);
+            verify(delegate, never()).deleteSnapshot("a");
+            finishStore.countDown();
+            deleteThread.join(1000);
+            InOrder inOrder = inOrder(delegate);
+            inOrder.verify(delegate).storeSnapshot(any());
+            inOrder.verify(delegate).deleteSnapshot("a");
+        } finally {
+            finishStore.countDown();
+            subject.close();
+        }
+    }
+
+    private static class ManualExecutor extends AbstractExecutorService {
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        void runAll() {
+            new ArrayList<>(tasks).forEach(Runnable::run);
+            tasks.clear();
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return tasks;
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
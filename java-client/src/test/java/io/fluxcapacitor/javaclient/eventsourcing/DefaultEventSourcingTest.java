@@ -19,18 +19,25 @@
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.function.LongConsumer;
 import java.util.stream.Stream;
 
 import static io.fluxcapacitor.common.MessageType.EVENT;
 import static java.util.Arrays.stream;
 import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyList;
 import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
@@ -79,6 +86,68 @@ void testModelIsLoadedFromSnapshotWhenPossible() {
         assertEquals(0L, model.getSequenceNumber());
     }
 
+    @Test
+    void testLoadingMultipleModels() {
+        when(snapshotRepository.<TestModel>getSnapshots(Arrays.asList(modelId, "other"))).thenReturn(singletonMap(
+                "other", new Aggregate<>("other", 0L, new TestModel(new CreateModel()))));
+        when(eventStore.getDomainEvents(eq(modelId), anyLong())).thenReturn(eventStreamOf(new CreateModel()));
+        when(eventStore.getDomainEvents(eq("other"), anyLong())).thenReturn(eventStreamOf(new UpdateModel()));
+        List<Model<TestModel>> models = subject.loadAll(Arrays.asList(modelId, "other"), TestModel.class);
+        assertEquals(singletonList(new CreateModel()), models.get(0).get().events);
+        assertEquals(Arrays.asList(new CreateModel(), new UpdateModel()), models.get(1).get().events);
+        assertEquals(1L, models.get(1).getSequenceNumber());
+        verify(snapshotRepository, never()).getSnapshot(anyString());
+    }
+
+    @Test
+    void testEventStreamsAreClosedAfterReplay() {
+        AtomicInteger closed = new AtomicInteger();
+        when(eventStore.getDomainEvents(anyString(), anyLong()))
+                .thenAnswer(i -> eventStreamOf(new CreateModel()).onClose(closed::incrementAndGet));
+        subject.load(modelId, TestModelWithoutCaching.class);
+        assertEquals(1, closed.get());
+        subject.loadAll(Arrays.asList(modelId, "other"), TestModelWithoutCaching.class);
+        assertEquals(3, closed.get());
+    }
+
+    @Test
+    void testEventSizeIsNotMeasuredWithoutAdaptiveSnapshotTrigger() {
+        AtomicInteger fetchCount = new AtomicInteger();
+        when(eventStore.getDomainEvents(eq(modelId), anyLong())).thenAnswer(
+                i -> Stream.of(countingFetches(new CreateModel(), fetchCount), countingFetches("foo", fetchCount)));
+        subject.load(modelId, TestModelWithoutCaching.class);
+        assertEquals(0, fetchCount.get());
+    }
+
+    @Test
+    void testSizeOfSkippedEventsIsNotMeasured() {
+        AtomicInteger fetchCount = new AtomicInteger();
+        when(eventStore.getDomainEvents(eq(modelId), anyLong())).thenAnswer(
+                i -> Stream.of(toDeserializingMessage(new CreateModel()), countingFetches("foo", fetchCount)));
+        subject.load(modelId, TestModelWithReplayBudget.class);
+        assertEquals(1, fetchCount.get());
+        subject.load(modelId, TestModelWithReplayBudget.class);
+        assertEquals(1, fetchCount.get());
+    }
+
+    @Test
+    void testSnapshotSizeIsOnlyMeasuredForAdaptiveSnapshotTrigger() {
+        when(eventStore.getDomainEvents(eq(modelId), anyLong())).thenAnswer(i -> eventStreamOf(new CreateModel()));
+        subject.load(modelId, TestModelWithReplayBudget.class);
+        verify(snapshotRepository).getSnapshot(eq(modelId), any(LongConsumer.class));
+        subject.load(modelId, TestModelForSnapshotting.class);
+        verify(snapshotRepository).getSnapshot(modelId);
+    }
+
+    @Test
+    void testCachedModelsAreNotPrefetched() {
+        when(eventStore.getDomainEvents(eq(modelId), anyLong())).thenReturn(eventStreamOf(new CreateModel()));
+        subject.load(modelId, TestModel.class);
+        reset(eventStore);
+        subject.loadAll(singletonList(modelId), TestModel.class);
+        verifyNoMoreInteractions(eventStore);
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     void testApplyEvents() {
@@ -111,6 +180,23 @@ void testEventsGetStoredWhenHandlingEnds() {
         verify(eventStore).storeDomainEvents(modelId, TestModel.class.getSimpleName(), 0L, singletonList(event));
     }
 
+    @Test
+    void testEventsOfMultipleModelsGetStoredTogether() {
+        String otherModelId = "other";
+        when(eventStore.getDomainEvents(eq(otherModelId), anyLong())).thenReturn(Stream.empty());
+        Message event = new Message(new CreateModel(), EVENT);
+        Message otherEvent = new Message(new CreateModel(), EVENT);
+        executeWhileIntercepting(() -> {
+            subject.load(modelId, TestModel.class).apply(event);
+            subject.load(otherModelId, TestModel.class).apply(otherEvent);
+        }).apply(toDeserializingMessage("command"));
+        String domain = TestModel.class.getSimpleName();
+        verify(eventStore).storeDomainEvents(Arrays.asList(
+                new AggregateEvents(otherModelId, domain, 0L, singletonList(otherEvent)),
+                new AggregateEvents(modelId, domain, 0L, singletonList(event))));
+        verify(eventStore, never()).storeDomainEvents(anyString(), anyString(), anyLong(), anyList());
+    }
+
     @Test
     void testEventsDoNotGetStoredWhenInterceptedMethodTriggersException() {
         Function<DeserializingMessage, Object> f = subject.interceptHandling(s -> {
@@ -216,6 +302,14 @@ private DeserializingMessage toDeserializingMessage(Object payload) {
         return toDeserializingMessage(new Message(payload, Metadata.empty(), EVENT));
     }
 
+    private DeserializingMessage countingFetches(Object payload, AtomicInteger fetchCount) {
+        return new DeserializingMessage(new DeserializingObject<>(new SerializedMessage(
+                new Data<>(() -> {
+                    fetchCount.incrementAndGet();
+                    return new byte[0];
+                }, payload.getClass().getName(), 0), Metadata.empty(), null), () -> payload), EVENT);
+    }
+
     private DeserializingMessage toDeserializingMessage(Message message) {
         return new DeserializingMessage(new DeserializingObject<>(
                 new SerializedMessage(new Data<>(new byte[0], message.getPayload().getClass().getName(), 0),
@@ -246,6 +340,22 @@ public void handle(UpdateModel event) {
         }
     }
 
+    @EventSourced
+    @Value
+    public static class TestModelWithoutCaching {
+        @ApplyEvent
+        public TestModelWithoutCaching(CreateModel event) {
+        }
+    }
+
+    @EventSourced(replayBudgetMillis = 1000L)
+    @Value
+    public static class TestModelWithReplayBudget {
+        @ApplyEvent
+        public TestModelWithReplayBudget(CreateModel event) {
+        }
+    }
+
     @EventSourced
     public static class TestModelWithFactoryMethod {
         @ApplyEvent
@@ -24,6 +24,7 @@
 
 import static io.fluxcapacitor.common.TestUtils.assertEqualMessages;
 import static io.fluxcapacitor.common.TestUtils.createMessages;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class InMemoryEventStoreClientTest {
 
@@ -36,4 +37,15 @@ void returnsCorrectStreamWhenLastSnIsMidBatch() throws Exception {
         Stream<SerializedMessage> out = subject.getEvents("a", 99L);
         assertEqualMessages(in.subList(100, 300), out.collect(Collectors.toList()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void returnsCorrectStreamForMultipleBatches() {
+        List<SerializedMessage> in = createMessages(300);
+        subject.storeEvents("a", "test", 99L, in.subList(0, 100));
+        subject.storeEvents("a", "test", 299L, in.subList(100, 300));
+        assertEqualMessages(in.subList(150, 300), subject.getEvents("a", 149L).collect(Collectors.toList()));
+        assertEqualMessages(in, subject.getEvents("a", -1L).collect(Collectors.toList()));
+        assertEquals(0L, subject.getEvents("a", 299L).count());
+        assertEquals(0L, subject.getEvents("b", -1L).count());
+    }
+}
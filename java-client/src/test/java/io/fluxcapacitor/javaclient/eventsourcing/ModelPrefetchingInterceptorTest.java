@@ -0,0 +1,92 @@
+package io.fluxcapacitor.javaclient.eventsourcing;
+
+import io.fluxcapacitor.common.api.Data;
+import io.fluxcapacitor.common.api.Metadata;
+import io.fluxcapacitor.common.api.SerializedMessage;
+import io.fluxcapacitor.common.api.tracking.MessageBatch;
+import io.fluxcapacitor.javaclient.FluxCapacitor;
+import io.fluxcapacitor.javaclient.publishing.routing.RoutingKeyMetadataInterceptor;
+import io.fluxcapacitor.javaclient.tracking.Tracker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ModelPrefetchingInterceptorTest {
+
+    private final FluxCapacitor fluxCapacitor = mock(FluxCapacitor.class);
+    private final EventSourcing eventSourcing = mock(EventSourcing.class);
+    private final List<MessageBatch> handled = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(fluxCapacitor.eventSourcing()).thenReturn(eventSourcing);
+        FluxCapacitor.instance.set(fluxCapacitor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        FluxCapacitor.instance.remove();
+    }
+
+    @Test
+    void testModelsArePrefetchedUsingRoutingKeyInMetadata() {
+        MessageBatch batch = batch(message("a"), message(null), message("b"), message("a"));
+        consumer(ModelPrefetchingInterceptor.usingRoutingKey(CachedModel.class)).accept(batch);
+        verify(eventSourcing).loadAll(new HashSet<>(Arrays.asList("a", "b")), CachedModel.class);
+        assertEquals(singletonList(batch), handled);
+    }
+
+    @Test
+    void testModelsThatAreNotCachedAreNotPrefetched() {
+        MessageBatch batch = batch(message("a"));
+        consumer(ModelPrefetchingInterceptor.usingRoutingKey(UncachedModel.class)).accept(batch);
+        verify(eventSourcing, never()).loadAll(any(), any());
+        assertEquals(singletonList(batch), handled);
+    }
+
+    @Test
+    void testBatchIsHandledIfModelIdCannotBeResolved() {
+        MessageBatch batch = batch(message("a"), message("b"));
+        consumer(new ModelPrefetchingInterceptor(CachedModel.class, m -> {
+            throw new IllegalStateException();
+        })).accept(batch);
+        verify(eventSourcing, never()).loadAll(any(), any());
+        assertEquals(singletonList(batch), handled);
+    }
+
+    private Consumer<MessageBatch> consumer(ModelPrefetchingInterceptor interceptor) {
+        return interceptor.intercept(handled::add, new Tracker("test", 0));
+    }
+
+    private static MessageBatch batch(SerializedMessage... messages) {
+        return new MessageBatch(new int[]{0, 128}, Arrays.asList(messages), 0L);
+    }
+
+    private static SerializedMessage message(String routingKey) {
+        Metadata metadata = routingKey == null ? Metadata.empty()
+                : Metadata.from(RoutingKeyMetadataInterceptor.METADATA_KEY, routingKey);
+        return new SerializedMessage(new Data<>("invalid".getBytes(), "unknown", 0), metadata, null);
+    }
+
+    @EventSourced(cached = true)
+    private static class CachedModel {
+    }
+
+    @EventSourced
+    private static class UncachedModel {
+    }
+}
@@ -0,0 +1,92 @@
+package io.fluxcapacitor.javaclient.eventsourcing.client;
+
+import io.fluxcapacitor.common.api.SerializedMessage;
+import io.fluxcapacitor.common.api.tracking.MessageBatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static io.fluxcapacitor.common.TestUtils.assertEqualMessages;
+import static io.fluxcapacitor.common.TestUtils.createMessages;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FileEventStoreClientTest {
+
+    private File directory;
+    private FileEventStoreClient subject;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("eventstore").toFile();
+        subject = new FileEventStoreClient(directory, 4096, false);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        subject.close();
+        try (Stream<Path> files = Files.walk(directory.toPath())) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    void testEventsOfAggregateSurviveRestart() {
+        List<SerializedMessage> in = createMessages(300);
+        subject.storeEvents("a", "test", 99L, in.subList(0, 100));
+        subject.storeEvents("b", "test", 49L, in.subList(100, 150));
+        subject.storeEvents("a", "test", 249L, in.subList(150, 300));
+        restart();
+        assertEqualMessages(in.subList(0, 100), subject.getEvents("a", -1L).limit(100).collect(Collectors.toList()));
+        assertEqualMessages(in.subList(150, 300), subject.getEvents("a", 99L).collect(Collectors.toList()));
+        assertEqualMessages(in.subList(100, 150), subject.getEvents("b", -1L).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testTrackingContinuesAfterRestart() {
+        List<SerializedMessage> in = createMessages(20);
+        subject.storeEvents("a", "test", 9L, in.subList(0, 10));
+        MessageBatch batch = read();
+        subject.storePosition("consumer", batch.getSegment(), batch.getLastIndex());
+        restart();
+        subject.storeEvents("a", "test", 19L, in.subList(10, 20));
+        assertEqualMessages(in.subList(10, 20), read().getMessages());
+        assertEquals(20, subject.getEvents("a", -1L).count());
+    }
+
+    @Test
+    void testIncompleteJournalRecordIsDiscarded() throws IOException {
+        List<SerializedMessage> in = createMessages(20);
+        subject.storeEvents("a", "test", 9L, in.subList(0, 10));
+        subject.storeEvents("a", "test", 19L, in.subList(10, 20));
+        subject.close();
+        File journal = new File(directory, "aggregates.journal");
+        try (RandomAccessFile file = new RandomAccessFile(journal, "rw")) {
+            file.setLength(file.length() - 1);
+        }
+        subject = new FileEventStoreClient(directory, 4096, false);
+        assertEquals(10, subject.getEvents("a", -1L).count());
+        subject.storeEvents("a", "test", 29L, createMessages(10));
+        restart();
+        assertEquals(10, subject.getEvents("a", 19L).count());
+    }
+
+    private void restart() {
+        subject.close();
+        subject = new FileEventStoreClient(directory, 4096, false);
+    }
+
+    private MessageBatch read() {
+        return subject.readAndWait("consumer", 0, 1000, Duration.ofMillis(100), null, false, null);
+    }
+}
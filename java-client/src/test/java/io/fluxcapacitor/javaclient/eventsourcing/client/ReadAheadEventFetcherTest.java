@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2016-2017 Flux Capacitor.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fluxcapacitor.javaclient.eventsourcing.client;
+
+import io.fluxcapacitor.common.api.SerializedMessage;
+import io.fluxcapacitor.common.api.eventsourcing.EventBatch;
+import io.fluxcapacitor.common.api.eventsourcing.GetEvents;
+import io.fluxcapacitor.common.api.eventsourcing.GetEventsResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static io.fluxcapacitor.common.TestUtils.assertEqualMessages;
+import static io.fluxcapacitor.common.TestUtils.createMessages;
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReadAheadEventFetcherTest {
+
+    private final List<SerializedMessage> events = createMessages(100);
+    private final List<GetEvents> requests = new ArrayList<>();
+    private final List<CompletableFuture<GetEventsResult>> pendingResults = new ArrayList<>();
+
+    @Test
+    void testAllEventsAreStreamedWithGrowingPageSizes() {
+        Stream<SerializedMessage> result = ReadAheadEventFetcher.stream("a", -1L, this::respond, 10, 40, 2);
+        assertEqualMessages(events, result.collect(Collectors.toList()));
+        assertEquals(asList(10, 20, 40, 40), requests.stream().map(GetEvents::getBatchSize)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void testStreamStartsAfterLastSequenceNumber() {
+        Stream<SerializedMessage> result = ReadAheadEventFetcher.stream("a", 49L, this::respond, 10, 40, 2);
+        assertEqualMessages(events.subList(50, 100), result.collect(Collectors.toList()));
+    }
+
+    @Test
+    void testNextPageIsRequestedBeforeCurrentPageIsConsumed() {
+        Iterator<SerializedMessage> iterator =
+                ReadAheadEventFetcher.stream("a", -1L, this::respondLater, 10, 10, 3).iterator();
+        assertEquals(1, requests.size());
+        pendingResults.get(0).complete(createResult(requests.get(0)));
+        assertEquals(2, requests.size());
+        pendingResults.get(1).complete(createResult(requests.get(1)));
+        assertEquals(3, requests.size());
+        pendingResults.get(2).complete(createResult(requests.get(2)));
+        assertEquals(3, requests.size());
+
+        iterator.next();
+        assertEquals(4, requests.size());
+    }
+
+    @Test
+    void testNoPagesAreRequestedAfterClose() {
+        Stream<SerializedMessage> stream = ReadAheadEventFetcher.stream("a", -1L, this::respondLater, 10, 10, 3);
+        stream.close();
+        pendingResults.get(0).complete(createResult(requests.get(0)));
+        assertEquals(1, requests.size());
+    }
+
+    private CompletableFuture<GetEventsResult> respond(GetEvents request) {
+        requests.add(request);
+        return CompletableFuture.completedFuture(createResult(request));
+    }
+
+    private CompletableFuture<GetEventsResult> respondLater(GetEvents request) {
+        requests.add(request);
+        CompletableFuture<GetEventsResult> result = new CompletableFuture<>();
+        pendingResults.add(result);
+        return result;
+    }
+
+    private GetEventsResult createResult(GetEvents request) {
+        int start = (int) (request.getLastSequenceNumber() + 1);
+        int end = Math.min(events.size(), start + request.getBatchSize());
+        return new GetEventsResult(request.getRequestId(),
+                                   new EventBatch("a", "test", end - 1, new ArrayList<>(events.subList(start, end))));
+    }
+}
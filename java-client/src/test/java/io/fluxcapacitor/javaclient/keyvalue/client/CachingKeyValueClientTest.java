@@ -0,0 +1,75 @@
+package io.fluxcapacitor.javaclient.keyvalue.client;
+
+import io.fluxcapacitor.common.Guarantee;
+import io.fluxcapacitor.common.api.Data;
+import io.fluxcapacitor.common.api.keyvalue.DeleteValuesEvent;
+import io.fluxcapacitor.javaclient.common.caching.CacheConfiguration;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class CachingKeyValueClientTest {
+
+    private final KeyValueClient delegate = spy(new InMemoryKeyValueClient());
+    private final CachingKeyValueClient subject = new CachingKeyValueClient(delegate, CacheConfiguration.DEFAULT);
+    private final Data<byte[]> value = new Data<>("foo".getBytes(), "string", 0);
+
+    @Test
+    void testValueIsFetchedOnce() {
+        delegate.putValue("a", value, Guarantee.STORED);
+        assertEquals(value, subject.getValue("a"));
+        assertEquals(value, subject.getValue("a"));
+        verify(delegate, times(1)).getValue("a");
+        assertEquals(1L, subject.getStats().getHitCount());
+    }
+
+    @Test
+    void testMissingValueIsCached() {
+        assertNull(subject.getValue("a"));
+        assertNull(subject.getValue("a"));
+        verify(delegate, times(1)).getValue("a");
+    }
+
+    @Test
+    void testPutIsWrittenThrough() {
+        subject.putValue("a", value, Guarantee.STORED);
+        assertEquals(value, subject.getValue("a"));
+        verify(delegate, times(0)).getValue(anyString());
+    }
+
+    @Test
+    void testDeleteEvictsValue() {
+        subject.putValue("a", value, Guarantee.STORED);
+        subject.deleteValue("a");
+        assertNull(subject.getValue("a"));
+    }
+
+    @Test
+    void testGetValuesOnlyFetchesMissingKeys() {
+        subject.putValue("a", value, Guarantee.STORED);
+        delegate.putValue("b", value, Guarantee.STORED);
+        Map<String, Data<byte[]>> result = subject.getValues(Arrays.asList("a", "b", "c"));
+        assertEquals(2, result.size());
+        verify(delegate).getValues(Arrays.asList("b", "c"));
+    }
+
+    @Test
+    void testRemoteModificationEvictsValue() {
+        delegate.putValue("a", value, Guarantee.STORED);
+        subject.getValue("a");
+        new KeyValueCacheInvalidator(subject, "me")
+                .handle(new DeleteValuesEvent("other", "otherId", Collections.singletonList("a")));
+        subject.getValue("a");
+        verify(delegate, times(2)).getValue("a");
+        assertEquals(1L, subject.getRemoteInvalidationCount());
+    }
+}
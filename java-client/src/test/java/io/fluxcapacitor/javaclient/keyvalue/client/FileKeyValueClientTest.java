@@ -0,0 +1,169 @@
+package io.fluxcapacitor.javaclient.keyvalue.client;
+
+import io.fluxcapacitor.common.Guarantee;
+import io.fluxcapacitor.common.api.Data;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileKeyValueClientTest {
+
+    private File directory;
+    private FileKeyValueClient subject;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("keyvalue").toFile();
+        subject = open();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        subject.close();
+        try (Stream<Path> files = Files.walk(directory.toPath())) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    void testGetValue() {
+        subject.putValue("a", data("foo"), Guarantee.STORED);
+        assertEquals(data("foo"), subject.getValue("a"));
+        assertNull(subject.getValue("b"));
+    }
+
+    @Test
+    void testOverwriteAndDelete() {
+        subject.putValue("a", data("foo"), Guarantee.STORED);
+        subject.putValue("a", data("bar"), Guarantee.STORED);
+        assertEquals(data("bar"), subject.getValue("a"));
+        subject.deleteValue("a");
+        assertNull(subject.getValue("a"));
+    }
+
+    @Test
+    void testValuesSurviveRestart() {
+        subject.putValue("a", data("foo"), Guarantee.STORED);
+        subject.putValue("b", data("bar"), Guarantee.STORED);
+        subject.deleteValue("b");
+        subject.close();
+        subject = open();
+        assertEquals(data("foo"), subject.getValue("a"));
+        assertNull(subject.getValue("b"));
+    }
+
+    @Test
+    void testIncompleteRecordIsIgnoredOnRecovery() throws IOException {
+        subject.putValue("a", data("foo"), Guarantee.STORED);
+        subject.putValue("b", data("bar"), Guarantee.STORED);
+        subject.close();
+        File segment = directory.listFiles()[0];
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            int firstRecordLength = file.readInt();
+            file.seek(8 + firstRecordLength + 8);
+            file.write(0xFF);
+        }
+        subject = open();
+        assertEquals(data("foo"), subject.getValue("a"));
+        assertNull(subject.getValue("b"));
+        subject.putValue("b", data("baz"), Guarantee.STORED);
+        assertEquals(data("baz"), subject.getValue("b"));
+    }
+
+    @Test
+    void testCompactionRemovesOverwrittenValues() {
+        for (int i = 0; i < 100; i++) {
+            subject.putValue("a", data("foo" + i), Guarantee.STORED);
+            subject.putValue("b" + i, data("bar"), Guarantee.STORED);
+        }
+        subject.deleteValues(Arrays.asList("b1", "b2"));
+        int segmentCount = subject.getSegmentCount();
+        assertTrue(segmentCount > 1);
+        subject.compact();
+        assertTrue(subject.getSegmentCount() < segmentCount);
+        assertEquals(data("foo99"), subject.getValue("a"));
+        assertEquals(data("bar"), subject.getValue("b3"));
+        assertNull(subject.getValue("b1"));
+        assertEquals(99, subject.getKeyCount());
+
+        subject.close();
+        subject = open();
+        assertEquals(data("foo99"), subject.getValue("a"));
+        assertNull(subject.getValue("b1"));
+        assertEquals(99, subject.getKeyCount());
+    }
+
+    @Test
+    void testCompactionDropsTombstoneIfNoOlderSegmentContainsKey() throws IOException {
+        for (int i = 0; i < 40; i++) {
+            subject.putValue("b" + i, data("bar"), Guarantee.STORED);
+        }
+        subject.putValue("deleted", data("foo"), Guarantee.STORED);
+        for (int i = 0; i < 30; i++) {
+            subject.putValue("a", data("foo" + i), Guarantee.STORED);
+        }
+        subject.deleteValue("deleted");
+        for (int i = 0; i < 100; i++) {
+            subject.putValue("a", data("bar" + i), Guarantee.STORED);
+        }
+        subject.compact();
+        assertFalse(segmentsContain("deleted"));
+
+        subject.close();
+        subject = open();
+        assertNull(subject.getValue("deleted"));
+        assertEquals(41, subject.getKeyCount());
+    }
+
+    @Test
+    void testCompactionKeepsTombstoneIfOlderSegmentContainsKey() throws IOException {
+        subject.putValue("deleted", data("foo"), Guarantee.STORED);
+        for (int i = 0; i < 40; i++) {
+            subject.putValue("b" + i, data("bar"), Guarantee.STORED);
+        }
+        subject.deleteValue("deleted");
+        for (int i = 0; i < 100; i++) {
+            subject.putValue("a", data("bar" + i), Guarantee.STORED);
+        }
+        subject.compact();
+        assertTrue(segmentsContain("deleted"));
+
+        subject.close();
+        subject = open();
+        assertNull(subject.getValue("deleted"));
+        assertEquals(41, subject.getKeyCount());
+    }
+
+    private boolean segmentsContain(String key) throws IOException {
+        for (File file : Objects.requireNonNull(directory.listFiles())) {
+            if (new String(Files.readAllBytes(file.toPath()), ISO_8859_1).contains(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private FileKeyValueClient open() {
+        return new FileKeyValueClient(directory, 1024, 0.3d, 0L);
+    }
+
+    private static Data<byte[]> data(String value) {
+        return new Data<>(value.getBytes(), "string", 0);
+    }
+}
@@ -0,0 +1,61 @@
+package io.fluxcapacitor.javaclient.keyvalue.client;
+
+import io.fluxcapacitor.common.Guarantee;
+import io.fluxcapacitor.common.api.Data;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryKeyValueClientTest {
+
+    private final InMemoryKeyValueClient subject = new InMemoryKeyValueClient();
+    private final Data<byte[]> foo = new Data<>("foo".getBytes(), "string", 0);
+    private final Data<byte[]> bar = new Data<>("bar".getBytes(), "string", 0);
+
+    @Test
+    void testGetValues() {
+        subject.putValue("a", foo, Guarantee.NONE);
+        subject.putValue("b", bar, Guarantee.NONE);
+        Map<String, Data<byte[]>> expected = new HashMap<>();
+        expected.put("a", foo);
+        expected.put("b", bar);
+        assertEquals(expected, subject.getValues(Arrays.asList("a", "b")));
+    }
+
+    @Test
+    void testGetValuesSkipsMissingKeys() {
+        subject.putValue("a", foo, Guarantee.NONE);
+        assertEquals(Collections.singletonMap("a", foo), subject.getValues(Arrays.asList("a", "missing")));
+    }
+
+    @Test
+    void testGetValuesWithoutKeys() {
+        subject.putValue("a", foo, Guarantee.NONE);
+        assertTrue(subject.getValues(Collections.emptyList()).isEmpty());
+    }
+
+    @Test
+    void testDeleteValues() {
+        subject.putValue("a", foo, Guarantee.NONE);
+        subject.putValue("b", bar, Guarantee.NONE);
+        subject.putValue("c", bar, Guarantee.NONE);
+        subject.deleteValues(Arrays.asList("a", "b", "missing"));
+        assertNull(subject.getValue("a"));
+        assertNull(subject.getValue("b"));
+        assertEquals(bar, subject.getValue("c"));
+    }
+
+    @Test
+    void testDeleteValuesWithoutKeys() {
+        subject.putValue("a", foo, Guarantee.NONE);
+        subject.deleteValues(Collections.emptyList());
+        assertEquals(foo, subject.getValue("a"));
+    }
+}
@@ -0,0 +1,134 @@
+package io.fluxcapacitor.javaclient.publishing;
+
+import io.fluxcapacitor.common.MessageType;
+import io.fluxcapacitor.common.api.Metadata;
+import io.fluxcapacitor.javaclient.common.Message;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CoalescingRequestGatewayTest {
+
+    private final RequestGateway delegate = mock(RequestGateway.class);
+    private final CoalescingRequestGateway subject = new CoalescingRequestGateway(delegate);
+
+    @Test
+    void testConcurrentIdenticalQueriesShareRequest() throws Exception {
+        CompletableFuture<Message> response = new CompletableFuture<>();
+        when(delegate.sendForMessage(any())).thenReturn(response);
+        CompletableFuture<Message> first = subject.sendForMessage(query(new Coalesced("a")));
+        CompletableFuture<Message> second = subject.sendForMessage(query(new Coalesced("a")));
+        verify(delegate, times(1)).sendForMessage(any());
+        assertEquals(1L, subject.getCoalescedCount());
+        response.complete(new Message("result", MessageType.RESULT));
+        assertEquals("result", first.get().getPayload());
+        assertEquals("result", second.get().getPayload());
+        assertEquals(0, subject.getInFlightCount());
+    }
+
+    @Test
+    void testDifferentQueriesAreNotCoalesced() {
+        when(delegate.sendForMessage(any())).thenReturn(new CompletableFuture<>());
+        subject.sendForMessage(query(new Coalesced("a")));
+        subject.sendForMessage(query(new Coalesced("b")));
+        subject.sendForMessage(new Message(new Coalesced("a"), Metadata.from("user", "x"), MessageType.QUERY));
+        verify(delegate, times(3)).sendForMessage(any());
+    }
+
+    @Test
+    void testCancellingOneCallerDoesNotAffectOthers() throws Exception {
+        CompletableFuture<Message> response = new CompletableFuture<>();
+        when(delegate.sendForMessage(any())).thenReturn(response);
+        CompletableFuture<Message> first = subject.sendForMessage(query(new Coalesced("a")));
+        CompletableFuture<Message> second = subject.sendForMessage(query(new Coalesced("a")));
+        first.cancel(true);
+        response.complete(new Message("result", MessageType.RESULT));
+        assertEquals("result", second.get().getPayload());
+    }
+
+    @Test
+    void testFailureIsShared() {
+        CompletableFuture<Message> response = new CompletableFuture<>();
+        when(delegate.sendForMessage(any())).thenReturn(response);
+        CompletableFuture<Message> first = subject.sendForMessage(query(new Coalesced("a")));
+        CompletableFuture<Message> second = subject.sendForMessage(query(new Coalesced("a")));
+        response.completeExceptionally(new IllegalStateException());
+        assertThrows(ExecutionException.class, first::get);
+        assertThrows(ExecutionException.class, second::get);
+        assertEquals(0, subject.getInFlightCount());
+    }
+
+    @Test
+    void testResultIsCached() throws Exception {
+        when(delegate.sendForMessage(any()))
+                .thenReturn(CompletableFuture.completedFuture(new Message("result", MessageType.RESULT)));
+        subject.sendForMessage(query(new Cached("a"))).get();
+        assertEquals("result", subject.sendForMessage(query(new Cached("a"))).get().getPayload());
+        verify(delegate, times(1)).sendForMessage(any());
+        assertEquals(1L, subject.getCacheStats(Cached.class).getHitCount());
+    }
+
+    @Test
+    void testQueriesWithSameHashCodeDoNotShareCachedResult() throws Exception {
+        when(delegate.sendForMessage(any()))
+                .thenReturn(CompletableFuture.completedFuture(new Message("a", MessageType.RESULT)))
+                .thenReturn(CompletableFuture.completedFuture(new Message("b", MessageType.RESULT)));
+        subject.sendForMessage(query(new SameHashCode("a"))).get();
+        assertEquals("b", subject.sendForMessage(query(new SameHashCode("b"))).get().getPayload());
+        verify(delegate, times(2)).sendForMessage(any());
+    }
+
+    @Test
+    void testOtherQueriesArePassedOn() {
+        CompletableFuture<Message> response = new CompletableFuture<>();
+        when(delegate.sendForMessage(any())).thenReturn(response);
+        assertSame(response, subject.sendForMessage(query("a")));
+        assertFalse(subject.sendForMessage(query("a")).isDone());
+        verify(delegate, times(2)).sendForMessage(any());
+    }
+
+    private static Message query(Object payload) {
+        return new Message(payload, MessageType.QUERY);
+    }
+
+    @Value
+    @CoalescedQuery(metadataKeys = "user")
+    public static class Coalesced {
+        String value;
+    }
+
+    @Value
+    @CoalescedQuery(cacheMillis = 60_000L)
+    public static class Cached {
+        String value;
+    }
+
+    @CoalescedQuery(cacheMillis = 60_000L)
+    @AllArgsConstructor
+    public static class SameHashCode {
+        private final String value;
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof SameHashCode && value.equals(((SameHashCode) o).value);
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+    }
+}
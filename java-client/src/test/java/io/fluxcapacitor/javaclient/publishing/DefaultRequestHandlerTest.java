@@ -0,0 +1,78 @@
+package io.fluxcapacitor.javaclient.publishing;
+
+import io.fluxcapacitor.common.TimerWheel;
+import io.fluxcapacitor.common.api.Metadata;
+import io.fluxcapacitor.common.api.SerializedMessage;
+import io.fluxcapacitor.javaclient.common.Message;
+import io.fluxcapacitor.javaclient.common.serialization.Serializer;
+import io.fluxcapacitor.javaclient.common.serialization.jackson.JacksonSerializer;
+import io.fluxcapacitor.javaclient.tracking.TrackingConfiguration;
+import io.fluxcapacitor.javaclient.tracking.client.InMemoryMessageStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DefaultRequestHandlerTest {
+
+    private final Serializer serializer = new JacksonSerializer();
+    private final DefaultRequestHandler subject = new DefaultRequestHandler(
+            new InMemoryMessageStore(), serializer, "test", "testId", TrackingConfiguration.DEFAULT,
+            Duration.ofSeconds(10), 2, new TimerWheel(Duration.ofMillis(1), 64));
+
+    @AfterEach
+    void tearDown() {
+        subject.close();
+    }
+
+    @Test
+    void testRequestIsCompletedByResult() throws Exception {
+        AtomicReference<SerializedMessage> request = new AtomicReference<>();
+        CompletableFuture<Message> result = subject.sendRequest(message("foo"), request::set);
+        SerializedMessage response = new SerializedMessage(serializer.serialize("bar"), Metadata.empty(), "result");
+        response.setRequestId(request.get().getRequestId());
+        subject.handleMessages(Collections.singletonList(response));
+        assertEquals("bar", result.get(1, TimeUnit.SECONDS).getPayload());
+        assertEquals(0, subject.getOutstandingRequestCount());
+    }
+
+    @Test
+    void testRequestTimesOut() {
+        CompletableFuture<Message> result = subject.sendRequest(message("foo"), m -> {}, Duration.ofMillis(20));
+        ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof TimeoutException);
+        assertEquals(0, subject.getOutstandingRequestCount());
+        assertEquals(1, subject.getTimedOutRequestCount());
+    }
+
+    @Test
+    void testOutstandingRequestsAreBounded() {
+        subject.sendRequest(message("foo"), m -> {});
+        subject.sendRequest(message("foo"), m -> {});
+        assertThrows(GatewayException.class, () -> subject.sendRequest(message("foo"), m -> {}));
+        assertEquals(2, subject.getOutstandingRequestCount());
+        assertEquals(1, subject.getRejectedRequestCount());
+    }
+
+    @Test
+    void testCloseFailsOutstandingRequests() {
+        CompletableFuture<Message> result = subject.sendRequest(message("foo"), m -> {});
+        subject.close();
+        ExecutionException e = assertThrows(ExecutionException.class, result::get);
+        assertTrue(e.getCause() instanceof GatewayException);
+        assertEquals(0, subject.getOutstandingRequestCount());
+    }
+
+    private SerializedMessage message(String payload) {
+        return new SerializedMessage(serializer.serialize(payload), Metadata.empty(), "request");
+    }
+}
@@ -0,0 +1,117 @@
+package io.fluxcapacitor.javaclient.publishing.claimcheck;
+
+import io.fluxcapacitor.common.MessageType;
+import io.fluxcapacitor.common.api.Data;
+import io.fluxcapacitor.common.api.Metadata;
+import io.fluxcapacitor.common.api.SerializedMessage;
+import io.fluxcapacitor.common.api.tracking.MessageBatch;
+import io.fluxcapacitor.javaclient.common.Message;
+import io.fluxcapacitor.javaclient.keyvalue.client.InMemoryKeyValueClient;
+import io.fluxcapacitor.javaclient.keyvalue.client.KeyValueClient;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClaimCheckInterceptorTest {
+
+    private final KeyValueClient keyValueClient = new InMemoryKeyValueClient();
+    private final byte[] largePayload = new byte[100];
+    private final Function<Message, SerializedMessage> invocation = m -> new SerializedMessage(
+            new Data<>((byte[]) m.getPayload(), "test", 1), Metadata.empty(), "someId");
+
+    @Test
+    void testSmallPayloadIsSentInline() {
+        ClaimCheckInterceptor subject = createSubject(ClaimCheckCleanup.RETAIN);
+        byte[] payload = new byte[10];
+        SerializedMessage result = subject.interceptDispatch(invocation).apply(new Message(payload, MessageType.EVENT));
+        assertFalse(result.getMetadata().containsKey(ClaimCheckInterceptor.METADATA_KEY));
+        assertArrayEquals(payload, result.getData().getValue());
+    }
+
+    @Test
+    void testLargePayloadIsClaimChecked() {
+        ClaimCheckInterceptor subject = createSubject(ClaimCheckCleanup.RETAIN);
+        SerializedMessage result = dispatchLargePayload(subject);
+        String key = result.getMetadata().get(ClaimCheckInterceptor.METADATA_KEY);
+        assertNotNull(key);
+        assertEquals(0, result.getData().getValue().length);
+        assertEquals("test", result.getData().getType());
+        assertEquals(1, result.getData().getRevision());
+        assertArrayEquals(largePayload, keyValueClient.getValue(key).getValue());
+    }
+
+    @Test
+    void testPayloadIsResolvedForConsumer() {
+        ClaimCheckInterceptor subject = createSubject(ClaimCheckCleanup.RETAIN);
+        SerializedMessage message = dispatchLargePayload(subject);
+        subject.intercept(batch -> assertArrayEquals(
+                largePayload, batch.getMessages().get(0).getData().getValue()), null).accept(toBatch(message));
+        assertNotNull(keyValueClient.getValue(message.getMetadata().get(ClaimCheckInterceptor.METADATA_KEY)));
+    }
+
+    @Test
+    void testPayloadIsDeletedAfterHandling() {
+        ClaimCheckInterceptor subject = createSubject(ClaimCheckCleanup.DELETE_AFTER_HANDLING);
+        SerializedMessage message = dispatchLargePayload(subject);
+        String key = message.getMetadata().get(ClaimCheckInterceptor.METADATA_KEY);
+        subject.intercept(batch -> assertTrue(keyValueClient.getValue(key) != null), null).accept(toBatch(message));
+        assertNull(keyValueClient.getValue(key));
+    }
+
+    @Test
+    void testMetadataOfDispatchedMessageIsNotModified() {
+        ClaimCheckInterceptor subject = createSubject(ClaimCheckCleanup.RETAIN);
+        Message message = new Message(largePayload, MessageType.EVENT);
+        SerializedMessage result = subject.interceptDispatch(
+                m -> new SerializedMessage(new Data<>(largePayload, "test", 1), m.getMetadata(), "someId"))
+                .apply(message);
+        assertTrue(result.getMetadata().containsKey(ClaimCheckInterceptor.METADATA_KEY));
+        assertFalse(message.getMetadata().containsKey(ClaimCheckInterceptor.METADATA_KEY));
+    }
+
+    @Test
+    void testOldReferenceIsRemovedWhenPayloadIsSentInline() {
+        ClaimCheckInterceptor subject = createSubject(ClaimCheckCleanup.RETAIN);
+        byte[] payload = new byte[10];
+        SerializedMessage result = subject.interceptDispatch(
+                m -> new SerializedMessage(new Data<>(payload, "test", 1), m.getMetadata(), "someId"))
+                .apply(new Message(payload, Metadata.from(ClaimCheckInterceptor.METADATA_KEY, "oldKey"),
+                                   MessageType.EVENT));
+        assertFalse(result.getMetadata().containsKey(ClaimCheckInterceptor.METADATA_KEY));
+        assertArrayEquals(payload, result.getData().getValue());
+    }
+
+    @Test
+    void testOldReferenceIsReplacedWhenPayloadIsClaimCheckedAgain() {
+        ClaimCheckInterceptor subject = createSubject(ClaimCheckCleanup.RETAIN);
+        SerializedMessage result = subject.interceptDispatch(
+                m -> new SerializedMessage(new Data<>(largePayload, "test", 1), m.getMetadata(), "someId"))
+                .apply(new Message(largePayload, Metadata.from(ClaimCheckInterceptor.METADATA_KEY, "oldKey"),
+                                   MessageType.EVENT));
+        String key = result.getMetadata().get(ClaimCheckInterceptor.METADATA_KEY);
+        assertNotEquals("oldKey", key);
+        assertArrayEquals(largePayload, keyValueClient.getValue(key).getValue());
+    }
+
+    private ClaimCheckInterceptor createSubject(ClaimCheckCleanup cleanup) {
+        return new ClaimCheckInterceptor(keyValueClient, ClaimCheckConfiguration.builder()
+                .payloadSizeThreshold(50).cleanup(cleanup).build());
+    }
+
+    private SerializedMessage dispatchLargePayload(ClaimCheckInterceptor subject) {
+        return subject.interceptDispatch(invocation).apply(new Message(largePayload, MessageType.EVENT));
+    }
+
+    private static MessageBatch toBatch(SerializedMessage message) {
+        return new MessageBatch(new int[]{0, 128}, Collections.singletonList(message), 0L);
+    }
+}
@@ -2,11 +2,19 @@
 
 import io.fluxcapacitor.common.api.Data;
 import io.fluxcapacitor.common.api.Metadata;
+import io.fluxcapacitor.common.api.SerializedMessage;
+import io.fluxcapacitor.common.api.tracking.MessageBatch;
+import io.fluxcapacitor.common.handling.Handler;
 import io.fluxcapacitor.javaclient.FluxCapacitor;
+import io.fluxcapacitor.javaclient.common.Message;
 import io.fluxcapacitor.javaclient.common.serialization.DeserializingMessage;
 import io.fluxcapacitor.javaclient.common.serialization.jackson.JacksonSerializer;
 import io.fluxcapacitor.javaclient.configuration.DefaultFluxCapacitor;
 import io.fluxcapacitor.javaclient.configuration.client.InMemoryClient;
+import io.fluxcapacitor.javaclient.keyvalue.DefaultKeyValueStore;
+import io.fluxcapacitor.javaclient.keyvalue.KeyValueStore;
+import io.fluxcapacitor.javaclient.keyvalue.client.InMemoryKeyValueClient;
+import io.fluxcapacitor.javaclient.tracking.Tracker;
 import io.fluxcapacitor.javaclient.tracking.handling.HandleCommand;
 import io.fluxcapacitor.javaclient.tracking.handling.HandleEvent;
 import lombok.Builder;
@@ -15,17 +23,36 @@
 import org.junit.jupiter.api.Test;
 
 import javax.validation.constraints.NotNull;
-
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static io.fluxcapacitor.common.MessageType.EVENT;
+import static io.fluxcapacitor.javaclient.publishing.dataprotection.DataProtectionInterceptor.METADATA_KEY;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 class DataProtectionInterceptorTest {
 
     private final JacksonSerializer serializer = new JacksonSerializer();
     private final FluxCapacitor fluxCapacitor = DefaultFluxCapacitor.builder().disableShutdownHook()
             .serializer(serializer).build(InMemoryClient.newInstance());
+    private final InMemoryKeyValueClient keyValueClient = spy(new InMemoryKeyValueClient());
+    private final KeyValueStore keyValueStore = new DefaultKeyValueStore(keyValueClient, serializer);
+    private final DataProtectionInterceptor subject = new DataProtectionInterceptor(keyValueStore, serializer);
 
     @Test
     void testSerializedMessageDoesNotContainData() {
@@ -76,6 +103,66 @@ void testNullDataIsIgnored() {
         assertFalse(handler.getLastMetadata().containsKey(DataProtectionInterceptor.METADATA_KEY));
     }
 
+    @Test
+    void testPayloadIsNotModifiedWhenFieldsAreLeftOut() {
+        SomeEvent event = new SomeEvent("secret");
+        SerializedMessage result = subject.interceptDispatch(this::serialize).apply(new Message(event, EVENT));
+        assertNull(serializer.<SomeEvent>deserialize(result.getData()).getSensitiveData());
+        assertEquals("secret", event.getSensitiveData());
+        assertEquals("secret", keyValueStore.get(protectedKey(result)));
+        verify(keyValueClient, times(1)).putValues(anyMap(), any());
+    }
+
+    @Test
+    void testDispatchingProtectedMessageAgainReusesStoredValues() {
+        Function<Message, SerializedMessage> dispatcher = subject.interceptDispatch(this::serialize);
+        Message message = new Message(new SomeEvent("secret"), EVENT);
+        SerializedMessage first = dispatcher.apply(message);
+        SerializedMessage second = dispatcher.apply(message);
+        assertNull(serializer.<SomeEvent>deserialize(second.getData()).getSensitiveData());
+        assertEquals(protectedKey(first), protectedKey(second));
+        verify(keyValueClient, times(1)).putValues(anyMap(), any());
+    }
+
+    @Test
+    void testFieldsAreLeftOutOfPayloadReplacedByInnerInterceptor() {
+        SerializedMessage result = subject.interceptDispatch(
+                m -> serialize(m.withPayload(new SomeEvent("replaced secret")))).apply(
+                new Message(new SomeEvent("secret"), EVENT));
+        assertNull(serializer.<SomeEvent>deserialize(result.getData()).getSensitiveData());
+        assertEquals("replaced secret", keyValueStore.get(protectedKey(result)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testProtectedValuesOfBatchAreFetchedInOneRequest() throws Exception {
+        Function<Message, SerializedMessage> dispatcher = subject.interceptDispatch(this::serialize);
+        List<SerializedMessage> messages = Arrays.asList(dispatcher.apply(new Message(new SomeEvent("a"), EVENT)),
+                                                         dispatcher.apply(new Message(new SomeEvent("b"), EVENT)));
+        Handler<DeserializingMessage> handler = mock(Handler.class);
+        when(handler.getMethod(any())).thenReturn(
+                SomeHandler.class.getDeclaredMethod("handler", SomeEvent.class, DeserializingMessage.class));
+        List<String> handledValues = new ArrayList<>();
+        Function<DeserializingMessage, Object> handling = subject.interceptHandling(
+                m -> handledValues.add(((SomeEvent) m.getPayload()).getSensitiveData()), handler, "test");
+        subject.intercept(batch -> serializer.deserialize(batch.getMessages().stream(), true)
+                                  .map(m -> new DeserializingMessage(m, EVENT)).forEach(handling::apply),
+                          new Tracker("test", 0)).accept(new MessageBatch(new int[]{0, 1}, messages, 1L));
+        assertEquals(Arrays.asList("a", "b"), handledValues);
+        verify(keyValueClient, times(1)).getValues(anyCollection());
+        verify(keyValueClient, never()).getValue(any());
+    }
+
+    private SerializedMessage serialize(Message message) {
+        return new SerializedMessage(serializer.serialize(message.getPayload()), message.getMetadata(),
+                                     message.getMessageId());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String protectedKey(SerializedMessage message) {
+        return (String) message.getMetadata().get(METADATA_KEY, Map.class).get("sensitiveData");
+    }
+
     @Value
     @Builder(toBuilder = true)
     private static class SomeEvent {
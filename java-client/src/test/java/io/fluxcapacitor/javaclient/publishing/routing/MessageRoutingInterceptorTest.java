@@ -27,6 +27,7 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class MessageRoutingInterceptorTest {
 
@@ -70,6 +71,7 @@ void testAnnotationOnMethodWithParametersFails() {
     private void testInvocation(Object payload) {
         SerializedMessage result = subject.interceptDispatch(invocation).apply(new Message(payload, MessageType.EVENT));
         assertEquals(expectedHash, (int) result.getSegment());
+        assertTrue(result.getMetadata().isEmpty());
     }
 
     private static class AnnotationOnField {
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2016-2018 Flux Capacitor.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fluxcapacitor.javaclient.publishing.routing;
+
+import io.fluxcapacitor.common.MessageType;
+import io.fluxcapacitor.common.api.Data;
+import io.fluxcapacitor.common.api.Metadata;
+import io.fluxcapacitor.common.api.SerializedMessage;
+import io.fluxcapacitor.javaclient.common.Message;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoutingKeyMetadataInterceptorTest {
+
+    private final RoutingKeyMetadataInterceptor subject = new RoutingKeyMetadataInterceptor();
+    private final Metadata metadata = Metadata.empty();
+
+    @Test
+    void testRoutingKeyIsAddedToMetadata() {
+        SerializedMessage result = intercept(new Command());
+        assertEquals("bar", result.getMetadata().get(RoutingKeyMetadataInterceptor.METADATA_KEY));
+    }
+
+    @Test
+    void testMetadataIsNotModifiedWithoutRoutingKey() {
+        SerializedMessage result = intercept(new Object());
+        assertTrue(result.getMetadata().isEmpty());
+    }
+
+    @Test
+    void testMetadataOfSerializedMessageIsNotModified() {
+        intercept(new Command());
+        assertTrue(metadata.isEmpty());
+    }
+
+    private SerializedMessage intercept(Object payload) {
+        return subject.interceptDispatch(
+                m -> new SerializedMessage(new Data<>("test".getBytes(), "test", 0), metadata, "someId"))
+                .apply(new Message(payload, MessageType.COMMAND));
+    }
+
+    private static class Command {
+        @RoutingKey
+        private Object foo = "bar";
+    }
+}
@@ -0,0 +1,59 @@
+package io.fluxcapacitor.javaclient.scheduling;
+
+import io.fluxcapacitor.common.Awaitable;
+import io.fluxcapacitor.common.api.Data;
+import io.fluxcapacitor.common.api.SerializedMessage;
+import io.fluxcapacitor.common.api.scheduling.ScheduledMessage;
+import io.fluxcapacitor.javaclient.common.serialization.MessageSerializer;
+import io.fluxcapacitor.javaclient.scheduling.client.SchedulingClient;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+class DefaultSchedulerTest {
+
+    private final SchedulingClient client = mock(SchedulingClient.class);
+    private final Scheduler subject = new DefaultScheduler(client, new MessageSerializer(
+            m -> new SerializedMessage(new Data<>(new byte[0], "test", 0), m.getMetadata(), m.getMessageId())));
+
+    @Test
+    void testScheduleAllUsesSingleRequest() {
+        when(client.schedule(any())).thenReturn(Awaitable.ready());
+        Instant deadline = Instant.now();
+        subject.scheduleAll(Arrays.asList(new ScheduledPayload("a", deadline, "foo"),
+                                          new ScheduledPayload("b", deadline, "bar")));
+        ArgumentCaptor<ScheduledMessage> captor = ArgumentCaptor.forClass(ScheduledMessage.class);
+        verify(client).schedule(captor.capture());
+        List<ScheduledMessage> scheduled = captor.getAllValues();
+        assertEquals(2, scheduled.size());
+        assertEquals(deadline.toEpochMilli(), scheduled.get(1).getTimestamp());
+        verifyNoMoreInteractions(client);
+    }
+
+    @Test
+    void testCancelSchedulesUsesSingleRequest() {
+        when(client.cancelSchedules(anyCollection())).thenReturn(Awaitable.ready());
+        subject.cancelSchedules(Arrays.asList("a", "b"));
+        verify(client).cancelSchedules(Arrays.asList("a", "b"));
+        verifyNoMoreInteractions(client);
+    }
+
+    @Test
+    void testEmptyBatchesAreNotSent() {
+        subject.scheduleAll(Collections.emptyList());
+        subject.cancelSchedules(Collections.emptyList());
+        verifyNoMoreInteractions(client);
+    }
+}
@@ -0,0 +1,88 @@
+package io.fluxcapacitor.javaclient.scheduling.client;
+
+import io.fluxcapacitor.common.api.Data;
+import io.fluxcapacitor.common.api.Metadata;
+import io.fluxcapacitor.common.api.SerializedMessage;
+import io.fluxcapacitor.common.api.scheduling.ScheduledMessage;
+import io.fluxcapacitor.common.api.tracking.MessageBatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileSchedulingClientTest {
+
+    private File directory;
+    private FileSchedulingClient subject;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("schedules").toFile();
+        subject = new FileSchedulingClient(directory);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        subject.close();
+        try (Stream<Path> files = Files.walk(directory.toPath())) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    void testPendingSchedulesSurviveRestart() {
+        subject.schedule(schedule("a", System.currentTimeMillis() - 10),
+                         schedule("b", System.currentTimeMillis() + 10_000));
+        restart();
+        assertEquals(2, subject.getPendingScheduleCount());
+        MessageBatch batch = read();
+        assertEquals(1, batch.getMessages().size());
+        assertArrayEquals("a".getBytes(), batch.getMessages().get(0).getData().getValue());
+        assertEquals("a", batch.getMessages().get(0).getMetadata().get("id"));
+    }
+
+    @Test
+    void testCancelledSchedulesAreNotRecovered() {
+        subject.schedule(schedule("a", System.currentTimeMillis() + 10_000), schedule("b", System.currentTimeMillis()));
+        subject.cancelSchedule("a");
+        restart();
+        assertEquals(1, subject.getPendingScheduleCount());
+    }
+
+    @Test
+    void testConsumedSchedulesAreNotRecovered() {
+        subject.schedule(schedule("a", System.currentTimeMillis() - 10));
+        MessageBatch batch = read();
+        subject.storePosition("consumer", batch.getSegment(), batch.getLastIndex());
+        restart();
+        assertEquals(0, subject.getPendingScheduleCount());
+        assertTrue(read().getMessages().isEmpty());
+    }
+
+    private void restart() {
+        subject.close();
+        subject = new FileSchedulingClient(directory);
+    }
+
+    private MessageBatch read() {
+        return subject.readAndWait("consumer", 0, 100, Duration.ofMillis(100), null, false, null);
+    }
+
+    private static ScheduledMessage schedule(String id, long deadline) {
+        Metadata metadata = Metadata.empty();
+        metadata.put("id", id);
+        return new ScheduledMessage(id, deadline, new SerializedMessage(
+                new Data<>(id.getBytes(), "test", 0), metadata, "messageId"));
+    }
+}
@@ -0,0 +1,85 @@
+package io.fluxcapacitor.javaclient.scheduling.client;
+
+import io.fluxcapacitor.common.api.Data;
+import io.fluxcapacitor.common.api.Metadata;
+import io.fluxcapacitor.common.api.SerializedMessage;
+import io.fluxcapacitor.common.api.scheduling.ScheduledMessage;
+import io.fluxcapacitor.common.api.tracking.MessageBatch;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemorySchedulingClientTest {
+
+    private final InMemorySchedulingClient subject = new InMemorySchedulingClient();
+
+    @Test
+    void testScheduleIsReadAfterDeadline() {
+        subject.schedule(schedule("a", System.currentTimeMillis() + 50));
+        long start = System.currentTimeMillis();
+        MessageBatch batch = read(Duration.ofSeconds(1));
+        assertEquals(1, batch.getMessages().size());
+        assertTrue(System.currentTimeMillis() - start >= 40);
+    }
+
+    @Test
+    void testScheduleIsNotReadBeforeDeadline() {
+        subject.schedule(schedule("a", System.currentTimeMillis() + 10_000));
+        assertTrue(read(Duration.ofMillis(50)).getMessages().isEmpty());
+    }
+
+    @Test
+    void testScheduleInPastIsReadAfterPositionMovedOn() {
+        subject.schedule(schedule("a", System.currentTimeMillis() - 10));
+        MessageBatch batch = read(Duration.ofSeconds(1));
+        subject.storePosition("consumer", batch.getSegment(), batch.getLastIndex());
+        subject.schedule(schedule("b", System.currentTimeMillis() - 10_000));
+        assertEquals(1, read(Duration.ofSeconds(1)).getMessages().size());
+    }
+
+    @Test
+    void testCancelledScheduleIsNotRead() {
+        subject.schedule(schedule("a", System.currentTimeMillis() - 10));
+        subject.cancelSchedule("a");
+        assertTrue(read(Duration.ofMillis(50)).getMessages().isEmpty());
+        assertEquals(0, subject.getPendingScheduleCount());
+    }
+
+    @Test
+    void testCancelSchedules() {
+        subject.schedule(schedule("a", System.currentTimeMillis() - 10), schedule("b", System.currentTimeMillis() - 10),
+                         schedule("c", System.currentTimeMillis() - 10));
+        subject.cancelSchedules(Arrays.asList("a", "c"));
+        assertEquals(1, subject.getPendingScheduleCount());
+    }
+
+    @Test
+    void testRescheduleReplacesSchedule() {
+        subject.schedule(schedule("a", System.currentTimeMillis() + 10_000));
+        subject.schedule(schedule("a", System.currentTimeMillis() - 10));
+        assertEquals(1, read(Duration.ofSeconds(1)).getMessages().size());
+        assertEquals(1, subject.getPendingScheduleCount());
+    }
+
+    @Test
+    void testConsumedSchedulesAreRemoved() {
+        subject.schedule(schedule("a", System.currentTimeMillis() - 10), schedule("b", System.currentTimeMillis()));
+        MessageBatch batch = read(Duration.ofSeconds(1));
+        subject.storePosition("consumer", batch.getSegment(), batch.getLastIndex());
+        subject.cancelSchedule("a");
+        assertEquals(2 - batch.getMessages().size(), subject.getPendingScheduleCount());
+    }
+
+    private MessageBatch read(Duration timeout) {
+        return subject.readAndWait("consumer", 0, 100, timeout, null, false, null);
+    }
+
+    private static ScheduledMessage schedule(String id, long deadline) {
+        return new ScheduledMessage(id, deadline, new SerializedMessage(
+                new Data<>(new byte[0], "test", 0), Metadata.empty(), "messageId"));
+    }
+}
@@ -0,0 +1,89 @@
+package io.fluxcapacitor.javaclient.tracking;
+
+import io.fluxcapacitor.common.MessageType;
+import io.fluxcapacitor.common.api.Data;
+import io.fluxcapacitor.common.api.Metadata;
+import io.fluxcapacitor.common.api.SerializedMessage;
+import io.fluxcapacitor.javaclient.common.serialization.DeserializingMessage;
+import io.fluxcapacitor.javaclient.common.serialization.Serializer;
+import io.fluxcapacitor.javaclient.common.serialization.jackson.JacksonSerializer;
+import io.fluxcapacitor.javaclient.tracking.handling.DeserializingMessageParameterResolver;
+import io.fluxcapacitor.javaclient.tracking.handling.HandleEvent;
+import io.fluxcapacitor.javaclient.tracking.handling.PayloadParameterResolver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class DefaultTrackingTest {
+
+    private final Serializer serializer = new JacksonSerializer();
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final DefaultTracking subject = new DefaultTracking(
+            MessageType.EVENT, HandleEvent.class, null, null, Collections.emptyList(), serializer, (f, h, c) -> f,
+            Arrays.asList(new PayloadParameterResolver(), new DeserializingMessageParameterResolver()));
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testParallelDeserializationGivesSameResultAsSequentialDeserialization() {
+        List<SerializedMessage> messages = IntStream.range(0, 1000)
+                .mapToObj(i -> message(i % 10 == 0 ? serializer.serialize("skipped") : serializer.serialize(i)))
+                .collect(Collectors.toList());
+        RecordingHandler sequential = new RecordingHandler();
+        consumer(sequential, new ArrayList<>(), null).accept(messages);
+        RecordingHandler parallel = new RecordingHandler();
+        consumer(parallel, new ArrayList<>(), executor).accept(messages);
+        assertEquals(900, parallel.handled.size());
+        assertEquals(sequential.handled, parallel.handled);
+    }
+
+    @Test
+    void testPayloadThatFailsToDeserializeIsPassedToErrorHandler() {
+        List<SerializedMessage> messages = IntStream.range(0, 100)
+                .mapToObj(i -> message(i == 50 ? new Data<>("invalid".getBytes(), Integer.class.getName(), 0)
+                                               : serializer.serialize(i))).collect(Collectors.toList());
+        RecordingHandler handler = new RecordingHandler();
+        List<Exception> errors = new ArrayList<>();
+        consumer(handler, errors, executor).accept(messages);
+        assertEquals(1, errors.size());
+        assertEquals(IntStream.range(0, 100).filter(i -> i != 50).boxed().collect(Collectors.toList()),
+                     handler.handled);
+    }
+
+    private Consumer<List<SerializedMessage>> consumer(Object handler, List<Exception> errors,
+                                                       ExecutorService executor) {
+        ConsumerConfiguration configuration = ConsumerConfiguration.builder().name("test")
+                .trackingConfiguration(TrackingConfiguration.builder().deserializationChunkSize(16).build())
+                .errorHandler((e, message, retry) -> errors.add(e)).build();
+        return subject.createConsumer(configuration, Collections.singletonList(handler), executor);
+    }
+
+    private static SerializedMessage message(Data<byte[]> data) {
+        return new SerializedMessage(data, Metadata.empty(), null);
+    }
+
+    private static class RecordingHandler {
+        private final List<Integer> handled = new ArrayList<>();
+
+        @HandleEvent
+        void handle(Integer event, DeserializingMessage message) {
+            assertSame(message, DeserializingMessage.getCurrent());
+            handled.add(event);
+        }
+    }
+}
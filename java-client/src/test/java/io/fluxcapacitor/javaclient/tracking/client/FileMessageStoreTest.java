@@ -0,0 +1,137 @@
+package io.fluxcapacitor.javaclient.tracking.client;
+
+import io.fluxcapacitor.common.api.Data;
+import io.fluxcapacitor.common.api.Metadata;
+import io.fluxcapacitor.common.api.SerializedMessage;
+import io.fluxcapacitor.common.api.tracking.MessageBatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileMessageStoreTest {
+
+    private File directory;
+    private FileMessageStore subject;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("messagelog").toFile();
+        subject = open();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        subject.close();
+        try (Stream<Path> files = Files.walk(directory.toPath())) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    void testMessagesAreReadInOrder() {
+        sendMessages(100);
+        MessageBatch batch = read(1000);
+        assertEquals(100, batch.getSize());
+        for (int i = 0; i < 100; i++) {
+            assertArrayEquals(payload(i), batch.getMessages().get(i).getData().getValue());
+        }
+    }
+
+    @Test
+    void testMessageIsStoredCompletely() {
+        SerializedMessage message = new SerializedMessage(new Data<>(payload(1), "test", 3),
+                                                          Metadata.from("foo", "bar"), "messageId");
+        message.setSource("source");
+        message.setRequestId(42);
+        subject.send(message);
+        SerializedMessage result = read(10).getMessages().get(0);
+        assertEquals(message, result);
+    }
+
+    @Test
+    void testReadFromIndexSeeksAcrossSegments() {
+        sendMessages(1000);
+        assertTrue(subject.getSegmentCount() > 1);
+        List<SerializedMessage> all = subject.readFromIndex(0L, 1000);
+        assertEquals(1000, all.size());
+        List<SerializedMessage> tail = subject.readFromIndex(all.get(500).getIndex(), 10);
+        assertEquals(10, tail.size());
+        assertArrayEquals(payload(500), tail.get(0).getData().getValue());
+    }
+
+    @Test
+    void testMessagesAndPositionsSurviveRestart() {
+        sendMessages(10);
+        MessageBatch batch = subject.readAndWait("consumer", 0, 4, Duration.ZERO, null, false, null);
+        subject.storePosition("consumer", batch.getSegment(), batch.getLastIndex());
+        subject.close();
+        subject = open();
+        assertEquals(10, subject.getMessageCount());
+        MessageBatch next = read(100);
+        assertEquals(6, next.getSize());
+        assertArrayEquals(payload(4), next.getMessages().get(0).getData().getValue());
+        sendMessages(1);
+        assertTrue(subject.readFromIndex(0L, 100).get(10).getIndex() > batch.getLastIndex());
+    }
+
+    @Test
+    void testIncompleteRecordIsIgnoredOnRecovery() throws IOException {
+        sendMessages(2);
+        subject.close();
+        File segment = directory.listFiles((dir, name) -> name.endsWith(".log"))[0];
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            int firstRecordLength = file.readInt();
+            file.seek(8 + firstRecordLength + 8 + 20);
+            file.write(0xFF);
+        }
+        subject = open();
+        assertEquals(1, subject.getMessageCount());
+        sendMessages(1);
+        assertEquals(2, read(100).getSize());
+    }
+
+    @Test
+    void testWaitingReaderIsWokenBySend() throws Exception {
+        CompletableFuture<MessageBatch> result = CompletableFuture.supplyAsync(
+                () -> subject.readAndWait("consumer", 0, 100, Duration.ofSeconds(10), null, false, null));
+        Thread.sleep(50);
+        assertFalse(result.isDone());
+        sendMessages(1);
+        assertEquals(1, result.get(1, TimeUnit.SECONDS).getSize());
+    }
+
+    private FileMessageStore open() {
+        return new FileMessageStore(directory, 4096, false);
+    }
+
+    private MessageBatch read(int maxSize) {
+        return subject.readAndWait("consumer", 0, maxSize, Duration.ZERO, null, false, null);
+    }
+
+    private void sendMessages(int count) {
+        subject.send(IntStream.range(0, count).mapToObj(i -> new SerializedMessage(
+                new Data<>(payload(i), "test", 0), Metadata.empty(), null)).toArray(SerializedMessage[]::new));
+    }
+
+    private static byte[] payload(int i) {
+        return String.format("payload%04d", i).getBytes();
+    }
+}
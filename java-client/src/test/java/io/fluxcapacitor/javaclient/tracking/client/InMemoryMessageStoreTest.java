@@ -0,0 +1,203 @@
+package io.fluxcapacitor.javaclient.tracking.client;
+
+import io.fluxcapacitor.common.api.Data;
+import io.fluxcapacitor.common.api.Metadata;
+import io.fluxcapacitor.common.api.SerializedMessage;
+import io.fluxcapacitor.common.api.tracking.MessageBatch;
+import io.fluxcapacitor.javaclient.tracking.TrackingException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryMessageStoreTest {
+
+    private final InMemoryMessageStore subject = new InMemoryMessageStore();
+
+    @Test
+    void testMaxSizeIsHonoured() {
+        sendMessages(10);
+        MessageBatch batch = read(0, 4, Duration.ZERO);
+        assertEquals(4, batch.getSize());
+        subject.storePosition("consumer", batch.getSegment(), batch.getLastIndex());
+        assertEquals(4, read(0, 4, Duration.ZERO).getSize());
+    }
+
+    @Test
+    void testChannelsShareSegments() {
+        read(0, 100, Duration.ZERO);
+        read(1, 100, Duration.ZERO);
+        sendMessages(100);
+        MessageBatch first = read(0, 100, Duration.ZERO);
+        MessageBatch second = read(1, 100, Duration.ZERO);
+        assertEquals(100, first.getSize() + second.getSize());
+        assertTrue(first.getSize() > 0 && second.getSize() > 0);
+        Set<Long> indexes = new HashSet<>();
+        first.getMessages().forEach(m -> indexes.add(m.getIndex()));
+        second.getMessages().forEach(m -> indexes.add(m.getIndex()));
+        assertEquals(100, indexes.size());
+    }
+
+    @Test
+    void testSegmentsMoveAfterDisconnect() {
+        read(0, 100, Duration.ZERO);
+        read(1, 100, Duration.ZERO);
+        sendMessages(100);
+        MessageBatch first = read(0, 100, Duration.ZERO);
+        subject.storePosition("consumer", first.getSegment(), first.getLastIndex());
+        subject.disconnectTracker("consumer", 1);
+        assertEquals(100 - first.getSize(), read(0, 100, Duration.ZERO).getSize());
+    }
+
+    @Test
+    void testSegmentIsNotReassignedWhileBatchIsProcessed() {
+        sendMessages(100);
+        MessageBatch first = read(0, 100, Duration.ZERO);
+        assertEquals(100, first.getSize());
+        assertTrue(read(1, 100, Duration.ZERO).isEmpty());
+        subject.storePosition("consumer", first.getSegment(), first.getLastIndex());
+        read(0, 100, Duration.ZERO);
+        assertTrue(read(1, 100, Duration.ZERO).isEmpty());
+    }
+
+    @Test
+    void testFilteredMessagesAreSkipped() {
+        sendMessages(10);
+        assertTrue(subject.readAndWait("consumer", 0, 100, Duration.ZERO, "other", false, null).isEmpty());
+        sendMessages(1);
+        assertEquals(1, read(0, 100, Duration.ZERO).getSize());
+    }
+
+    @Test
+    void testWaitingReaderIsWokenBySend() throws Exception {
+        CompletableFuture<MessageBatch> result =
+                CompletableFuture.supplyAsync(() -> read(0, 100, Duration.ofSeconds(10)));
+        Thread.sleep(50);
+        assertFalse(result.isDone());
+        sendMessages(1);
+        assertEquals(1, result.get(1, TimeUnit.SECONDS).getSize());
+    }
+
+    @Test
+    void testConcurrentSendsAreStoredInIndexOrder() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                futures.add(executor.submit(() -> sendMessages(10)));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        List<SerializedMessage> messages = subject.readFromIndex(0L, 10_000);
+        assertEquals(1000, messages.size());
+        assertEquals(1000, messages.stream().map(SerializedMessage::getIndex).distinct().count());
+        for (int i = 1; i < messages.size(); i++) {
+            assertTrue(messages.get(i - 1).getIndex() < messages.get(i).getIndex());
+        }
+    }
+
+    @Test
+    void testMonitorsAreNotifiedOutsideOfLock() {
+        List<SerializedMessage> monitored = new CopyOnWriteArrayList<>();
+        AtomicBoolean nestedSendCompleted = new AtomicBoolean();
+        subject.registerMonitor(m -> {
+            monitored.add(m);
+            if (monitored.size() == 1) {
+                Thread sender = new Thread(() -> sendMessages(1));
+                sender.start();
+                try {
+                    sender.join(1000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                nestedSendCompleted.set(!sender.isAlive());
+            }
+        });
+        sendMessages(1);
+        assertTrue(nestedSendCompleted.get());
+        assertEquals(2, monitored.size());
+    }
+
+    @Test
+    void testRetentionByCount() {
+        InMemoryMessageStore subject = new InMemoryMessageStore(
+                RetentionConfiguration.builder().maxMessageCount(5).build());
+        send(subject, 10);
+        assertEquals(5, subject.getMessageCount());
+        assertEquals(5, subject.readAndWait("consumer", 0, 100, Duration.ZERO, null, false, null).getSize());
+    }
+
+    @Test
+    void testRetentionByBytes() {
+        InMemoryMessageStore subject = new InMemoryMessageStore(RetentionConfiguration.builder().maxBytes(10).build());
+        send(subject, 10);
+        assertEquals(2, subject.getMessageCount());
+        assertEquals(8, subject.getMessageBytes());
+    }
+
+    @Test
+    void testRetentionByAge() throws Exception {
+        InMemoryMessageStore subject = new InMemoryMessageStore(
+                RetentionConfiguration.builder().maxAge(Duration.ofMillis(50)).build());
+        send(subject, 10);
+        Thread.sleep(100);
+        send(subject, 1);
+        assertEquals(1, subject.getMessageCount());
+    }
+
+    @Test
+    void testConsumedMessagesAreTrimmed() {
+        InMemoryMessageStore subject = new InMemoryMessageStore(
+                RetentionConfiguration.builder().trimConsumedMessages(true).build());
+        send(subject, 10);
+        MessageBatch batch = subject.readAndWait("consumer", 0, 4, Duration.ZERO, null, false, null);
+        subject.readAndWait("other", 0, 100, Duration.ZERO, null, false, null);
+        subject.storePosition("consumer", batch.getSegment(), batch.getLastIndex());
+        assertEquals(10, subject.getMessageCount());
+        subject.storePosition("other", new int[]{0, InMemoryMessageStore.MAX_SEGMENTS}, batch.getLastIndex() + 100);
+        assertEquals(6, subject.getMessageCount());
+    }
+
+    @Test
+    void testReadFromTrimmedIndexFails() {
+        InMemoryMessageStore subject = new InMemoryMessageStore(
+                RetentionConfiguration.builder().maxMessageCount(1).build());
+        send(subject, 2);
+        assertThrows(TrackingException.class, () -> subject.readFromIndex(0L, 10));
+    }
+
+    private MessageBatch read(int channel, int maxSize, Duration timeout) {
+        return subject.readAndWait("consumer", channel, maxSize, timeout, null, false, null);
+    }
+
+    private void sendMessages(int count) {
+        send(subject, count);
+    }
+
+    private static void send(InMemoryMessageStore store, int count) {
+        store.send(IntStream.range(0, count).mapToObj(i -> new SerializedMessage(
+                new Data<>(new byte[4], "test", 0), Metadata.empty(), UUID.randomUUID().toString()))
+                           .toArray(SerializedMessage[]::new));
+    }
+}